@@ -0,0 +1,34 @@
+package benchmark;
+
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks single-source shortest paths and the critical path on the condensation DAG.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xss256m")
+public class DAGPathBenchmark {
+    
+    @Benchmark
+    public double[] shortest(GraphState state) {
+        return new DAGShortestPath(state.condensation, state.sourceComponent).computeShortestPaths();
+    }
+    
+    @Benchmark
+    public double longest(GraphState state) {
+        return new DAGLongestPath(state.condensation).computeLongestPath();
+    }
+}
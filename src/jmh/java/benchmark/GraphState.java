@@ -0,0 +1,77 @@
+package benchmark;
+
+import graph.scc.CondensationGraph;
+import graph.scc.TarjanSCC;
+import model.Graph;
+import model.GraphData;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import util.GraphFamilies;
+import util.GraphGenerator;
+import util.NoOpMetrics;
+import util.StreamingGraphGenerator;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Benchmark input shared by all benchmarks: a graph of the given shape, size and average degree
+ * as {@link GraphGenerator} or a {@link GraphFamilies} family produces it, plus its SCCs and
+ * condensation DAG (built once per trial).
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    /**
+     * Graph structures: the first three from GraphGenerator, the rest from GraphFamilies.
+     */
+    public enum Shape {
+        CYCLIC,
+        DAG,
+        MULTI_SCC,
+        RMAT,
+        LAYERED,
+        DEEP_CHAIN,
+        BOW_TIE,
+        TINY_SCCS
+    }
+    
+    @Param({"CYCLIC", "DAG", "MULTI_SCC", "RMAT", "LAYERED", "DEEP_CHAIN", "BOW_TIE", "TINY_SCCS"})
+    public Shape shape;
+    
+    @Param({"1000", "10000", "100000"})
+    public int n;
+    
+    /**
+     * Requested average out-degree; converted to GraphGenerator's density for its shapes. The DAG
+     * and multi-SCC generators cap the number of extra edges, so it matters most for CYCLIC.
+     */
+    @Param({"2", "8"})
+    public int degree;
+    
+    public Graph graph;
+    public List<List<Integer>> sccs;
+    public int[] vertexToSCC;
+    public Graph condensation;
+    public int sourceComponent;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (shape.ordinal() <= Shape.MULTI_SCC.ordinal()) {
+            double density = degree / (double) (n - 1);
+            GraphData data = GraphGenerator.generateGraph(n, density, shape != Shape.DAG, shape == Shape.MULTI_SCC, 0);
+            graph = new Graph(data);
+        } else {
+            String family = shape.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            graph = new StreamingGraphGenerator(GraphFamilies.byName(family, n, degree), 0).toGraph();
+        }
+        
+        TarjanSCC tarjan = new TarjanSCC(graph, NoOpMetrics.INSTANCE);
+        sccs = tarjan.findSCCs();
+        vertexToSCC = tarjan.getVertexToSCCMapping();
+        condensation = new CondensationGraph(graph, sccs, vertexToSCC, NoOpMetrics.INSTANCE).build();
+        sourceComponent = vertexToSCC[0];
+    }
+}
@@ -0,0 +1,36 @@
+package benchmark;
+
+import graph.scc.CondensationGraph;
+import graph.scc.TarjanSCC;
+import model.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks SCC detection and condensation on the original graph.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xss256m")
+public class SCCBenchmark {
+    
+    @Benchmark
+    public List<List<Integer>> tarjan(GraphState state) {
+        return new TarjanSCC(state.graph).findSCCs();
+    }
+    
+    @Benchmark
+    public Graph condensation(GraphState state) {
+        return new CondensationGraph(state.graph, state.sccs, state.vertexToSCC).build();
+    }
+}
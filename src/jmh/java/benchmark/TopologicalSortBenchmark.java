@@ -0,0 +1,34 @@
+package benchmark;
+
+import graph.topo.TopologicalSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks Kahn's algorithm against the DFS topological sort on the condensation DAG.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xss256m")
+public class TopologicalSortBenchmark {
+    
+    @Benchmark
+    public List<Integer> kahn(GraphState state) {
+        return new TopologicalSort(state.condensation).kahnTopologicalSort();
+    }
+    
+    @Benchmark
+    public List<Integer> dfs(GraphState state) {
+        return new TopologicalSort(state.condensation).dfsTopologicalSort();
+    }
+}
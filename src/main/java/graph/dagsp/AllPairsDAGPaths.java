@@ -0,0 +1,245 @@
+package graph.dagsp;
+
+import model.CompactGraph;
+import model.Graph;
+import graph.topo.TopologicalSort;
+import util.ConcurrentMetrics;
+import util.Metrics;
+import util.NoOpMetrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+/**
+ * All-pairs shortest or longest distances in a Directed Acyclic Graph (DAG).
+ * Sources are processed in blocks of consecutive vertices on the common ForkJoin pool. Each block
+ * is one batched sweep (see {@link MultiSourceDAGShortestPath}) over scratch arrays that workers
+ * reuse for the duration of one call and release when it returns, and finished rows are streamed
+ * to a consumer instead of being kept as an n x n matrix.
+ *
+ * Time Complexity: O(V * (V + E))
+ * Space Complexity: O(V * blockSize) per worker thread, during a call
+ */
+public class AllPairsDAGPaths {
+    /**
+     * Default number of sources relaxed together in one sweep.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 8;
+    
+    private final Graph dag;
+    private final PathObjective objective;
+    private final int blockSize;
+    private final Metrics metrics;
+    
+    public AllPairsDAGPaths(Graph dag, PathObjective objective) {
+        this(dag, objective, DEFAULT_BLOCK_SIZE);
+    }
+    
+    public AllPairsDAGPaths(Graph dag, PathObjective objective, int blockSize) {
+        this(dag, objective, blockSize, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Creates the computation with a given metrics implementation.
+     * @param dag directed acyclic graph
+     * @param objective SHORTEST or LONGEST
+     * @param blockSize number of sources relaxed together in one sweep
+     * @param metrics receives timing and operation counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     * @throws IllegalArgumentException if blockSize is not positive, or a block of V * blockSize
+     *         distances does not fit in one array
+     */
+    public AllPairsDAGPaths(Graph dag, PathObjective objective, int blockSize, Metrics metrics) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive, got " + blockSize);
+        }
+        try {
+            Math.multiplyExact(Math.multiplyExact(dag.getN(), blockSize), Double.BYTES);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Block size " + blockSize + " is too large for a graph with "
+                    + dag.getN() + " vertices");
+        }
+        this.dag = dag;
+        this.objective = objective;
+        this.blockSize = blockSize;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Computes distances from every source vertex and streams them block by block.
+     * Unreachable pairs hold objective.unreachable().
+     * @param consumer receiver of distance blocks; called concurrently from worker threads
+     * @return true if all blocks were emitted, false if the graph has a cycle (nothing emitted)
+     */
+    public boolean compute(DistanceBlockConsumer consumer) {
+        metrics.reset();
+        metrics.startTiming();
+        metrics.markForked();
+        
+        int[] order = topologicalOrder();
+        if (order == null) {
+            // Graph has cycles
+            metrics.stopTiming();
+            return false;
+        }
+        emitBlocks(order, consumer);
+        
+        metrics.stopTiming();
+        return true;
+    }
+    
+    /**
+     * Gets the topological order of the DAG as an array.
+     * @return topological order, or null if the graph has a cycle
+     */
+    private int[] topologicalOrder() {
+        List<Integer> topoOrder = new TopologicalSort(dag, NoOpMetrics.NESTED).kahnTopologicalSort();
+        if (topoOrder == null) {
+            return null;
+        }
+        return topoOrder.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    /**
+     * Runs every source block in parallel and hands the rows to the consumer.
+     * @param order topological order of the DAG
+     * @param consumer receiver of distance blocks
+     */
+    private void emitBlocks(int[] order, DistanceBlockConsumer consumer) {
+        int n = dag.getN();
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+        CompactGraph graph = CompactGraph.of(dag);
+        
+        // Workers count into a striped sink; the caller's metrics need not be thread-safe
+        ConcurrentMetrics workerCounts = new ConcurrentMetrics();
+        // Idle scratch arrays are pooled per call rather than per thread, so nothing stays
+        // reachable from the common pool's threads once the call returns
+        ConcurrentLinkedQueue<Scratch> idle = new ConcurrentLinkedQueue<>();
+        int blocks = (n + blockSize - 1) / blockSize;
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            Scratch local = idle.poll();
+            if (local == null) {
+                local = new Scratch(n, blockSize);
+            }
+            int first = b * blockSize;
+            int count = Math.min(blockSize, n - first);
+            workerCounts.addEdgeTraversals(local.run(graph, order, position, first, count, objective));
+            consumer.accept(first, count, local.rows);
+            idle.offer(local);
+        });
+        
+        metrics.addEdgeTraversals(workerCounts.getEdgeTraversals());
+    }
+    
+    /**
+     * Computes all-pairs distances straight into a file of n x n little-endian doubles,
+     * row-major (the row of source s starts at byte offset s * n * 8).
+     * @param file output file (created or truncated; left untouched if the graph has a cycle)
+     * @return true if the file was written, false if the graph has a cycle
+     * @throws IOException if the file cannot be written
+     */
+    public boolean computeToFile(Path file) throws IOException {
+        metrics.reset();
+        metrics.startTiming();
+        metrics.markForked();
+        
+        int[] order = topologicalOrder();
+        if (order == null) {
+            // Graph has cycles
+            metrics.stopTiming();
+            return false;
+        }
+        
+        int n = dag.getN();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ConcurrentLinkedQueue<ByteBuffer> idle = new ConcurrentLinkedQueue<>();
+            emitBlocks(order, (firstSource, count, rows) -> {
+                ByteBuffer buffer = idle.poll();
+                if (buffer == null) {
+                    buffer = ByteBuffer.allocate(blockSize * n * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                }
+                buffer.clear();
+                buffer.asDoubleBuffer().put(rows, 0, count * n);
+                buffer.limit(count * n * Double.BYTES);
+                long offset = (long) firstSource * n * Double.BYTES;
+                try {
+                    // Positional writes are independent of the channel position, so blocks may land in any order
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer, offset + buffer.position());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                idle.offer(buffer);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        metrics.stopTiming();
+        return true;
+    }
+    
+    /**
+     * Gets the metrics for the last all-pairs computation.
+     * @return Metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Working memory for one block, reused for later blocks of the same call.
+     */
+    private static final class Scratch {
+        private final int n;
+        private final double[] dist;
+        private final boolean[] reached;
+        private final double[] rows;
+        
+        Scratch(int n, int blockSize) {
+            this.n = n;
+            this.dist = new double[n * blockSize];
+            this.reached = new boolean[n];
+            this.rows = new double[n * blockSize];
+        }
+        
+        long run(CompactGraph graph, int[] order, int[] position, int first, int count, PathObjective objective) {
+            double unreachable = objective.unreachable();
+            Arrays.fill(dist, 0, n * count, unreachable);
+            Arrays.fill(reached, false);
+            
+            // Vertices before the earliest source in topological order cannot be reached
+            int start = n;
+            for (int i = 0; i < count; i++) {
+                int source = first + i;
+                dist[source * count + i] = graph.getNodeWeight(source);
+                reached[source] = true;
+                start = Math.min(start, position[source]);
+            }
+            
+            long edgeTraversals = MultiSourceDAGShortestPath.sweep(graph, order, start, dist, reached, count, objective);
+            
+            // Transpose the vertex-major lanes into one row per source
+            for (int v = 0; v < n; v++) {
+                int lanes = v * count;
+                for (int i = 0; i < count; i++) {
+                    rows[i * n + v] = dist[lanes + i];
+                }
+            }
+            return edgeTraversals;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package graph.dagsp;
+
+import model.CompactGraph;
+import model.Graph;
+import graph.topo.TopologicalSort;
+import util.Metrics;
+import util.NoOpMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critical path method (CPM) schedule for a Directed Acyclic Graph (DAG) whose edge weights are
+ * the delays between dependent tasks. A forward sweep in topological order gives every vertex its
+ * earliest start; a backward sweep in reverse order gives its latest start that still meets the
+ * project duration. Slack follows from the two, and every vertex with zero total slack is critical.
+ * In the node weight model vertex weights are task durations: a task finishes at its start plus
+ * its duration, and its successors can start at that finish plus the edge delay.
+ *
+ * Time Complexity: O(V + E)
+ * Space Complexity: O(V)
+ */
+public class CriticalPathSchedule {
+    /**
+     * Slack at or below this tolerance counts as zero (absorbs floating-point rounding).
+     */
+    private static final double SLACK_TOLERANCE = 1e-9;
+    
+    private final Graph dag;
+    private final Metrics metrics;
+    private int[] order;
+    private double[] earliest;
+    private double[] latest;
+    private double[] freeSlack;
+    private double projectDuration;
+    private boolean computed;
+    
+    public CriticalPathSchedule(Graph dag) {
+        this(dag, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Creates the schedule with a given metrics implementation.
+     * @param dag directed acyclic graph of tasks
+     * @param metrics receives timing and operation counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     */
+    public CriticalPathSchedule(Graph dag, Metrics metrics) {
+        this.dag = dag;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Computes earliest/latest start and slack for every vertex.
+     * @return project duration (length of the critical path), or Double.NEGATIVE_INFINITY if the graph has a cycle
+     */
+    public double computeSchedule() {
+        metrics.reset();
+        metrics.startTiming();
+        
+        int n = dag.getN();
+        computed = true;
+        earliest = null;
+        latest = null;
+        freeSlack = null;
+        
+        // Get topological order
+        TopologicalSort topo = new TopologicalSort(dag, NoOpMetrics.NESTED);
+        List<Integer> topoOrder = topo.kahnTopologicalSort();
+        
+        if (topoOrder == null) {
+            // Graph has cycles
+            metrics.stopTiming();
+            order = new int[0];
+            projectDuration = Double.NEGATIVE_INFINITY;
+            return projectDuration;
+        }
+        
+        order = topoOrder.stream().mapToInt(Integer::intValue).toArray();
+        earliest = new double[n];
+        latest = new double[n];
+        freeSlack = new double[n];
+        CompactGraph graph = CompactGraph.of(dag);
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        
+        // Forward pass: earliest start = longest distance from any source, excluding the task itself
+        for (int u : order) {
+            double finish = earliest[u] + graph.getNodeWeight(u);
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                metrics.incrementEdgeTraversals();
+                int v = targets[e];
+                if (finish + weights[e] > earliest[v]) {
+                    metrics.incrementRelaxations();
+                    earliest[v] = finish + weights[e];
+                }
+            }
+        }
+        
+        projectDuration = 0.0;
+        for (int v = 0; v < n; v++) {
+            projectDuration = Math.max(projectDuration, earliest[v] + graph.getNodeWeight(v));
+        }
+        
+        // Backward pass: latest start that still lets every successor start on time
+        for (int i = n - 1; i >= 0; i--) {
+            int u = order[i];
+            double finish = earliest[u] + graph.getNodeWeight(u);
+            double lateFinish = projectDuration;
+            double free = projectDuration - finish;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                metrics.incrementEdgeTraversals();
+                int v = targets[e];
+                lateFinish = Math.min(lateFinish, latest[v] - weights[e]);
+                free = Math.min(free, earliest[v] - finish - weights[e]);
+            }
+            latest[u] = lateFinish - graph.getNodeWeight(u);
+            freeSlack[u] = free;
+        }
+        
+        metrics.stopTiming();
+        return projectDuration;
+    }
+    
+    /**
+     * Gets the project duration (length of the critical path).
+     * @return project duration, or Double.NEGATIVE_INFINITY if the graph has a cycle
+     */
+    public double getProjectDuration() {
+        if (!computed) {
+            computeSchedule();
+        }
+        return projectDuration;
+    }
+    
+    /**
+     * Gets the earliest start of every vertex.
+     * @return array of earliest starts
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public double[] getEarliestStart() {
+        requireSchedule();
+        return earliest;
+    }
+    
+    /**
+     * Gets the latest start of every vertex that does not delay the project.
+     * @return array of latest starts
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public double[] getLatestStart() {
+        requireSchedule();
+        return latest;
+    }
+    
+    /**
+     * Gets the total slack of a vertex: how long it can slip without delaying the project.
+     * @param v vertex
+     * @return latest start minus earliest start
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public double getTotalSlack(int v) {
+        requireSchedule();
+        return latest[v] - earliest[v];
+    }
+    
+    /**
+     * Gets the free slack of a vertex: how long it can slip without delaying any successor.
+     * @param v vertex
+     * @return free slack
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public double getFreeSlack(int v) {
+        requireSchedule();
+        return freeSlack[v];
+    }
+    
+    /**
+     * Checks whether a vertex is critical (zero total slack).
+     * @param v vertex
+     * @return true if any delay of v delays the project
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public boolean isCritical(int v) {
+        return getTotalSlack(v) <= SLACK_TOLERANCE;
+    }
+    
+    /**
+     * Gets all critical vertices, i.e. the union of all critical paths.
+     * @return critical vertices in topological order
+     * @throws IllegalStateException if the graph has a cycle
+     */
+    public List<Integer> getCriticalVertices() {
+        requireSchedule();
+        List<Integer> critical = new ArrayList<>();
+        for (int v : order) {
+            if (latest[v] - earliest[v] <= SLACK_TOLERANCE) {
+                critical.add(v);
+            }
+        }
+        return critical;
+    }
+    
+    /**
+     * Computes the schedule on first use.
+     * @throws IllegalStateException if the graph has a cycle (there is no schedule)
+     */
+    private void requireSchedule() {
+        if (!computed) {
+            computeSchedule();
+        }
+        if (earliest == null) {
+            throw new IllegalStateException("Graph contains a cycle, so there is no schedule");
+        }
+    }
+    
+    /**
+     * Gets the metrics for the schedule computation.
+     * @return Metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -1,25 +1,35 @@
 package graph.dagsp;
 
+import model.CompactGraph;
 import model.Edge;
 import model.Graph;
 import graph.topo.TopologicalSort;
-import util.AlgorithmMetrics;
+import util.MemoryFootprint;
+import util.Metrics;
+import util.Phase;
+import util.PhaseEvent;
+import util.NoOpMetrics;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 /**
  * Implementation of longest path (critical path) in a Directed Acyclic Graph (DAG).
  * Uses topological ordering with sign inversion to compute longest paths.
+ * Ties between equally long paths go to the predecessor with the smallest index,
+ * so the sequential and parallel modes agree on parents.
+ * By default paths may start at any vertex with in-degree 0; a fixed source restricts
+ * them to paths starting at that vertex.
+ * In the node weight model every vertex on a path adds its weight (e.g. its task duration).
  * 
  * Time Complexity: O(V + E)
  * Space Complexity: O(V)
  */
 public class DAGLongestPath {
     private final Graph dag;
-    private final AlgorithmMetrics metrics;
+    private final int source;
+    private final Metrics metrics;
     private double[] dist;
     private int[] parent;
     private int longestPathSource;
@@ -27,8 +37,28 @@ public class DAGLongestPath {
     private double longestPathLength;
     
     public DAGLongestPath(Graph dag) {
+        this(dag, -1);
+    }
+    
+    /**
+     * Creates a longest path computation restricted to paths that start at source.
+     * @param dag directed acyclic graph
+     * @param source start vertex, or -1 to allow every vertex with in-degree 0
+     */
+    public DAGLongestPath(Graph dag, int source) {
+        this(dag, source, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Creates the computation with a given metrics implementation.
+     * @param dag directed acyclic graph
+     * @param source start vertex, or -1 to allow every vertex with in-degree 0
+     * @param metrics receives timing and operation counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     */
+    public DAGLongestPath(Graph dag, int source, Metrics metrics) {
         this.dag = dag;
-        this.metrics = new AlgorithmMetrics();
+        this.source = source;
+        this.metrics = metrics;
     }
     
     /**
@@ -38,6 +68,7 @@ public class DAGLongestPath {
     public double computeLongestPath() {
         metrics.reset();
         metrics.startTiming();
+        PhaseEvent event = PhaseEvent.start(metrics);
         
         int n = dag.getN();
         dist = new double[n];
@@ -47,28 +78,34 @@ public class DAGLongestPath {
         Arrays.fill(parent, -1);
         
         // Get topological order
-        TopologicalSort topo = new TopologicalSort(dag);
+        TopologicalSort topo = new TopologicalSort(dag, NoOpMetrics.NESTED);
         List<Integer> topoOrder = topo.kahnTopologicalSort();
         
         if (topoOrder == null) {
             // Graph has cycles
             metrics.stopTiming();
+            metrics.setRetainedBytes(MemoryFootprint.ofDoubleArray(n) + MemoryFootprint.ofIntArray(n));
+            event.finish(Phase.LONGEST, "DAGLongestPath", dag.getN(), dag.getEdgeCount(), metrics);
             longestPathLength = Double.NEGATIVE_INFINITY;
             return longestPathLength;
         }
         
-        // Initialize all sources (in-degree 0) to distance 0
-        boolean[] hasIncoming = new boolean[n];
-        for (int u = 0; u < n; u++) {
-            for (Edge edge : dag.getNeighbors(u)) {
-                metrics.incrementEdgeTraversals();
-                hasIncoming[edge.getV()] = true;
+        if (source >= 0) {
+            dist[source] = dag.getNodeWeight(source);
+        } else {
+            // Initialize all sources (in-degree 0) to their own node weight
+            boolean[] hasIncoming = new boolean[n];
+            for (int u = 0; u < n; u++) {
+                for (Edge edge : dag.getNeighbors(u)) {
+                    metrics.incrementEdgeTraversals();
+                    hasIncoming[edge.getV()] = true;
+                }
             }
-        }
-        
-        for (int i = 0; i < n; i++) {
-            if (!hasIncoming[i]) {
-                dist[i] = 0.0;
+            
+            for (int i = 0; i < n; i++) {
+                if (!hasIncoming[i]) {
+                    dist[i] = dag.getNodeWeight(i);
+                }
             }
         }
         
@@ -78,17 +115,83 @@ public class DAGLongestPath {
                 for (Edge edge : dag.getNeighbors(u)) {
                     metrics.incrementEdgeTraversals();
                     int v = edge.getV();
-                    double weight = edge.getWeight();
+                    double candidate = dist[u] + edge.getWeight() + dag.getNodeWeight(v);
                     
-                    if (dist[u] + weight > dist[v]) {
+                    if (candidate > dist[v] || (candidate == dist[v] && u < parent[v])) {
                         metrics.incrementRelaxations();
-                        dist[v] = dist[u] + weight;
+                        dist[v] = candidate;
                         parent[v] = u;
                     }
                 }
             }
         }
         
+        findCriticalPathEnds();
+        metrics.stopTiming();
+        metrics.setRetainedBytes(MemoryFootprint.ofDoubleArray(n) + MemoryFootprint.ofIntArray(n));
+        event.finish(Phase.LONGEST, "DAGLongestPath", dag.getN(), dag.getEdgeCount(), metrics);
+        return longestPathLength;
+    }
+    
+    /**
+     * Computes the longest path (critical path) in the DAG, relaxing one topological
+     * level at a time in parallel (pull-based maximum over predecessors).
+     * Produces the same distances, parents and critical path as {@link #computeLongestPath()}.
+     * @return length of the longest path
+     */
+    public double computeLongestPathParallel() {
+        metrics.reset();
+        metrics.startTiming();
+        metrics.markForked();
+        PhaseEvent event = PhaseEvent.start(metrics);
+        
+        int n = dag.getN();
+        dist = new double[n];
+        parent = new int[n];
+        
+        Arrays.fill(dist, Double.NEGATIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        
+        // Get level-synchronous topological order
+        TopologicalSort topo = new TopologicalSort(dag, NoOpMetrics.NESTED);
+        List<Integer> topoOrder = topo.parallelKahnTopologicalSort();
+        
+        if (topoOrder == null) {
+            // Graph has cycles
+            metrics.stopTiming();
+            metrics.setRetainedBytes(MemoryFootprint.ofDoubleArray(n) + MemoryFootprint.ofIntArray(n));
+            event.finish(Phase.LONGEST, "DAGLongestPathParallel", dag.getN(), dag.getEdgeCount(), metrics);
+            longestPathLength = Double.NEGATIVE_INFINITY;
+            return longestPathLength;
+        }
+        
+        CompactGraph reverse = CompactGraph.reverseOf(dag);
+        if (source >= 0) {
+            dist[source] = dag.getNodeWeight(source);
+        } else {
+            // Initialize all sources (in-degree 0) to their own node weight
+            for (int i = 0; i < n; i++) {
+                if (reverse.degree(i) == 0) {
+                    dist[i] = reverse.getNodeWeight(i);
+                }
+            }
+        }
+        
+        LevelRelaxation.relax(reverse, topoOrder, topo.getLevels(), dist, parent, true, metrics);
+        
+        findCriticalPathEnds();
+        metrics.stopTiming();
+        metrics.setRetainedBytes(MemoryFootprint.ofDoubleArray(n) + MemoryFootprint.ofIntArray(n));
+        event.finish(Phase.LONGEST, "DAGLongestPathParallel", dag.getN(), dag.getEdgeCount(), metrics);
+        return longestPathLength;
+    }
+    
+    /**
+     * Locates the end of the critical path (maximum distance) and traces back to its source.
+     */
+    private void findCriticalPathEnds() {
+        int n = dag.getN();
+        
         // Find the vertex with maximum distance (end of critical path)
         longestPathLength = Double.NEGATIVE_INFINITY;
         longestPathTarget = -1;
@@ -105,9 +208,6 @@ public class DAGLongestPath {
         while (longestPathSource != -1 && parent[longestPathSource] != -1) {
             longestPathSource = parent[longestPathSource];
         }
-        
-        metrics.stopTiming();
-        return longestPathLength;
     }
     
     /**
@@ -129,19 +229,52 @@ public class DAGLongestPath {
         if (dist == null) {
             computeLongestPath();
         }
-        
         if (longestPathTarget == -1 || longestPathLength == Double.NEGATIVE_INFINITY) {
-            return Collections.emptyList();
+            return new ArrayList<>();
         }
-        
-        List<Integer> path = new ArrayList<>();
-        int current = longestPathTarget;
-        while (current != -1) {
-            path.add(current);
-            current = parent[current];
+        return PathTrees.toList(parent, longestPathTarget);
+    }
+    
+    /**
+     * Counts the vertices on the critical path.
+     * @return number of vertices on the critical path, or 0 if there is none
+     */
+    public int getCriticalPathVertexCount() {
+        if (dist == null) {
+            computeLongestPath();
+        }
+        if (longestPathTarget == -1 || longestPathLength == Double.NEGATIVE_INFINITY) {
+            return 0;
+        }
+        return PathTrees.length(parent, longestPathTarget);
+    }
+    
+    /**
+     * Writes the critical path into a caller-provided buffer.
+     * @param buffer destination, at least {@link #getCriticalPathVertexCount()} (at most V) long
+     * @return number of vertices written to buffer[0 ..], or 0 if there is no critical path
+     * @throws IllegalArgumentException if the buffer is too small
+     */
+    public int getCriticalPath(int[] buffer) {
+        if (dist == null) {
+            computeLongestPath();
+        }
+        if (longestPathTarget == -1 || longestPathLength == Double.NEGATIVE_INFINITY) {
+            return 0;
+        }
+        return PathTrees.write(parent, longestPathTarget, buffer);
+    }
+    
+    /**
+     * Emits the longest path to every reachable vertex by walking the longest path tree in
+     * DFS order; O(V) in total since consecutive paths share their prefix.
+     * @param visitor receives each path (the path buffer is reused between calls)
+     */
+    public void forEachPath(PathVisitor visitor) {
+        if (dist == null) {
+            computeLongestPath();
         }
-        Collections.reverse(path);
-        return path;
+        PathTrees.walk(parent, dist, Double.NEGATIVE_INFINITY, visitor);
     }
     
     /**
@@ -166,11 +299,33 @@ public class DAGLongestPath {
         return longestPathTarget;
     }
     
+    /**
+     * Gets the longest distance to every vertex (computes if not already computed).
+     * @return array of longest distances (Double.NEGATIVE_INFINITY if unreachable)
+     */
+    public double[] getDistances() {
+        if (dist == null) {
+            computeLongestPath();
+        }
+        return dist;
+    }
+    
+    /**
+     * Gets the parent of every vertex in the longest path tree (computes if not already computed).
+     * @return array where parent[v] is the predecessor of v, or -1 for path starts and unreachable vertices
+     */
+    public int[] getParents() {
+        if (dist == null) {
+            computeLongestPath();
+        }
+        return parent;
+    }
+    
     /**
      * Gets the metrics for the longest path computation.
-     * @return AlgorithmMetrics object
+     * @return Metrics object
      */
-    public AlgorithmMetrics getMetrics() {
+    public Metrics getMetrics() {
         return metrics;
     }
 }
@@ -0,0 +1,267 @@
+package graph.dagsp;
+
+import model.CompactGraph;
+import model.Graph;
+import graph.topo.TopologicalSort;
+import util.Metrics;
+import util.NoOpMetrics;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Point-to-point shortest/longest path queries in a Directed Acyclic Graph (DAG).
+ * The topological order is computed once. A query from s to t only visits ancestors of t whose
+ * topological position lies between s and t, and stops as soon as t is reached, since every
+ * predecessor of t has been settled by then. Ancestor sets are cached for recently queried targets.
+ *
+ * Time Complexity: O(V + E) preprocessing; per query O(A + E_A), where A is the set of ancestors
+ * of the target inside the window (plus a one-off reverse search when the target is not cached)
+ * Space Complexity: O(V + E), plus O(V) bits per cached target
+ */
+public class DAGPathQuery {
+    /**
+     * Default number of targets whose ancestor sets are kept.
+     */
+    public static final int DEFAULT_CACHED_TARGETS = 64;
+    
+    private final Metrics metrics;
+    private final int[] order;
+    private final int[] position;
+    private final CompactGraph forward;
+    private final CompactGraph reverse;
+    private final Map<Integer, Ancestors> ancestorCache;
+    private final double[] dist;
+    private final int[] parent;
+    private final int[] visitStamp;
+    private int stamp;
+    
+    public DAGPathQuery(Graph dag) {
+        this(dag, DEFAULT_CACHED_TARGETS);
+    }
+    
+    /**
+     * Prepares a DAG for point-to-point queries.
+     * @param dag directed acyclic graph
+     * @param cachedTargets maximum number of targets whose ancestor sets are cached
+     * @throws IllegalArgumentException if the graph contains a cycle
+     */
+    public DAGPathQuery(Graph dag, int cachedTargets) {
+        this(dag, cachedTargets, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Prepares a DAG for point-to-point queries with a given metrics implementation.
+     * @param dag directed acyclic graph
+     * @param cachedTargets maximum number of targets whose ancestor sets are cached
+     * @param metrics receives timing and operation counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     * @throws IllegalArgumentException if the graph contains a cycle
+     */
+    public DAGPathQuery(Graph dag, int cachedTargets, Metrics metrics) {
+        this.metrics = metrics;
+        
+        int n = dag.getN();
+        List<Integer> topoOrder = new TopologicalSort(dag, NoOpMetrics.NESTED).kahnTopologicalSort();
+        if (topoOrder == null) {
+            throw new IllegalArgumentException("Graph contains a cycle");
+        }
+        order = new int[n];
+        position = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = topoOrder.get(i);
+            position[order[i]] = i;
+        }
+        forward = CompactGraph.of(dag);
+        reverse = CompactGraph.reverseOf(dag);
+        
+        ancestorCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Ancestors> eldest) {
+                return size() > cachedTargets;
+            }
+        };
+        dist = new double[n];
+        parent = new int[n];
+        visitStamp = new int[n];
+    }
+    
+    /**
+     * Computes the shortest or longest distance from source to target.
+     * @param source source vertex
+     * @param target target vertex
+     * @param objective SHORTEST or LONGEST
+     * @return distance, or objective.unreachable() if target is not reachable from source
+     */
+    public double distance(int source, int target, PathObjective objective) {
+        return query(source, target, objective) ? dist[target] : objective.unreachable();
+    }
+    
+    /**
+     * Computes the shortest or longest path from source to target.
+     * Ties go to the predecessor with the smallest index, as in {@link DAGShortestPath}.
+     * @param source source vertex
+     * @param target target vertex
+     * @param objective SHORTEST or LONGEST
+     * @return list of vertices on the path, or empty list if unreachable
+     */
+    public List<Integer> path(int source, int target, PathObjective objective) {
+        if (!query(source, target, objective)) {
+            return Collections.emptyList();
+        }
+        return PathTrees.toList(parent, target);
+    }
+    
+    /**
+     * Gets the metrics for the last query.
+     * @return Metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Runs the pruned sweep; on success dist/parent hold valid values for the visited vertices.
+     * @return true if target is reachable from source
+     */
+    private boolean query(int source, int target, PathObjective objective) {
+        metrics.reset();
+        metrics.startTiming();
+        
+        // A new stamp invalidates every distance from the previous query without clearing arrays
+        nextStamp();
+        dist[source] = forward.getNodeWeight(source);
+        parent[source] = -1;
+        visitStamp[source] = stamp;
+        
+        if (source == target) {
+            metrics.stopTiming();
+            return true;
+        }
+        if (position[source] > position[target]) {
+            metrics.stopTiming();
+            return false;
+        }
+        Ancestors ancestors = ancestorsOf(target);
+        if (!ancestors.members.get(source)) {
+            metrics.stopTiming();
+            return false;
+        }
+        
+        int[] offsets = forward.getOffsets();
+        int[] targets = forward.getTargets();
+        double[] weights = forward.getWeights();
+        boolean shortest = objective == PathObjective.SHORTEST;
+        
+        // Ancestors are sorted by position, so the window starts at the source's entry
+        int first = Arrays.binarySearch(ancestors.positions, position[source]);
+        for (int i = first; i < ancestors.positions.length; i++) {
+            int u = order[ancestors.positions[i]];
+            if (u == target) {
+                // Every predecessor of the target precedes it, so its distance is final
+                break;
+            }
+            if (visitStamp[u] != stamp) {
+                continue;
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                metrics.incrementEdgeTraversals();
+                int v = targets[e];
+                if (!ancestors.members.get(v)) {
+                    continue;
+                }
+                double candidate = dist[u] + weights[e] + forward.getNodeWeight(v);
+                if (visitStamp[v] != stamp) {
+                    metrics.incrementRelaxations();
+                    visitStamp[v] = stamp;
+                    dist[v] = candidate;
+                    parent[v] = u;
+                } else {
+                    boolean better = shortest ? candidate < dist[v] : candidate > dist[v];
+                    if (better || (candidate == dist[v] && u < parent[v])) {
+                        metrics.incrementRelaxations();
+                        dist[v] = candidate;
+                        parent[v] = u;
+                    }
+                }
+            }
+        }
+        
+        metrics.stopTiming();
+        return visitStamp[target] == stamp;
+    }
+    
+    /**
+     * Advances the query stamp. At Integer.MAX_VALUE it restarts at 1 with visitStamp cleared,
+     * so a wrapped stamp can never match an unvisited or stale entry.
+     */
+    private int nextStamp() {
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visitStamp, 0);
+            stamp = 0;
+        }
+        return ++stamp;
+    }
+    
+    /**
+     * Gets the ancestor set of a target (including the target itself), computing it with a
+     * reverse search on a cache miss.
+     */
+    private Ancestors ancestorsOf(int target) {
+        Ancestors cached = ancestorCache.get(target);
+        if (cached != null) {
+            return cached;
+        }
+        
+        BitSet members = new BitSet(order.length);
+        int[] stack = new int[16];
+        int top = 0;
+        int count = 0;
+        stack[top++] = target;
+        members.set(target);
+        int[] offsets = reverse.getOffsets();
+        int[] preds = reverse.getTargets();
+        while (top > 0) {
+            int v = stack[--top];
+            metrics.incrementDfsVisits();
+            count++;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = preds[e];
+                if (!members.get(u)) {
+                    members.set(u);
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = u;
+                }
+            }
+        }
+        
+        int[] positions = new int[count];
+        int i = 0;
+        for (int v = members.nextSetBit(0); v >= 0; v = members.nextSetBit(v + 1)) {
+            positions[i++] = position[v];
+        }
+        Arrays.sort(positions);
+        
+        Ancestors ancestors = new Ancestors(members, positions);
+        ancestorCache.put(target, ancestors);
+        return ancestors;
+    }
+    
+    /**
+     * Cached reverse reachability of one target: membership bits plus sorted topological positions.
+     */
+    private static final class Ancestors {
+        private final BitSet members;
+        private final int[] positions;
+        
+        Ancestors(BitSet members, int[] positions) {
+            this.members = members;
+            this.positions = positions;
+        }
+    }
+}
@@ -1,18 +1,25 @@
 package graph.dagsp;
 
+import model.CompactGraph;
 import model.Edge;
 import model.Graph;
 import graph.topo.TopologicalSort;
-import util.AlgorithmMetrics;
+import util.MemoryFootprint;
+import util.Metrics;
+import util.Phase;
+import util.PhaseEvent;
+import util.NoOpMetrics;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 /**
  * Implementation of single-source shortest paths in a Directed Acyclic Graph (DAG).
  * Uses topological ordering to compute shortest paths in O(V + E) time.
+ * Ties between equally short paths go to the predecessor with the smallest index,
+ * so the sequential and parallel modes agree on parents.
+ * In the node weight model every vertex on a path adds its weight, the source included.
  * 
  * Time Complexity: O(V + E)
  * Space Complexity: O(V)
@@ -20,14 +27,24 @@ import java.util.List;
 public class DAGShortestPath {
     private final Graph dag;
     private final int source;
-    private final AlgorithmMetrics metrics;
+    private final Metrics metrics;
     private double[] dist;
     private int[] parent;
     
     public DAGShortestPath(Graph dag, int source) {
+        this(dag, source, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Creates the computation with a given metrics implementation.
+     * @param dag directed acyclic graph
+     * @param source source vertex
+     * @param metrics receives timing and operation counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     */
+    public DAGShortestPath(Graph dag, int source, Metrics metrics) {
         this.dag = dag;
         this.source = source;
-        this.metrics = new AlgorithmMetrics();
+        this.metrics = metrics;
     }
     
     /**
@@ -37,6 +54,7 @@ public class DAGShortestPath {
     public double[] computeShortestPaths() {
         metrics.reset();
         metrics.startTiming();
+        PhaseEvent event = PhaseEvent.start(metrics);
         
         int n = dag.getN();
         dist = new double[n];
@@ -44,15 +62,17 @@ public class DAGShortestPath {
         
         Arrays.fill(dist, Double.POSITIVE_INFINITY);
         Arrays.fill(parent, -1);
-        dist[source] = 0.0;
+        dist[source] = dag.getNodeWeight(source);
         
         // Get topological order
-        TopologicalSort topo = new TopologicalSort(dag);
+        TopologicalSort topo = new TopologicalSort(dag, NoOpMetrics.NESTED);
         List<Integer> topoOrder = topo.kahnTopologicalSort();
         
         if (topoOrder == null) {
             // Graph has cycles (shouldn't happen if it's truly a DAG)
             metrics.stopTiming();
+            metrics.setRetainedBytes(MemoryFootprint.ofDoubleArray(n) + MemoryFootprint.ofIntArray(n));
+            event.finish(Phase.SHORTEST, "DAGShortestPath", dag.getN(), dag.getEdgeCount(), metrics);
             return dist;
         }
         
@@ -62,11 +82,11 @@ public class DAGShortestPath {
                 for (Edge edge : dag.getNeighbors(u)) {
                     metrics.incrementEdgeTraversals();
                     int v = edge.getV();
-                    double weight = edge.getWeight();
+                    double candidate = dist[u] + edge.getWeight() + dag.getNodeWeight(v);
                     
-                    if (dist[u] + weight < dist[v]) {
+                    if (candidate < dist[v] || (candidate == dist[v] && u < parent[v])) {
                         metrics.incrementRelaxations();
-                        dist[v] = dist[u] + weight;
+                        dist[v] = candidate;
                         parent[v] = u;
                     }
                 }
@@ -74,6 +94,49 @@ public class DAGShortestPath {
         }
         
         metrics.stopTiming();
+        metrics.setRetainedBytes(MemoryFootprint.ofDoubleArray(n) + MemoryFootprint.ofIntArray(n));
+        event.finish(Phase.SHORTEST, "DAGShortestPath", dag.getN(), dag.getEdgeCount(), metrics);
+        return dist;
+    }
+    
+    /**
+     * Computes shortest distances from source to all vertices, relaxing one topological
+     * level at a time in parallel (pull-based minimum over predecessors).
+     * Produces the same distances and parents as {@link #computeShortestPaths()}.
+     * @return array of shortest distances (Double.POSITIVE_INFINITY if unreachable)
+     */
+    public double[] computeShortestPathsParallel() {
+        metrics.reset();
+        metrics.startTiming();
+        metrics.markForked();
+        PhaseEvent event = PhaseEvent.start(metrics);
+        
+        int n = dag.getN();
+        dist = new double[n];
+        parent = new int[n];
+        
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        dist[source] = dag.getNodeWeight(source);
+        
+        // Get level-synchronous topological order
+        TopologicalSort topo = new TopologicalSort(dag, NoOpMetrics.NESTED);
+        List<Integer> topoOrder = topo.parallelKahnTopologicalSort();
+        
+        if (topoOrder == null) {
+            // Graph has cycles (shouldn't happen if it's truly a DAG)
+            metrics.stopTiming();
+            metrics.setRetainedBytes(MemoryFootprint.ofDoubleArray(n) + MemoryFootprint.ofIntArray(n));
+            event.finish(Phase.SHORTEST, "DAGShortestPathParallel", dag.getN(), dag.getEdgeCount(), metrics);
+            return dist;
+        }
+        
+        LevelRelaxation.relax(CompactGraph.reverseOf(dag), topoOrder, topo.getLevels(),
+                dist, parent, false, metrics);
+        
+        metrics.stopTiming();
+        metrics.setRetainedBytes(MemoryFootprint.ofDoubleArray(n) + MemoryFootprint.ofIntArray(n));
+        event.finish(Phase.SHORTEST, "DAGShortestPathParallel", dag.getN(), dag.getEdgeCount(), metrics);
         return dist;
     }
     
@@ -98,26 +161,63 @@ public class DAGShortestPath {
         if (dist == null) {
             computeShortestPaths();
         }
-        
-        if (dist[target] == Double.POSITIVE_INFINITY) {
-            return Collections.emptyList();
+        return dist[target] == Double.POSITIVE_INFINITY ? new ArrayList<>() : PathTrees.toList(parent, target);
+    }
+    
+    /**
+     * Counts the vertices on the shortest path from source to target.
+     * @param target target vertex
+     * @return number of vertices on the path, or 0 if unreachable
+     */
+    public int getPathLength(int target) {
+        if (dist == null) {
+            computeShortestPaths();
         }
-        
-        List<Integer> path = new ArrayList<>();
-        int current = target;
-        while (current != -1) {
-            path.add(current);
-            current = parent[current];
+        return dist[target] == Double.POSITIVE_INFINITY ? 0 : PathTrees.length(parent, target);
+    }
+    
+    /**
+     * Writes the shortest path from source to target into a caller-provided buffer.
+     * @param target target vertex
+     * @param buffer destination, at least {@link #getPathLength(int)} (at most V) long
+     * @return number of vertices written to buffer[0 ..], or 0 if unreachable
+     * @throws IllegalArgumentException if the buffer is too small
+     */
+    public int getPath(int target, int[] buffer) {
+        if (dist == null) {
+            computeShortestPaths();
+        }
+        return dist[target] == Double.POSITIVE_INFINITY ? 0 : PathTrees.write(parent, target, buffer);
+    }
+    
+    /**
+     * Emits the shortest path to every reachable vertex by walking the shortest path tree in
+     * DFS order; O(V) in total since consecutive paths share their prefix.
+     * @param visitor receives each path (the path buffer is reused between calls)
+     */
+    public void forEachPath(PathVisitor visitor) {
+        if (dist == null) {
+            computeShortestPaths();
+        }
+        PathTrees.walk(parent, dist, Double.POSITIVE_INFINITY, visitor);
+    }
+    
+    /**
+     * Gets the parent of every vertex in the shortest path tree (computes if not already computed).
+     * @return array where parent[v] is the predecessor of v, or -1 for the source and unreachable vertices
+     */
+    public int[] getParents() {
+        if (dist == null) {
+            computeShortestPaths();
         }
-        Collections.reverse(path);
-        return path;
+        return parent;
     }
     
     /**
      * Gets the metrics for the shortest path computation.
-     * @return AlgorithmMetrics object
+     * @return Metrics object
      */
-    public AlgorithmMetrics getMetrics() {
+    public Metrics getMetrics() {
         return metrics;
     }
     
@@ -0,0 +1,17 @@
+package graph.dagsp;
+
+/**
+ * Receives all-pairs distances one block of consecutive sources at a time.
+ * Implementations may be called concurrently from several worker threads.
+ */
+@FunctionalInterface
+public interface DistanceBlockConsumer {
+    /**
+     * Accepts distances from sources firstSource .. firstSource + count - 1.
+     * The rows buffer is reused for the next block once this method returns.
+     * @param firstSource first source vertex of the block
+     * @param count number of sources in the block
+     * @param rows row-major distances: rows[i * n + v] is the distance from firstSource + i to v
+     */
+    void accept(int firstSource, int count, double[] rows);
+}
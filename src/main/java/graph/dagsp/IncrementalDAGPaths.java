@@ -0,0 +1,393 @@
+package graph.dagsp;
+
+import model.Edge;
+import model.Graph;
+import graph.topo.DynamicTopologicalOrder;
+import util.Metrics;
+import util.NoOpMetrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Longest or shortest paths in a Directed Acyclic Graph (DAG) kept current under edge weight
+ * changes and edge insertions. After a change only the head of the edge is re-evaluated; a vertex
+ * whose distance changes schedules its successors, and scheduled vertices are processed in
+ * topological order (maintained by {@link DynamicTopologicalOrder}), each pulling the best value
+ * over its predecessors. Work is therefore proportional to the cone of vertices whose distance
+ * actually changes. Distances and parents always equal those of a full recomputation with
+ * {@link DAGLongestPath} / {@link DAGShortestPath}, including the smallest-predecessor tie rule.
+ * In the node weight model vertex weights (task durations) can be updated the same way.
+ *
+ * Time Complexity: O(V + E) initially; per update O(sum of in/out-degrees of the affected cone * log)
+ * Space Complexity: O(V + E)
+ */
+public class IncrementalDAGPaths {
+    private final PathObjective objective;
+    private final int source;
+    private final Metrics metrics;
+    private final DynamicTopologicalOrder order;
+    private final int n;
+    private final double[] dist;
+    private final int[] parent;
+    private final double[] nodeWeights;
+    private final int[][] outEdges;
+    private final int[] outSize;
+    private final int[][] inEdges;
+    private final int[] inSize;
+    private int[] edgeTail;
+    private int[] edgeHead;
+    private double[] edgeWeight;
+    private int edgeCount;
+    private final int[] heap;
+    private final boolean[] queued;
+    private int heapSize;
+    private int pathEnd;
+    private boolean pathEndStale;
+    
+    /**
+     * Tracks paths that may start at any vertex with in-degree 0 (as in {@link DAGLongestPath}).
+     * @param dag initial DAG (copied; later changes go through this object)
+     * @param objective LONGEST or SHORTEST
+     */
+    public IncrementalDAGPaths(Graph dag, PathObjective objective) {
+        this(dag, objective, -1);
+    }
+    
+    /**
+     * Tracks paths starting at a fixed source (as in {@link DAGShortestPath}).
+     * @param dag initial DAG (copied; later changes go through this object)
+     * @param objective LONGEST or SHORTEST
+     * @param source start vertex, or -1 to allow every vertex with in-degree 0
+     * @throws IllegalArgumentException if the graph contains a cycle
+     */
+    public IncrementalDAGPaths(Graph dag, PathObjective objective, int source) {
+        this(dag, objective, source, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Tracks paths starting at a fixed source with a given metrics implementation.
+     * @param dag initial DAG (copied; later changes go through this object)
+     * @param objective LONGEST or SHORTEST
+     * @param source start vertex, or -1 to allow every vertex with in-degree 0
+     * @param metrics receives timing and operation counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     * @throws IllegalArgumentException if the graph contains a cycle
+     */
+    public IncrementalDAGPaths(Graph dag, PathObjective objective, int source, Metrics metrics) {
+        this.objective = objective;
+        this.source = source;
+        this.metrics = metrics;
+        this.n = dag.getN();
+        
+        Graph copy = new Graph(n);
+        for (Edge edge : dag.getAllEdges()) {
+            copy.addEdge(edge.getU(), edge.getV(), edge.getWeight());
+        }
+        this.order = new DynamicTopologicalOrder(copy);
+        
+        dist = new double[n];
+        parent = new int[n];
+        nodeWeights = dag.isNodeWeighted() ? dag.getNodeWeights().clone() : new double[n];
+        outEdges = new int[n][];
+        outSize = new int[n];
+        inEdges = new int[n][];
+        inSize = new int[n];
+        int m = Math.max(16, dag.getEdgeCount());
+        edgeTail = new int[m];
+        edgeHead = new int[m];
+        edgeWeight = new double[m];
+        heap = new int[n];
+        queued = new boolean[n];
+        for (Edge edge : dag.getAllEdges()) {
+            register(edge.getU(), edge.getV(), edge.getWeight());
+        }
+        
+        metrics.startTiming();
+        for (int v : order.getOrder()) {
+            recompute(v);
+        }
+        pathEndStale = true;
+        metrics.stopTiming();
+    }
+    
+    /**
+     * Changes the weight of edge u -> v (of every parallel u -> v edge) and updates all affected distances.
+     * @param u tail vertex
+     * @param v head vertex
+     * @param weight new weight
+     * @return true if the edge exists, false otherwise (nothing changed)
+     */
+    public boolean updateWeight(int u, int v, double weight) {
+        metrics.reset();
+        metrics.startTiming();
+        
+        boolean found = false;
+        for (int i = 0; i < outSize[u]; i++) {
+            int e = outEdges[u][i];
+            if (edgeHead[e] == v) {
+                edgeWeight[e] = weight;
+                found = true;
+            }
+        }
+        if (found) {
+            propagateFrom(v);
+        }
+        
+        metrics.stopTiming();
+        return found;
+    }
+    
+    /**
+     * Changes the weight (duration) of a vertex and updates all affected distances.
+     * @param v vertex
+     * @param weight new node weight
+     */
+    public void updateNodeWeight(int v, double weight) {
+        metrics.reset();
+        metrics.startTiming();
+        
+        nodeWeights[v] = weight;
+        propagateFrom(v);
+        
+        metrics.stopTiming();
+    }
+    
+    /**
+     * Inserts edge u -> v and updates all affected distances.
+     * @param u tail vertex
+     * @param v head vertex
+     * @param weight edge weight
+     * @return true if inserted, false if the edge would create a cycle (nothing changed)
+     */
+    public boolean addEdge(int u, int v, double weight) {
+        metrics.reset();
+        metrics.startTiming();
+        
+        boolean inserted = order.addEdge(u, v, weight);
+        if (inserted) {
+            register(u, v, weight);
+            propagateFrom(v);
+        }
+        
+        metrics.stopTiming();
+        return inserted;
+    }
+    
+    /**
+     * Gets the current distance of a vertex.
+     * @param v vertex
+     * @return distance, or objective.unreachable() if no path reaches v
+     */
+    public double getDistance(int v) {
+        return dist[v];
+    }
+    
+    /**
+     * Gets the current distances (live view; do not modify).
+     * @return array of distances
+     */
+    public double[] getDistances() {
+        return dist;
+    }
+    
+    /**
+     * Reconstructs the current optimal path to a target.
+     * @param target target vertex
+     * @return list of vertices on the path, or empty list if unreachable
+     */
+    public List<Integer> getPath(int target) {
+        if (dist[target] == objective.unreachable()) {
+            return Collections.emptyList();
+        }
+        return PathTrees.toList(parent, target);
+    }
+    
+    /**
+     * Gets the path to the reachable vertex with the largest distance (smallest index on ties).
+     * For LONGEST this is the critical path reported by {@link DAGLongestPath#getCriticalPath()}.
+     * @return list of vertices on that path, or empty list if nothing is reachable
+     */
+    public List<Integer> getCriticalPath() {
+        int end = getCriticalPathEnd();
+        return end == -1 ? Collections.emptyList() : getPath(end);
+    }
+    
+    /**
+     * Gets the length of the path returned by {@link #getCriticalPath()}.
+     * @return largest finite distance, or Double.NEGATIVE_INFINITY if nothing is reachable
+     */
+    public double getCriticalPathLength() {
+        int end = getCriticalPathEnd();
+        return end == -1 ? Double.NEGATIVE_INFINITY : dist[end];
+    }
+    
+    /**
+     * Gets the metrics for the last update.
+     * @return Metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Re-evaluates v and then, in topological order, every vertex whose inputs changed.
+     */
+    private void propagateFrom(int v) {
+        push(v);
+        while (heapSize > 0) {
+            int x = pop();
+            double before = dist[x];
+            recompute(x);
+            if (dist[x] != before) {
+                trackPathEnd(x, before);
+                for (int i = 0; i < outSize[x]; i++) {
+                    metrics.incrementEdgeTraversals();
+                    push(edgeHead[outEdges[x][i]]);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Pulls the best value of v over its predecessors (ties to the smallest predecessor index).
+     */
+    private void recompute(int v) {
+        boolean start = source >= 0 ? v == source : inSize[v] == 0;
+        if (start) {
+            dist[v] = nodeWeights[v];
+            parent[v] = -1;
+            return;
+        }
+        
+        double unreachable = objective.unreachable();
+        boolean longest = objective == PathObjective.LONGEST;
+        double best = unreachable;
+        int bestParent = -1;
+        for (int i = 0; i < inSize[v]; i++) {
+            metrics.incrementEdgeTraversals();
+            int e = inEdges[v][i];
+            int u = edgeTail[e];
+            if (dist[u] == unreachable) {
+                continue;
+            }
+            double candidate = dist[u] + edgeWeight[e] + nodeWeights[v];
+            boolean better = longest ? candidate > best : candidate < best;
+            if (better || (candidate == best && u < bestParent)) {
+                metrics.incrementRelaxations();
+                best = candidate;
+                bestParent = u;
+            }
+        }
+        dist[v] = best;
+        parent[v] = bestParent;
+    }
+    
+    /**
+     * Keeps the end of the critical path current; falls back to a rescan only when it got shorter.
+     */
+    private void trackPathEnd(int x, double before) {
+        if (pathEndStale) {
+            return;
+        }
+        if (x == pathEnd) {
+            if (rank(dist[x]) < rank(before)) {
+                pathEndStale = true;
+            }
+        } else if (rank(dist[x]) > rank(dist[pathEnd]) || (rank(dist[x]) == rank(dist[pathEnd]) && x < pathEnd)) {
+            pathEnd = x;
+        }
+    }
+    
+    private int getCriticalPathEnd() {
+        if (pathEndStale) {
+            pathEnd = -1;
+            double best = Double.NEGATIVE_INFINITY;
+            for (int v = 0; v < n; v++) {
+                if (rank(dist[v]) > best) {
+                    best = rank(dist[v]);
+                    pathEnd = v;
+                }
+            }
+            pathEndStale = false;
+        }
+        return pathEnd == -1 || rank(dist[pathEnd]) == Double.NEGATIVE_INFINITY ? -1 : pathEnd;
+    }
+    
+    /**
+     * Maps a distance to its rank for critical path selection; unreachable vertices rank lowest.
+     */
+    private double rank(double d) {
+        return d == Double.POSITIVE_INFINITY ? Double.NEGATIVE_INFINITY : d;
+    }
+    
+    private void register(int u, int v, double weight) {
+        if (edgeCount == edgeTail.length) {
+            edgeTail = Arrays.copyOf(edgeTail, edgeCount * 2);
+            edgeHead = Arrays.copyOf(edgeHead, edgeCount * 2);
+            edgeWeight = Arrays.copyOf(edgeWeight, edgeCount * 2);
+        }
+        int e = edgeCount++;
+        edgeTail[e] = u;
+        edgeHead[e] = v;
+        edgeWeight[e] = weight;
+        
+        if (outEdges[u] == null || outSize[u] == outEdges[u].length) {
+            outEdges[u] = outEdges[u] == null ? new int[4] : Arrays.copyOf(outEdges[u], outSize[u] * 2);
+        }
+        outEdges[u][outSize[u]++] = e;
+        if (inEdges[v] == null || inSize[v] == inEdges[v].length) {
+            inEdges[v] = inEdges[v] == null ? new int[4] : Arrays.copyOf(inEdges[v], inSize[v] * 2);
+        }
+        inEdges[v][inSize[v]++] = e;
+    }
+    
+    /**
+     * Adds v to the binary min-heap keyed by topological position (ignored if already queued).
+     */
+    private void push(int v) {
+        if (queued[v]) {
+            return;
+        }
+        metrics.incrementQueueOperations();
+        queued[v] = true;
+        int i = heapSize++;
+        int key = order.getPosition(v);
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (order.getPosition(heap[p]) <= key) {
+                break;
+            }
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = v;
+    }
+    
+    private int pop() {
+        metrics.incrementQueueOperations();
+        int top = heap[0];
+        queued[top] = false;
+        int last = heap[--heapSize];
+        int key = order.getPosition(last);
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && order.getPosition(heap[child + 1]) < order.getPosition(heap[child])) {
+                child++;
+            }
+            if (order.getPosition(heap[child]) >= key) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (heapSize > 0) {
+            heap[i] = last;
+        }
+        return top;
+    }
+}
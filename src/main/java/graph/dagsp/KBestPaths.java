@@ -0,0 +1,411 @@
+package graph.dagsp;
+
+import model.Edge;
+import model.Graph;
+import graph.topo.TopologicalSort;
+import util.Metrics;
+import util.NoOpMetrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Enumerates the k best (longest or shortest) paths of a Directed Acyclic Graph (DAG) in order,
+ * e.g. the near-critical chains of a condensation DAG.
+ * Uses the recursive enumeration algorithm (Jimenez and Marzal): one sweep in topological order
+ * gives every vertex its best path, and every vertex keeps a heap holding at most one candidate
+ * per incoming edge. The i-th path of a vertex is only built when a later path of a successor
+ * needs it, so each further path costs O(L * log d) for a path of L vertices and in-degree d.
+ * Paths are streamed: {@link #nextPath()} returns them one at a time, best first.
+ * By default paths run from a vertex without incoming edges to a vertex without outgoing edges;
+ * a fixed source and/or target narrows this down. Paths always end at a sink (or the target):
+ * with zero or negative edge weights the best path may therefore be longer than the critical path
+ * of {@link DAGLongestPath}, which ends at the first vertex reaching the maximum distance, even
+ * when both have the same length.
+ *
+ * Time Complexity: O(V + E log V) for the sweep, plus O(k * L * log V) for k paths
+ * Space Complexity: O(V + E + k * L)
+ */
+public class KBestPaths {
+    private final PathObjective objective;
+    private final Metrics metrics;
+    private final int sink;
+    private final int[] revOffsets;   // incoming edges of v: revOffsets[v] .. revOffsets[v + 1]
+    private final int[] revSources;
+    private final double[] revWeights;
+    private final double[] nodeWeights;   // n + 1 entries, 0 for the virtual end vertex
+    // Paths found so far for each vertex: length, incoming edge used (-1 for a start) and the
+    // rank of the path of its tail that it extends
+    private final double[][] pathLength;
+    private final int[][] pathEdge;
+    private final int[][] pathRank;
+    private final int[] count;
+    private final boolean[] exhausted;
+    private final boolean[] extended;
+    // Candidate heaps, one per vertex at heapKey[revOffsets[v] + v ...]: key is the length,
+    // negated for LONGEST so that smaller keys are always better
+    private final double[] heapKey;
+    private final int[] heapEdge;
+    private final int[] heapRank;
+    private final int[] heapSize;
+    private final int[] stack;
+    private int nextRank;
+    
+    /**
+     * Prepares enumeration of all paths from a vertex without incoming edges to a vertex
+     * without outgoing edges.
+     * @param dag directed acyclic graph
+     * @param objective LONGEST for k-longest, SHORTEST for k-shortest paths
+     */
+    public KBestPaths(Graph dag, PathObjective objective) {
+        this(dag, objective, -1, -1);
+    }
+    
+    /**
+     * Prepares enumeration of paths between fixed endpoints.
+     * @param dag directed acyclic graph
+     * @param objective LONGEST for k-longest, SHORTEST for k-shortest paths
+     * @param source start vertex, or -1 for every vertex without incoming edges
+     * @param target end vertex, or -1 for every vertex without outgoing edges
+     * @throws IllegalArgumentException if the graph contains a cycle
+     */
+    public KBestPaths(Graph dag, PathObjective objective, int source, int target) {
+        this(dag, objective, source, target, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Prepares enumeration of paths between fixed endpoints with a given metrics implementation.
+     * @param dag directed acyclic graph
+     * @param objective LONGEST for k-longest, SHORTEST for k-shortest paths
+     * @param source start vertex, or -1 for every vertex without incoming edges
+     * @param target end vertex, or -1 for every vertex without outgoing edges
+     * @param metrics receives timing and operation counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     * @throws IllegalArgumentException if the graph contains a cycle
+     */
+    public KBestPaths(Graph dag, PathObjective objective, int source, int target, Metrics metrics) {
+        this.objective = objective;
+        this.metrics = metrics;
+        
+        int n = dag.getN();
+        List<Integer> topoOrder = new TopologicalSort(dag, NoOpMetrics.NESTED).kahnTopologicalSort();
+        if (topoOrder == null) {
+            throw new IllegalArgumentException("Graph contains a cycle");
+        }
+        
+        metrics.startTiming();
+        
+        // Reverse adjacency plus a virtual end vertex n fed by the target (or by every sink)
+        sink = n;
+        revOffsets = new int[n + 2];
+        boolean[] hasOutgoing = new boolean[n];
+        for (int u = 0; u < n; u++) {
+            for (Edge edge : dag.getNeighbors(u)) {
+                revOffsets[edge.getV() + 1]++;
+                hasOutgoing[u] = true;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            if (target >= 0 ? v == target : !hasOutgoing[v]) {
+                revOffsets[sink + 1]++;
+            }
+        }
+        boolean[] start = new boolean[n + 1];
+        for (int v = 0; v < n; v++) {
+            start[v] = source >= 0 ? v == source : revOffsets[v + 1] == 0;
+        }
+        for (int v = 0; v <= n; v++) {
+            revOffsets[v + 1] += revOffsets[v];
+        }
+        int m = revOffsets[n + 1];
+        revSources = new int[m];
+        revWeights = new double[m];
+        int[] fill = Arrays.copyOf(revOffsets, n + 1);
+        // Tails are visited in ascending order, so ties go to the smallest predecessor
+        for (int u = 0; u < n; u++) {
+            for (Edge edge : dag.getNeighbors(u)) {
+                int slot = fill[edge.getV()]++;
+                revSources[slot] = u;
+                revWeights[slot] = edge.getWeight();
+            }
+            if (target >= 0 ? u == target : !hasOutgoing[u]) {
+                int slot = fill[sink]++;
+                revSources[slot] = u;
+                revWeights[slot] = 0.0;
+            }
+        }
+        
+        nodeWeights = dag.isNodeWeighted() ? Arrays.copyOf(dag.getNodeWeights(), n + 1) : new double[n + 1];
+        pathLength = new double[n + 1][];
+        pathEdge = new int[n + 1][];
+        pathRank = new int[n + 1][];
+        count = new int[n + 1];
+        exhausted = new boolean[n + 1];
+        extended = new boolean[n + 1];
+        heapKey = new double[m + n + 1];
+        heapEdge = new int[m + n + 1];
+        heapRank = new int[m + n + 1];
+        heapSize = new int[n + 1];
+        stack = new int[n + 1];
+        
+        // Sweep: every vertex gets all first-path candidates and keeps the best one
+        for (int v : topoOrder) {
+            initialize(v, start[v]);
+        }
+        initialize(sink, false);
+        
+        metrics.stopTiming();
+    }
+    
+    /**
+     * Gets the next path in order, best first.
+     * @return next path, or null when all paths have been returned
+     */
+    public RankedPath nextPath() {
+        if (!ensure(sink, nextRank)) {
+            return null;
+        }
+        return build(nextRank++);
+    }
+    
+    /**
+     * Gets the k best paths, independently of the {@link #nextPath()} cursor.
+     * @param k number of paths
+     * @return up to k paths, best first
+     */
+    public List<RankedPath> topK(int k) {
+        List<RankedPath> paths = new ArrayList<>();
+        for (int rank = 0; rank < k && ensure(sink, rank); rank++) {
+            paths.add(build(rank));
+        }
+        return paths;
+    }
+    
+    /**
+     * Gets the metrics: time of the initial sweep, counters of all work done so far.
+     * @return Metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Fills the candidate heap of v with the first path of every predecessor and takes the best.
+     */
+    private void initialize(int v, boolean isStart) {
+        if (isStart) {
+            offer(v, key(nodeWeights[v]), -1, -1);
+        }
+        for (int e = revOffsets[v]; e < revOffsets[v + 1]; e++) {
+            metrics.incrementEdgeTraversals();
+            int u = revSources[e];
+            if (count[u] > 0) {
+                offer(v, key(pathLength[u][0] + revWeights[e] + nodeWeights[v]), e, 0);
+            }
+        }
+        take(v);
+    }
+    
+    /**
+     * Makes sure path number rank of v exists, building missing paths along the way.
+     * @return false if v has fewer than rank + 1 paths
+     */
+    private boolean ensure(int v, int rank) {
+        while (count[v] <= rank && !exhausted[v]) {
+            advance(v);
+        }
+        return count[v] > rank;
+    }
+    
+    /**
+     * Builds the next path of v. Its last path used path j of some predecessor u, so path j + 1
+     * of u becomes a candidate; building that one may in turn need the next path of u, and so on
+     * towards the start. An explicit stack replaces the recursion.
+     */
+    private void advance(int v) {
+        int top = 0;
+        stack[top++] = v;
+        while (top > 0) {
+            int x = stack[top - 1];
+            if (!extended[x]) {
+                int last = count[x] - 1;
+                int e = pathEdge[x][last];
+                if (e >= 0) {
+                    int u = revSources[e];
+                    int j = pathRank[x][last] + 1;
+                    if (count[u] == j && !exhausted[u]) {
+                        stack[top++] = u;
+                        continue;
+                    }
+                    if (count[u] > j) {
+                        offer(x, key(pathLength[u][j] + revWeights[e] + nodeWeights[x]), e, j);
+                    }
+                }
+                extended[x] = true;
+            }
+            top--;
+            take(x);
+        }
+    }
+    
+    /**
+     * Moves the best candidate of v into its path list (or marks v exhausted).
+     */
+    private void take(int v) {
+        if (heapSize[v] == 0) {
+            exhausted[v] = true;
+            return;
+        }
+        int base = revOffsets[v] + v;
+        int k = count[v]++;
+        if (pathLength[v] == null) {
+            pathLength[v] = new double[2];
+            pathEdge[v] = new int[2];
+            pathRank[v] = new int[2];
+        } else if (k == pathLength[v].length) {
+            pathLength[v] = Arrays.copyOf(pathLength[v], k * 2);
+            pathEdge[v] = Arrays.copyOf(pathEdge[v], k * 2);
+            pathRank[v] = Arrays.copyOf(pathRank[v], k * 2);
+        }
+        pathLength[v][k] = key(heapKey[base]);
+        pathEdge[v][k] = heapEdge[base];
+        pathRank[v][k] = heapRank[base];
+        extended[v] = false;
+        
+        metrics.incrementQueueOperations();
+        int size = --heapSize[v];
+        double lastKey = heapKey[base + size];
+        int lastEdge = heapEdge[base + size];
+        int lastRank = heapRank[base + size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(base + child + 1, base + child)) {
+                child++;
+            }
+            if (!less(base + child, lastKey, lastEdge, lastRank)) {
+                break;
+            }
+            move(base + child, base + i);
+            i = child;
+        }
+        heapKey[base + i] = lastKey;
+        heapEdge[base + i] = lastEdge;
+        heapRank[base + i] = lastRank;
+    }
+    
+    /**
+     * Adds a candidate to the heap of v (at most one per incoming edge plus the start candidate).
+     */
+    private void offer(int v, double candidateKey, int edge, int rank) {
+        metrics.incrementQueueOperations();
+        int base = revOffsets[v] + v;
+        int i = heapSize[v]++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (!less(candidateKey, edge, rank, base + p)) {
+                break;
+            }
+            move(base + p, base + i);
+            i = p;
+        }
+        heapKey[base + i] = candidateKey;
+        heapEdge[base + i] = edge;
+        heapRank[base + i] = rank;
+    }
+    
+    private boolean less(int a, int b) {
+        return less(heapKey[a], heapEdge[a], heapRank[a], b);
+    }
+    
+    private boolean less(int a, double key, int edge, int rank) {
+        return compare(heapKey[a], heapEdge[a], heapRank[a], key, edge, rank) < 0;
+    }
+    
+    private boolean less(double key, int edge, int rank, int b) {
+        return compare(key, edge, rank, heapKey[b], heapEdge[b], heapRank[b]) < 0;
+    }
+    
+    /**
+     * Orders candidates by length, then incoming edge (smallest predecessor first), then rank.
+     */
+    private static int compare(double keyA, int edgeA, int rankA, double keyB, int edgeB, int rankB) {
+        if (keyA != keyB) {
+            return keyA < keyB ? -1 : 1;
+        }
+        if (edgeA != edgeB) {
+            return edgeA < edgeB ? -1 : 1;
+        }
+        return Integer.compare(rankA, rankB);
+    }
+    
+    private void move(int from, int to) {
+        heapKey[to] = heapKey[from];
+        heapEdge[to] = heapEdge[from];
+        heapRank[to] = heapRank[from];
+    }
+    
+    /**
+     * Converts a length to a heap key and back (both directions are the same mapping).
+     */
+    private double key(double value) {
+        return objective == PathObjective.LONGEST ? -value : value;
+    }
+    
+    /**
+     * Follows (edge, rank) links from path number rank of the virtual end vertex.
+     */
+    private RankedPath build(int rank) {
+        double length = pathLength[sink][rank];
+        List<Integer> vertices = new ArrayList<>();
+        int v = sink;
+        int k = rank;
+        while (true) {
+            int e = pathEdge[v][k];
+            if (e < 0) {
+                break;
+            }
+            k = pathRank[v][k];
+            v = revSources[e];
+            vertices.add(v);
+        }
+        Collections.reverse(vertices);
+        return new RankedPath(rank, length, Collections.unmodifiableList(vertices));
+    }
+    
+    /**
+     * One enumerated path: its rank (0 = best), length and vertices from start to end.
+     */
+    public static final class RankedPath {
+        private final int rank;
+        private final double length;
+        private final List<Integer> vertices;
+        
+        RankedPath(int rank, double length, List<Integer> vertices) {
+            this.rank = rank;
+            this.length = length;
+            this.vertices = vertices;
+        }
+        
+        public int getRank() {
+            return rank;
+        }
+        
+        public double getLength() {
+            return length;
+        }
+        
+        public List<Integer> getVertices() {
+            return vertices;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("#%d length=%.2f %s", rank + 1, length, vertices);
+        }
+    }
+}
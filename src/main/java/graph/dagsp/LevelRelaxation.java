@@ -0,0 +1,136 @@
+package graph.dagsp;
+
+import model.CompactGraph;
+import util.Metrics;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Pull-based, level-by-level edge relaxation shared by the parallel modes of
+ * {@link DAGShortestPath} and {@link DAGLongestPath}.
+ * Every vertex takes the best value over its predecessors; since all predecessors sit on
+ * earlier levels, the vertices of one level are independent and are processed with ForkJoin.
+ * Ties go to the smallest predecessor index, the same rule the sequential sweeps use,
+ * so both modes produce identical distances and parents.
+ */
+final class LevelRelaxation {
+    /**
+     * Level slices smaller than this are relaxed on the calling thread.
+     */
+    private static final int PARALLEL_THRESHOLD = 1024;
+    
+    private LevelRelaxation() {
+    }
+    
+    /**
+     * Relaxes all vertices level by level.
+     * @param reverse incoming edges of the DAG
+     * @param order vertices grouped by ascending level
+     * @param levels level of every vertex
+     * @param dist initialized distances (unreached vertices hold the objective's identity)
+     * @param parent parent array, filled with -1
+     * @param maximize true for longest paths, false for shortest paths
+     * @param metrics metrics receiving edge traversal and relaxation counts
+     */
+    static void relax(CompactGraph reverse, List<Integer> order, int[] levels,
+                      double[] dist, int[] parent, boolean maximize, Metrics metrics) {
+        int n = order.size();
+        int[] vertices = new int[n];
+        int levelCount = 0;
+        for (int i = 0; i < n; i++) {
+            vertices[i] = order.get(i);
+            levelCount = Math.max(levelCount, levels[vertices[i]] + 1);
+        }
+        int[] levelStart = new int[levelCount + 1];
+        for (int i = 0; i < n; i++) {
+            levelStart[levels[vertices[i]] + 1]++;
+        }
+        for (int l = 0; l < levelCount; l++) {
+            levelStart[l + 1] += levelStart[l];
+        }
+        
+        // Level 0 vertices have no predecessors
+        for (int l = 1; l < levelCount; l++) {
+            RelaxTask task = new RelaxTask(reverse, vertices, dist, parent, maximize,
+                    levelStart[l], levelStart[l + 1]);
+            if (levelStart[l + 1] - levelStart[l] < PARALLEL_THRESHOLD) {
+                task.compute();
+            } else {
+                ForkJoinPool.commonPool().invoke(task);
+            }
+            metrics.addEdgeTraversals(task.edgeTraversals);
+            metrics.addRelaxations(task.relaxations);
+        }
+    }
+    
+    private static final class RelaxTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final CompactGraph reverse;
+        private final int[] vertices;
+        private final double[] dist;
+        private final int[] parent;
+        private final boolean maximize;
+        private final int from;
+        private final int to;
+        private long edgeTraversals;
+        private long relaxations;
+        
+        RelaxTask(CompactGraph reverse, int[] vertices, double[] dist, int[] parent,
+                  boolean maximize, int from, int to) {
+            this.reverse = reverse;
+            this.vertices = vertices;
+            this.dist = dist;
+            this.parent = parent;
+            this.maximize = maximize;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                relaxSlice();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            RelaxTask left = new RelaxTask(reverse, vertices, dist, parent, maximize, from, mid);
+            RelaxTask right = new RelaxTask(reverse, vertices, dist, parent, maximize, mid, to);
+            invokeAll(left, right);
+            edgeTraversals = left.edgeTraversals + right.edgeTraversals;
+            relaxations = left.relaxations + right.relaxations;
+        }
+        
+        private void relaxSlice() {
+            int[] offsets = reverse.getOffsets();
+            int[] preds = reverse.getTargets();
+            double[] weights = reverse.getWeights();
+            double unreached = maximize ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+            
+            for (int i = from; i < to; i++) {
+                int v = vertices[i];
+                double best = dist[v];
+                int bestParent = parent[v];
+                double nodeWeight = reverse.getNodeWeight(v);
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    edgeTraversals++;
+                    int u = preds[e];
+                    if (dist[u] == unreached) {
+                        continue;
+                    }
+                    double candidate = dist[u] + weights[e] + nodeWeight;
+                    boolean better = maximize ? candidate > best : candidate < best;
+                    if (better || (candidate == best && u < bestParent)) {
+                        relaxations++;
+                        best = candidate;
+                        bestParent = u;
+                    }
+                }
+                dist[v] = best;
+                parent[v] = bestParent;
+            }
+        }
+    }
+}
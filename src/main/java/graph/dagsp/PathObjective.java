@@ -0,0 +1,17 @@
+package graph.dagsp;
+
+/**
+ * Optimization direction of a path computation.
+ */
+public enum PathObjective {
+    SHORTEST,
+    LONGEST;
+    
+    /**
+     * Gets the distance assigned to vertices that no path reaches.
+     * @return Double.POSITIVE_INFINITY for SHORTEST, Double.NEGATIVE_INFINITY for LONGEST
+     */
+    public double unreachable() {
+        return this == SHORTEST ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+    }
+}
@@ -0,0 +1,126 @@
+package graph.dagsp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Path reconstruction from parent arrays (parent[v] is the predecessor of v, -1 at the path
+ * start), shared by every algorithm that keeps a path tree. Each reconstruction walks the parent
+ * chain once.
+ */
+public final class PathTrees {
+    private PathTrees() {
+    }
+    
+    /**
+     * Counts the vertices on the path to a target.
+     * @param parent parent array of the path tree
+     * @param target target vertex
+     * @return number of vertices from the path start to target (inclusive)
+     */
+    public static int length(int[] parent, int target) {
+        int length = 0;
+        for (int current = target; current != -1; current = parent[current]) {
+            length++;
+        }
+        return length;
+    }
+    
+    /**
+     * Writes the path to a target into buffer[0 ..], from the path start to the target.
+     * @param parent parent array of the path tree
+     * @param target target vertex
+     * @param buffer destination; must hold at least length(parent, target) vertices
+     * @return number of vertices written
+     * @throws IllegalArgumentException if the buffer is too small (its contents are then unspecified)
+     */
+    public static int write(int[] parent, int target, int[] buffer) {
+        // Collect target-first in one walk, then reverse in place
+        int length = 0;
+        for (int current = target; current != -1; current = parent[current]) {
+            if (length == buffer.length) {
+                throw new IllegalArgumentException("Path has " + length(parent, target)
+                        + " vertices, buffer holds " + buffer.length);
+            }
+            buffer[length++] = current;
+        }
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            int tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+        return length;
+    }
+    
+    /**
+     * Builds the path to a target as a list.
+     * @param parent parent array of the path tree
+     * @param target target vertex
+     * @return new list of the vertices from the path start to target
+     */
+    public static List<Integer> toList(int[] parent, int target) {
+        List<Integer> path = new ArrayList<>();
+        for (int current = target; current != -1; current = parent[current]) {
+            path.add(current);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+    
+    /**
+     * Visits every reachable vertex in DFS order of the path tree. The visitor sees the path to
+     * each vertex in a shared buffer that is extended or cut back by one vertex per step, so all
+     * paths together cost O(V) instead of O(V * depth).
+     * @param parent parent array of the path tree
+     * @param dist distances of the path tree
+     * @param unreachable distance marking unreachable vertices
+     * @param visitor receives every path
+     */
+    public static void walk(int[] parent, double[] dist, double unreachable, PathVisitor visitor) {
+        int n = parent.length;
+        
+        // Children of each vertex as a CSR built by counting sort (ascending child order)
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            if (parent[v] != -1) {
+                offsets[parent[v] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] children = new int[offsets[n]];
+        int[] fill = new int[n];
+        System.arraycopy(offsets, 0, fill, 0, n);
+        for (int v = 0; v < n; v++) {
+            if (parent[v] != -1) {
+                children[fill[parent[v]]++] = v;
+            }
+        }
+        
+        // path doubles as the DFS stack; next[d] is the next child index of path[d]
+        int[] path = new int[n];
+        int[] next = new int[n];
+        for (int root = 0; root < n; root++) {
+            if (parent[root] != -1 || dist[root] == unreachable) {
+                continue;
+            }
+            int depth = 0;
+            path[0] = root;
+            next[0] = offsets[root];
+            visitor.visit(root, path, 1);
+            while (depth >= 0) {
+                int x = path[depth];
+                if (next[depth] < offsets[x + 1]) {
+                    int child = children[next[depth]++];
+                    path[++depth] = child;
+                    next[depth] = offsets[child];
+                    visitor.visit(child, path, depth + 1);
+                } else {
+                    depth--;
+                }
+            }
+        }
+    }
+}
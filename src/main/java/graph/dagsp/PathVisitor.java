@@ -0,0 +1,16 @@
+package graph.dagsp;
+
+/**
+ * Receives the paths of a shortest/longest path tree one target at a time.
+ */
+@FunctionalInterface
+public interface PathVisitor {
+    /**
+     * Accepts the path to one target.
+     * The path buffer is shared and is overwritten once this method returns.
+     * @param target last vertex of the path
+     * @param path path[0 .. length - 1] are the vertices from the path start to target
+     * @param length number of vertices on the path
+     */
+    void visit(int target, int[] path, int length);
+}
@@ -0,0 +1,214 @@
+package graph.dagsp;
+
+import model.Graph;
+import util.NoOpMetrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Size-bounded LRU cache of single-source path results on one DAG.
+ * Entries are keyed by (graph version, source, objective), so results computed before an edge
+ * insertion or node weight change are never served afterwards; they are dropped as soon as a
+ * lookup sees the newer version.
+ * Concurrent lookups are safe while the graph is not being modified. Results are computed
+ * outside the lock, so concurrent misses for the same key may compute it more than once.
+ */
+public class ShortestPathCache {
+    private final Graph dag;
+    private final Map<Key, Result> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long newestVersion;
+    
+    /**
+     * Creates a cache for a DAG.
+     * @param dag directed acyclic graph
+     * @param maxEntries maximum number of cached results before the least recently used is evicted
+     */
+    public ShortestPathCache(Graph dag, int maxEntries) {
+        this.dag = dag;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+                if (size() > maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Gets the path result for a source, computing it on a miss.
+     * @param source source vertex
+     * @param objective SHORTEST (DAGShortestPath) or LONGEST (DAGLongestPath from source)
+     * @return cached or freshly computed result
+     */
+    public Result get(int source, PathObjective objective) {
+        Key key = new Key(dag.getVersion(), source, objective);
+        synchronized (this) {
+            if (key.version > newestVersion) {
+                newestVersion = key.version;
+                entries.keySet().removeIf(stale -> stale.version < key.version);
+            }
+            Result cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        
+        Result result;
+        if (objective == PathObjective.SHORTEST) {
+            DAGShortestPath sp = new DAGShortestPath(dag, source, NoOpMetrics.INSTANCE);
+            result = new Result(source, objective, sp.computeShortestPaths(), sp.getParents());
+        } else {
+            DAGLongestPath lp = new DAGLongestPath(dag, source, NoOpMetrics.INSTANCE);
+            lp.computeLongestPath();
+            result = new Result(source, objective, lp.getDistances(), lp.getParents());
+        }
+        
+        synchronized (this) {
+            // Another lookup may have seen a newer version while this result was computed
+            if (key.version == newestVersion) {
+                entries.put(key, result);
+            }
+        }
+        return result;
+    }
+    
+    public synchronized long getHits() {
+        return hits;
+    }
+    
+    public synchronized long getMisses() {
+        return misses;
+    }
+    
+    /**
+     * Gets the number of least recently used entries evicted to make room (entries dropped
+     * because the graph changed are not counted).
+     * @return number of evictions
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+    
+    /**
+     * Gets the fraction of lookups served from the cache.
+     * @return hit rate in [0, 1], or 0 if there were no lookups
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+    
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Removes all entries; hit/miss/eviction counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+    
+    @Override
+    public synchronized String toString() {
+        return String.format("Entries: %d | Hits: %d | Misses: %d | Evictions: %d | Hit Rate: %.1f%%",
+                entries.size(), hits, misses, evictions, getHitRate() * 100);
+    }
+    
+    /**
+     * Immutable single-source result: distance and parent arrays.
+     */
+    public static final class Result {
+        private final int source;
+        private final PathObjective objective;
+        private final double[] dist;
+        private final int[] parent;
+        
+        Result(int source, PathObjective objective, double[] dist, int[] parent) {
+            this.source = source;
+            this.objective = objective;
+            this.dist = dist;
+            this.parent = parent;
+        }
+        
+        public int getSource() {
+            return source;
+        }
+        
+        public PathObjective getObjective() {
+            return objective;
+        }
+        
+        /**
+         * Gets the distance to a target vertex.
+         * @param target target vertex
+         * @return distance, or objective.unreachable() if unreachable
+         */
+        public double getDistance(int target) {
+            return dist[target];
+        }
+        
+        /**
+         * Gets the parent of a vertex on its path from the source.
+         * @param v vertex
+         * @return predecessor of v, or -1 for the source and unreachable vertices
+         */
+        public int getParent(int v) {
+            return parent[v];
+        }
+        
+        /**
+         * Reconstructs the path from source to target.
+         * @param target target vertex
+         * @return list of vertices on the path, or empty list if unreachable
+         */
+        public List<Integer> getPath(int target) {
+            if (dist[target] == objective.unreachable()) {
+                return Collections.emptyList();
+            }
+            return PathTrees.toList(parent, target);
+        }
+    }
+    
+    private static final class Key {
+        private final long version;
+        private final int source;
+        private final PathObjective objective;
+        
+        Key(long version, int source, PathObjective objective) {
+            this.version = version;
+            this.source = source;
+            this.objective = objective;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return version == other.version && source == other.source && objective == other.objective;
+        }
+        
+        @Override
+        public int hashCode() {
+            int hash = Long.hashCode(version);
+            hash = 31 * hash + source;
+            return 31 * hash + objective.ordinal();
+        }
+    }
+}
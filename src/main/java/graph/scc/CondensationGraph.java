@@ -2,26 +2,42 @@ package graph.scc;
 
 import model.Edge;
 import model.Graph;
-import util.AlgorithmMetrics;
+import util.MemoryFootprint;
+import util.Metrics;
+import util.NoOpMetrics;
+import util.Phase;
+import util.PhaseEvent;
 
 import java.util.*;
 
 /**
  * Builds a condensation graph (DAG) from the original graph by contracting SCCs.
  * Each SCC becomes a single node in the condensation graph.
+ * In the node weight model a component's weight is the total weight (duration) of its members.
  */
 public class CondensationGraph {
     private final Graph originalGraph;
     private final List<List<Integer>> sccs;
     private final int[] vertexToSCC;
     private Graph condensationGraph;
-    private AlgorithmMetrics metrics;
+    private Metrics metrics;
     
     public CondensationGraph(Graph originalGraph, List<List<Integer>> sccs, int[] vertexToSCC) {
+        this(originalGraph, sccs, vertexToSCC, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Creates the builder with a given metrics implementation.
+     * @param originalGraph graph to condense
+     * @param sccs strongly connected components of the graph
+     * @param vertexToSCC component index of every vertex
+     * @param metrics receives timing and operation counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     */
+    public CondensationGraph(Graph originalGraph, List<List<Integer>> sccs, int[] vertexToSCC, Metrics metrics) {
         this.originalGraph = originalGraph;
         this.sccs = sccs;
         this.vertexToSCC = vertexToSCC;
-        this.metrics = new AlgorithmMetrics();
+        this.metrics = metrics;
     }
     
     /**
@@ -31,6 +47,7 @@ public class CondensationGraph {
     public Graph build() {
         metrics.reset();
         metrics.startTiming();
+        PhaseEvent event = PhaseEvent.start(metrics);
         
         int numComponents = sccs.size();
         condensationGraph = new Graph(numComponents);
@@ -59,7 +76,17 @@ public class CondensationGraph {
             }
         }
         
+        if (originalGraph.isNodeWeighted()) {
+            double[] componentWeights = new double[numComponents];
+            for (int v = 0; v < vertexToSCC.length; v++) {
+                componentWeights[vertexToSCC[v]] += originalGraph.getNodeWeight(v);
+            }
+            condensationGraph.setNodeWeights(componentWeights);
+        }
+        
         metrics.stopTiming();
+        metrics.setRetainedBytes(MemoryFootprint.ofGraph(condensationGraph));
+        event.finish(Phase.CONDENSATION, "Condensation", originalGraph.getN(), originalGraph.getEdgeCount(), metrics);
         return condensationGraph;
     }
     
@@ -92,9 +119,9 @@ public class CondensationGraph {
     
     /**
      * Gets the metrics for the condensation building process.
-     * @return AlgorithmMetrics object
+     * @return Metrics object
      */
-    public AlgorithmMetrics getMetrics() {
+    public Metrics getMetrics() {
         return metrics;
     }
 }
@@ -0,0 +1,317 @@
+package graph.scc;
+
+import model.CompactGraph;
+import model.Graph;
+import graph.topo.TopologicalSort;
+import util.Metrics;
+import util.NoOpMetrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reachability index over the condensation DAG of a graph.
+ * Original vertices are mapped to their SCC first; two vertices of the same SCC always reach
+ * each other. Small condensations store the full transitive closure as one bitset row per
+ * component (O(1) queries). Larger ones use GRAIL interval labels: k randomized DFS traversals
+ * give every component k intervals, and v can only be reachable from u if each interval of v
+ * nests inside the matching interval of u. Non-nesting answers "no" in O(k). Nesting falls back
+ * to a DFS from u that prunes every component whose labels do not contain v's, or whose
+ * topological position is past v's.
+ *
+ * Time Complexity: O(C * (C + E) / 64) build and O(1) query with closure;
+ * O(k * (C + E)) build and O(k) typical query with labels
+ * Space Complexity: O(C^2 / 64) with closure, O(k * C) with labels
+ */
+public class ReachabilityIndex {
+    /**
+     * Default largest condensation (in components) for which the full closure is built.
+     */
+    public static final int DEFAULT_CLOSURE_LIMIT = 8192;
+    
+    /**
+     * Default number of GRAIL traversals.
+     */
+    public static final int DEFAULT_LABEL_COUNT = 3;
+    
+    private final int[] vertexToSCC;
+    private final int components;
+    private final Metrics metrics;
+    private final int[] topoPosition;
+    private long[][] closure;
+    private CompactGraph dag;
+    private int labelCount;
+    private int[] low;   // low[i * components + c]: smallest post-order rank below c in traversal i
+    private int[] post;  // post[i * components + c]: post-order rank of c in traversal i
+    private int[] visitStamp;
+    private int[] stack;
+    private int stamp;
+    
+    public ReachabilityIndex(CondensationGraph condensation) {
+        this(condensation, DEFAULT_CLOSURE_LIMIT, DEFAULT_LABEL_COUNT, 42L);
+    }
+    
+    /**
+     * Builds the index for a condensation.
+     * @param condensation condensation of the original graph (built if not already built)
+     * @param closureLimit largest number of components for which the full closure is built
+     * @param labelCount number of GRAIL traversals used above the closure limit
+     * @param seed seed of the randomized traversals
+     */
+    public ReachabilityIndex(CondensationGraph condensation, int closureLimit, int labelCount, long seed) {
+        this(condensation, closureLimit, labelCount, seed, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Builds the index for a condensation with a given metrics implementation.
+     * @param condensation condensation of the original graph (built if not already built)
+     * @param closureLimit largest number of components for which the full closure is built
+     * @param labelCount number of GRAIL traversals used above the closure limit
+     * @param seed seed of the randomized traversals
+     * @param metrics receives build time and query counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     */
+    public ReachabilityIndex(CondensationGraph condensation, int closureLimit, int labelCount, long seed,
+                             Metrics metrics) {
+        this.metrics = metrics;
+        this.vertexToSCC = condensation.getVertexToSCC();
+        
+        metrics.startTiming();
+        Graph condGraph = condensation.getCondensationGraph();
+        this.components = condGraph.getN();
+        this.dag = CompactGraph.of(condGraph);
+        
+        List<Integer> topoOrder = new TopologicalSort(condGraph, NoOpMetrics.NESTED).kahnTopologicalSort();
+        if (topoOrder == null) {
+            throw new IllegalArgumentException("Condensation graph contains a cycle");
+        }
+        int[] order = new int[components];
+        this.topoPosition = new int[components];
+        for (int i = 0; i < components; i++) {
+            order[i] = topoOrder.get(i);
+            topoPosition[order[i]] = i;
+        }
+        
+        if (components <= closureLimit) {
+            buildClosure(order);
+            // The closure answers everything; the adjacency is no longer needed
+            dag = null;
+        } else {
+            buildLabels(labelCount, new Random(seed));
+        }
+        metrics.stopTiming();
+    }
+    
+    /**
+     * Checks whether original vertex v is reachable from original vertex u.
+     * @param u start vertex in the original graph
+     * @param v end vertex in the original graph
+     * @return true if a directed path from u to v exists (always true for u == v)
+     */
+    public boolean reachable(int u, int v) {
+        return componentReachable(vertexToSCC[u], vertexToSCC[v]);
+    }
+    
+    /**
+     * Checks whether condensation component cv is reachable from component cu.
+     * Not thread-safe in label mode (the fallback search uses shared scratch arrays).
+     * @param cu start component
+     * @param cv end component
+     * @return true if a directed path from cu to cv exists (always true for cu == cv)
+     */
+    public boolean componentReachable(int cu, int cv) {
+        if (cu == cv) {
+            return true;
+        }
+        if (topoPosition[cu] > topoPosition[cv]) {
+            return false;
+        }
+        if (closure != null) {
+            return (closure[cu][cv >>> 6] & (1L << cv)) != 0;
+        }
+        if (!contains(cu, cv)) {
+            return false;
+        }
+        return search(cu, cv);
+    }
+    
+    /**
+     * Tells which representation the index uses.
+     * @return true for the full transitive closure, false for interval labels
+     */
+    public boolean usesTransitiveClosure() {
+        return closure != null;
+    }
+    
+    /**
+     * Gets the metrics for building the index.
+     * @return Metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Builds closure rows in reverse topological order: a row is its own bit OR its successors' rows.
+     */
+    private void buildClosure(int[] order) {
+        int words = (components + 63) >>> 6;
+        closure = new long[components][words];
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        for (int i = components - 1; i >= 0; i--) {
+            int c = order[i];
+            metrics.incrementDfsVisits();
+            long[] row = closure[c];
+            row[c >>> 6] |= 1L << c;
+            for (int e = offsets[c]; e < offsets[c + 1]; e++) {
+                metrics.incrementEdgeTraversals();
+                long[] successor = closure[targets[e]];
+                for (int w = 0; w < words; w++) {
+                    row[w] |= successor[w];
+                }
+            }
+        }
+    }
+    
+    /**
+     * Builds GRAIL labels with randomized root order and randomized child rotation per traversal.
+     */
+    private void buildLabels(int count, Random random) {
+        labelCount = count;
+        low = new int[count * components];
+        post = new int[count * components];
+        visitStamp = new int[components];
+        stack = new int[16];
+        
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        int[] inDegree = new int[components];
+        for (int t : targets) {
+            inDegree[t]++;
+        }
+        int[] roots = new int[components];
+        int rootCount = 0;
+        for (int c = 0; c < components; c++) {
+            if (inDegree[c] == 0) {
+                roots[rootCount++] = c;
+            }
+        }
+        
+        int[] nextChild = new int[components];
+        int[] rotation = new int[components];
+        for (int i = 0; i < count; i++) {
+            int base = i * components;
+            int rank = 0;
+            nextStamp();
+            shuffle(roots, rootCount, random);
+            for (int c = 0; c < components; c++) {
+                int degree = offsets[c + 1] - offsets[c];
+                rotation[c] = degree == 0 ? 0 : random.nextInt(degree);
+                nextChild[c] = 0;
+            }
+            
+            for (int r = 0; r < rootCount; r++) {
+                int root = roots[r];
+                if (visitStamp[root] == stamp) {
+                    continue;
+                }
+                int top = 0;
+                stack[top++] = root;
+                visitStamp[root] = stamp;
+                low[base + root] = Integer.MAX_VALUE;
+                while (top > 0) {
+                    int x = stack[top - 1];
+                    int degree = offsets[x + 1] - offsets[x];
+                    if (nextChild[x] < degree) {
+                        metrics.incrementEdgeTraversals();
+                        int child = targets[offsets[x] + (rotation[x] + nextChild[x]++) % degree];
+                        if (visitStamp[child] != stamp) {
+                            visitStamp[child] = stamp;
+                            low[base + child] = Integer.MAX_VALUE;
+                            if (top == stack.length) {
+                                stack = Arrays.copyOf(stack, top * 2);
+                            }
+                            stack[top++] = child;
+                        } else {
+                            // In a DAG a visited child is already finished
+                            low[base + x] = Math.min(low[base + x], low[base + child]);
+                        }
+                    } else {
+                        metrics.incrementDfsVisits();
+                        top--;
+                        post[base + x] = rank++;
+                        low[base + x] = Math.min(low[base + x], post[base + x]);
+                        if (top > 0) {
+                            int parent = stack[top - 1];
+                            low[base + parent] = Math.min(low[base + parent], low[base + x]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Checks that every interval of cv nests inside the matching interval of cu.
+     */
+    private boolean contains(int cu, int cv) {
+        for (int i = 0; i < labelCount; i++) {
+            int base = i * components;
+            if (low[base + cv] < low[base + cu] || post[base + cv] > post[base + cu]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Advances the traversal stamp, clearing visitStamp and restarting at 1 instead of overflowing.
+     */
+    private int nextStamp() {
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visitStamp, 0);
+            stamp = 0;
+        }
+        return ++stamp;
+    }
+    
+    /**
+     * Pruned DFS from cu towards cv, used when the labels cannot rule the pair out.
+     */
+    private boolean search(int cu, int cv) {
+        int[] offsets = dag.getOffsets();
+        int[] targets = dag.getTargets();
+        int limit = topoPosition[cv];
+        nextStamp();
+        int top = 0;
+        stack[top++] = cu;
+        visitStamp[cu] = stamp;
+        while (top > 0) {
+            int x = stack[--top];
+            for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                int w = targets[e];
+                if (w == cv) {
+                    return true;
+                }
+                if (visitStamp[w] != stamp && topoPosition[w] < limit && contains(w, cv)) {
+                    visitStamp[w] = stamp;
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = w;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static void shuffle(int[] array, int size, Random random) {
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+}
@@ -2,7 +2,11 @@ package graph.scc;
 
 import model.Edge;
 import model.Graph;
-import util.AlgorithmMetrics;
+import util.MemoryFootprint;
+import util.Metrics;
+import util.NoOpMetrics;
+import util.Phase;
+import util.PhaseEvent;
 
 import java.util.*;
 
@@ -14,7 +18,7 @@ import java.util.*;
  */
 public class TarjanSCC {
     private final Graph graph;
-    private final AlgorithmMetrics metrics;
+    private final Metrics metrics;
     private int index;
     private int[] indices;
     private int[] lowlinks;
@@ -23,8 +27,17 @@ public class TarjanSCC {
     private List<List<Integer>> sccs;
     
     public TarjanSCC(Graph graph) {
+        this(graph, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Creates the algorithm with a given metrics implementation.
+     * @param graph input graph
+     * @param metrics receives timing and operation counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     */
+    public TarjanSCC(Graph graph, Metrics metrics) {
         this.graph = graph;
-        this.metrics = new AlgorithmMetrics();
+        this.metrics = metrics;
     }
     
     /**
@@ -34,6 +47,7 @@ public class TarjanSCC {
     public List<List<Integer>> findSCCs() {
         metrics.reset();
         metrics.startTiming();
+        PhaseEvent event = PhaseEvent.start(metrics);
         
         int n = graph.getN();
         index = 0;
@@ -54,6 +68,8 @@ public class TarjanSCC {
         }
         
         metrics.stopTiming();
+        metrics.setRetainedBytes(MemoryFootprint.ofIntegerLists(sccs));
+        event.finish(Phase.SCC, "Tarjan", graph.getN(), graph.getEdgeCount(), metrics);
         return new ArrayList<>(sccs);
     }
     
@@ -100,9 +116,9 @@ public class TarjanSCC {
     
     /**
      * Gets the metrics for the last SCC computation.
-     * @return AlgorithmMetrics object
+     * @return Metrics object
      */
-    public AlgorithmMetrics getMetrics() {
+    public Metrics getMetrics() {
         return metrics;
     }
     
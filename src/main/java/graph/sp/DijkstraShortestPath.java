@@ -0,0 +1,170 @@
+package graph.sp;
+
+import graph.dagsp.PathTrees;
+import model.CompactGraph;
+import model.Graph;
+import util.Metrics;
+import util.NoOpMetrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implementation of single-source shortest paths with Dijkstra's algorithm on any directed graph
+ * with non-negative weights, including cyclic ones. Unlike the DAG algorithms it needs no
+ * condensation, so distances inside strongly connected components are kept.
+ * The frontier is an {@link IndexedDaryHeap} (d = 4) with decrease-key; adjacency is read from
+ * a {@link CompactGraph}.
+ * In the node weight model entering a vertex costs its node weight, so every edge u -> v
+ * costs its weight plus the weight of v, and the source contributes its own weight.
+ *
+ * Time Complexity: O(E log V)
+ * Space Complexity: O(V + E)
+ */
+public class DijkstraShortestPath {
+    private final Graph graph;
+    private final int source;
+    private final Metrics metrics;
+    private double[] dist;
+    private int[] parent;
+    
+    public DijkstraShortestPath(Graph graph, int source) {
+        this(graph, source, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Creates the computation with a given metrics implementation.
+     * @param graph directed graph with non-negative weights
+     * @param source source vertex
+     * @param metrics receives timing and operation counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     */
+    public DijkstraShortestPath(Graph graph, int source, Metrics metrics) {
+        this.graph = graph;
+        this.source = source;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Computes shortest distances from source to all vertices.
+     * @return array of shortest distances (Double.POSITIVE_INFINITY if unreachable)
+     * @throws IllegalArgumentException if an edge plus its head's node weight is negative
+     */
+    public double[] computeShortestPaths() {
+        metrics.reset();
+        metrics.startTiming();
+        
+        int n = graph.getN();
+        CompactGraph compact = CompactGraph.of(graph);
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] weights = compact.getWeights();
+        for (int e = 0; e < targets.length; e++) {
+            if (weights[e] + compact.getNodeWeight(targets[e]) < 0) {
+                metrics.stopTiming();
+                throw new IllegalArgumentException("Graph contains a negative edge weight");
+            }
+        }
+        
+        dist = new double[n];
+        parent = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        boolean[] settled = new boolean[n];
+        
+        IndexedDaryHeap heap = new IndexedDaryHeap(n);
+        dist[source] = compact.getNodeWeight(source);
+        heap.insert(source, dist[source]);
+        metrics.incrementQueueOperations();
+        
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            metrics.incrementQueueOperations();
+            settled[u] = true;
+            
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                metrics.incrementEdgeTraversals();
+                int v = targets[e];
+                if (settled[v]) {
+                    continue;
+                }
+                double candidate = dist[u] + weights[e] + compact.getNodeWeight(v);
+                if (candidate < dist[v]) {
+                    metrics.incrementRelaxations();
+                    metrics.incrementQueueOperations();
+                    if (heap.contains(v)) {
+                        heap.decreaseKey(v, candidate);
+                    } else {
+                        heap.insert(v, candidate);
+                    }
+                    dist[v] = candidate;
+                    parent[v] = u;
+                } else if (candidate == dist[v] && u < parent[v]) {
+                    // Same tie rule as the DAG algorithms, among predecessors settled before v
+                    parent[v] = u;
+                }
+            }
+        }
+        
+        metrics.stopTiming();
+        return dist;
+    }
+    
+    /**
+     * Gets the shortest distance to a target vertex.
+     * @param target target vertex
+     * @return shortest distance, or Double.POSITIVE_INFINITY if unreachable
+     */
+    public double getDistance(int target) {
+        if (dist == null) {
+            computeShortestPaths();
+        }
+        return dist[target];
+    }
+    
+    /**
+     * Reconstructs the shortest path from source to target.
+     * @param target target vertex
+     * @return list of vertices on the shortest path, or empty list if unreachable
+     */
+    public List<Integer> getPath(int target) {
+        if (dist == null) {
+            computeShortestPaths();
+        }
+        
+        if (dist[target] == Double.POSITIVE_INFINITY) {
+            return Collections.emptyList();
+        }
+        return PathTrees.toList(parent, target);
+    }
+    
+    /**
+     * Gets the parent of every vertex in the shortest path tree (computes if not already computed).
+     * @return array where parent[v] is the predecessor of v, or -1 for the source and unreachable vertices
+     */
+    public int[] getParents() {
+        if (dist == null) {
+            computeShortestPaths();
+        }
+        return parent;
+    }
+    
+    /**
+     * Gets all distances (computes if not already computed).
+     * @return array of shortest distances
+     */
+    public double[] getDistances() {
+        if (dist == null) {
+            computeShortestPaths();
+        }
+        return dist;
+    }
+    
+    /**
+     * Gets the metrics for the shortest path computation.
+     * @return Metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,234 @@
+package graph.sp;
+
+import graph.dagsp.PathTrees;
+import graph.scc.TarjanSCC;
+import model.CompactGraph;
+import model.Graph;
+import util.Metrics;
+import util.NoOpMetrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single-source shortest paths on any directed graph, combining DAG relaxation with Dijkstra.
+ * Strongly connected components are processed in topological order of the condensation
+ * (the reverse of the order {@link TarjanSCC} emits them). A single-vertex component just
+ * relaxes its outgoing edges, as in the DAG algorithm; only a component with a cycle runs a
+ * local Dijkstra, seeded with the distances its members already received from earlier components.
+ * Graphs made of many small SCCs therefore pay close to DAG cost: heap operations are limited
+ * to the members of non-trivial SCCs, and the heap never holds more than one component.
+ * Negative weights are allowed on edges between components, but not inside one.
+ * In the node weight model every edge u -> v also costs the weight of v, as in
+ * {@link DijkstraShortestPath}.
+ *
+ * Time Complexity: O(V + E + sum over non-trivial SCCs of E_i log V_i)
+ * Space Complexity: O(V + E)
+ */
+public class HybridSCCShortestPath {
+    private final Graph graph;
+    private final int source;
+    private final Metrics metrics;
+    private List<List<Integer>> sccs;
+    private double[] dist;
+    private int[] parent;
+    
+    public HybridSCCShortestPath(Graph graph, int source) {
+        this(graph, source, null);
+    }
+    
+    /**
+     * Creates the engine with an existing SCC decomposition.
+     * @param graph directed graph
+     * @param source source vertex
+     * @param sccs components as returned by {@link TarjanSCC#findSCCs()} (reverse topological order),
+     *             or null to compute them
+     */
+    public HybridSCCShortestPath(Graph graph, int source, List<List<Integer>> sccs) {
+        this(graph, source, sccs, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Creates the engine with an existing SCC decomposition and a given metrics implementation.
+     * @param graph directed graph
+     * @param source source vertex
+     * @param sccs components as returned by {@link TarjanSCC#findSCCs()}, or null to compute them
+     * @param metrics receives timing and operation counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     */
+    public HybridSCCShortestPath(Graph graph, int source, List<List<Integer>> sccs, Metrics metrics) {
+        this.graph = graph;
+        this.source = source;
+        this.sccs = sccs;
+        this.metrics = metrics;
+    }
+    
+    /**
+     * Computes shortest distances from source to all vertices.
+     * @return array of shortest distances (Double.POSITIVE_INFINITY if unreachable)
+     * @throws IllegalArgumentException if an edge inside a strongly connected component
+     *                                  (plus its head's node weight) has negative weight
+     */
+    public double[] computeShortestPaths() {
+        if (sccs == null) {
+            sccs = new TarjanSCC(graph, NoOpMetrics.NESTED).findSCCs();
+        }
+        
+        metrics.reset();
+        metrics.startTiming();
+        
+        int n = graph.getN();
+        int[] component = new int[n];
+        for (int c = 0; c < sccs.size(); c++) {
+            for (int v : sccs.get(c)) {
+                component[v] = c;
+            }
+        }
+        
+        CompactGraph compact = CompactGraph.of(graph);
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] weights = compact.getWeights();
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (weights[e] + compact.getNodeWeight(targets[e]) < 0 && component[targets[e]] == component[u]) {
+                    metrics.stopTiming();
+                    throw new IllegalArgumentException("Graph contains a negative edge weight inside an SCC");
+                }
+            }
+        }
+        
+        dist = new double[n];
+        parent = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        dist[source] = compact.getNodeWeight(source);
+        boolean[] settled = new boolean[n];
+        IndexedDaryHeap heap = null;
+        
+        // Tarjan emits sink components first, so walk the list backwards
+        for (int c = sccs.size() - 1; c >= 0; c--) {
+            List<Integer> members = sccs.get(c);
+            if (members.size() == 1) {
+                int u = members.get(0);
+                // Settled first, so a self-loop cannot make u its own parent
+                settled[u] = true;
+                if (dist[u] != Double.POSITIVE_INFINITY) {
+                    relaxOutgoing(u, compact, component, settled, null);
+                }
+                continue;
+            }
+            
+            if (heap == null) {
+                heap = new IndexedDaryHeap(n);
+            }
+            for (int v : members) {
+                if (dist[v] != Double.POSITIVE_INFINITY) {
+                    metrics.incrementQueueOperations();
+                    heap.insert(v, dist[v]);
+                }
+            }
+            while (!heap.isEmpty()) {
+                int u = heap.poll();
+                metrics.incrementQueueOperations();
+                settled[u] = true;
+                relaxOutgoing(u, compact, component, settled, heap);
+            }
+        }
+        
+        metrics.stopTiming();
+        return dist;
+    }
+    
+    /**
+     * Relaxes the outgoing edges of a finished vertex. Targets inside the current component
+     * (only when heap is given) are updated in the heap; all others are simply lowered.
+     */
+    private void relaxOutgoing(int u, CompactGraph compact, int[] component, boolean[] settled,
+                               IndexedDaryHeap heap) {
+        int[] offsets = compact.getOffsets();
+        int[] targets = compact.getTargets();
+        double[] weights = compact.getWeights();
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+            metrics.incrementEdgeTraversals();
+            int v = targets[e];
+            if (settled[v]) {
+                continue;
+            }
+            double candidate = dist[u] + weights[e] + compact.getNodeWeight(v);
+            if (candidate < dist[v]) {
+                metrics.incrementRelaxations();
+                if (heap != null && component[v] == component[u]) {
+                    metrics.incrementQueueOperations();
+                    if (heap.contains(v)) {
+                        heap.decreaseKey(v, candidate);
+                    } else {
+                        heap.insert(v, candidate);
+                    }
+                }
+                dist[v] = candidate;
+                parent[v] = u;
+            } else if (candidate == dist[v] && u < parent[v]) {
+                parent[v] = u;
+            }
+        }
+    }
+    
+    /**
+     * Gets the shortest distance to a target vertex.
+     * @param target target vertex
+     * @return shortest distance, or Double.POSITIVE_INFINITY if unreachable
+     */
+    public double getDistance(int target) {
+        if (dist == null) {
+            computeShortestPaths();
+        }
+        return dist[target];
+    }
+    
+    /**
+     * Reconstructs the shortest path from source to target.
+     * @param target target vertex
+     * @return list of vertices on the shortest path, or empty list if unreachable
+     */
+    public List<Integer> getPath(int target) {
+        if (dist == null) {
+            computeShortestPaths();
+        }
+        
+        if (dist[target] == Double.POSITIVE_INFINITY) {
+            return Collections.emptyList();
+        }
+        return PathTrees.toList(parent, target);
+    }
+    
+    /**
+     * Gets the parent of every vertex in the shortest path tree (computes if not already computed).
+     * @return array where parent[v] is the predecessor of v, or -1 for the source and unreachable vertices
+     */
+    public int[] getParents() {
+        if (dist == null) {
+            computeShortestPaths();
+        }
+        return parent;
+    }
+    
+    /**
+     * Gets all distances (computes if not already computed).
+     * @return array of shortest distances
+     */
+    public double[] getDistances() {
+        if (dist == null) {
+            computeShortestPaths();
+        }
+        return dist;
+    }
+    
+    /**
+     * Gets the metrics for the shortest path computation (excluding the SCC decomposition).
+     * @return Metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+}
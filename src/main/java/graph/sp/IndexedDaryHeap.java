@@ -0,0 +1,182 @@
+package graph.sp;
+
+import java.util.Arrays;
+
+/**
+ * Indexed d-ary min-heap over the integer items 0 .. capacity - 1 with double keys.
+ * Items, keys and heap positions live in primitive arrays, so there are no boxed entries,
+ * and decrease-key moves an item in place instead of inserting a duplicate.
+ * A wider heap (d = 4) is shallower than a binary one: decrease-key is cheaper, and the
+ * children compared during poll sit next to each other in memory.
+ *
+ * Time Complexity: O(log_d n) insert and decrease-key, O(d * log_d n) poll
+ * Space Complexity: O(capacity)
+ */
+public class IndexedDaryHeap {
+    /**
+     * Default number of children per node.
+     */
+    public static final int DEFAULT_ARITY = 4;
+    
+    private final int arity;
+    private final int[] heap;       // heap[i]: item at heap slot i
+    private final int[] position;   // position[item]: heap slot of item, or -1 if absent
+    private final double[] keys;    // keys[item]: current key of item
+    private int size;
+    
+    public IndexedDaryHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+    
+    /**
+     * Creates an empty heap.
+     * @param capacity number of items (items are 0 .. capacity - 1)
+     * @param arity number of children per node (at least 2)
+     */
+    public IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2");
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Checks whether an item is in the heap.
+     * @param item item index
+     * @return true if the item was inserted and not yet polled
+     */
+    public boolean contains(int item) {
+        return position[item] >= 0;
+    }
+    
+    /**
+     * Gets the current key of an item in the heap.
+     * @param item item index
+     * @return key of the item
+     */
+    public double getKey(int item) {
+        return keys[item];
+    }
+    
+    /**
+     * Inserts an item.
+     * @param item item index, not already in the heap
+     * @param key key of the item
+     */
+    public void insert(int item, double key) {
+        if (contains(item)) {
+            throw new IllegalArgumentException("Item " + item + " is already in the heap");
+        }
+        keys[item] = key;
+        heap[size] = item;
+        position[item] = size;
+        siftUp(size++);
+    }
+    
+    /**
+     * Lowers the key of an item in the heap.
+     * @param item item index, currently in the heap
+     * @param key new key, not greater than the current one
+     */
+    public void decreaseKey(int item, double key) {
+        if (!contains(item)) {
+            throw new IllegalArgumentException("Item " + item + " is not in the heap");
+        }
+        if (key > keys[item]) {
+            throw new IllegalArgumentException("New key is greater than the current key");
+        }
+        keys[item] = key;
+        siftUp(position[item]);
+    }
+    
+    /**
+     * Gets the item with the smallest key without removing it.
+     * @return item index
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return heap[0];
+    }
+    
+    /**
+     * Removes the item with the smallest key.
+     * @return item index
+     */
+    public int poll() {
+        int top = peek();
+        position[top] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+    
+    /**
+     * Removes all items.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+    
+    private void siftUp(int slot) {
+        int item = heap[slot];
+        double key = keys[item];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) / arity;
+            int parentItem = heap[parentSlot];
+            if (keys[parentItem] <= key) {
+                break;
+            }
+            heap[slot] = parentItem;
+            position[parentItem] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = item;
+        position[item] = slot;
+    }
+    
+    private void siftDown(int slot) {
+        int item = heap[slot];
+        double key = keys[item];
+        while (true) {
+            int first = slot * arity + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + arity, size);
+            int best = first;
+            for (int c = first + 1; c < last; c++) {
+                if (keys[heap[c]] < keys[heap[best]]) {
+                    best = c;
+                }
+            }
+            if (keys[heap[best]] >= key) {
+                break;
+            }
+            heap[slot] = heap[best];
+            position[heap[slot]] = slot;
+            slot = best;
+        }
+        heap[slot] = item;
+        position[item] = slot;
+    }
+}
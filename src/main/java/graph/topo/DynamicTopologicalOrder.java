@@ -0,0 +1,275 @@
+package graph.topo;
+
+import model.Edge;
+import model.Graph;
+import util.Metrics;
+import util.NoOpMetrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maintains a topological order of a DAG under edge insertions (Pearce-Kelly algorithm).
+ * An insertion u -> v that already agrees with the order costs O(1). Otherwise only the
+ * affected region between positions of v and u is searched and reordered, and an insertion
+ * that would close a cycle is detected and rejected during that search.
+ *
+ * Time Complexity: O(|δ| log |δ| + edges of δ) per insertion, where δ is the affected region
+ * Space Complexity: O(V + E)
+ */
+public class DynamicTopologicalOrder {
+    private final Graph graph;
+    private final Metrics metrics;
+    private final int[] ord;        // vertex -> position in the order
+    private final int[] vertexAt;   // position -> vertex
+    private final int[][] out;
+    private final int[] outSize;
+    private final int[][] in;
+    private final int[] inSize;
+    private final int[] mark;
+    private int stamp;
+    private int[] stack;
+    private int[] forward;
+    private int[] backward;
+    
+    /**
+     * Creates an order over n isolated vertices (initially 0, 1, ..., n-1).
+     * @param n number of vertices
+     */
+    public DynamicTopologicalOrder(int n) {
+        this(new Graph(n));
+    }
+    
+    /**
+     * Creates an order for an existing DAG. Accepted insertions are also added to this graph,
+     * so it can be handed to the other algorithms at any time.
+     * @param graph initial DAG
+     * @throws IllegalArgumentException if the graph contains a cycle
+     */
+    public DynamicTopologicalOrder(Graph graph) {
+        this(graph, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Creates an order for an existing DAG with a given metrics implementation.
+     * @param graph initial DAG
+     * @param metrics receives timing and operation counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     * @throws IllegalArgumentException if the graph contains a cycle
+     */
+    public DynamicTopologicalOrder(Graph graph, Metrics metrics) {
+        this.graph = graph;
+        this.metrics = metrics;
+        
+        int n = graph.getN();
+        ord = new int[n];
+        vertexAt = new int[n];
+        out = new int[n][];
+        outSize = new int[n];
+        in = new int[n][];
+        inSize = new int[n];
+        mark = new int[n];
+        stack = new int[16];
+        forward = new int[16];
+        backward = new int[16];
+        
+        List<Integer> order = new TopologicalSort(graph, NoOpMetrics.NESTED).kahnTopologicalSort();
+        if (order == null) {
+            throw new IllegalArgumentException("Graph contains a cycle");
+        }
+        for (int i = 0; i < n; i++) {
+            int v = order.get(i);
+            ord[v] = i;
+            vertexAt[i] = v;
+        }
+        for (Edge edge : graph.getAllEdges()) {
+            link(edge.getU(), edge.getV());
+        }
+    }
+    
+    /**
+     * Inserts edge u -> v, reordering the affected region if needed.
+     * @param u source vertex
+     * @param v target vertex
+     * @param weight edge weight (stored in the underlying graph)
+     * @return true if the edge was inserted, false if it would create a cycle (graph unchanged)
+     */
+    public boolean addEdge(int u, int v, double weight) {
+        metrics.reset();
+        metrics.startTiming();
+        
+        if (u == v) {
+            metrics.stopTiming();
+            return false;
+        }
+        
+        int lowerBound = ord[v];
+        int upperBound = ord[u];
+        if (lowerBound < upperBound) {
+            // v currently precedes u: find vertices reachable from v that sit before u ...
+            int forwardMark = nextStamp();
+            int forwardSize = searchForward(v, upperBound, forwardMark);
+            if (forwardSize < 0) {
+                // u is reachable from v, so u -> v closes a cycle
+                metrics.stopTiming();
+                return false;
+            }
+            // ... and vertices reaching u that sit after v, then swap the two regions
+            int backwardMark = nextStamp();
+            int backwardSize = searchBackward(u, lowerBound, backwardMark);
+            reorder(backwardSize, forwardSize);
+        }
+        
+        link(u, v);
+        graph.addEdge(u, v, weight);
+        metrics.stopTiming();
+        return true;
+    }
+    
+    /**
+     * Gets the current position of a vertex in the topological order.
+     * @param v vertex
+     * @return position of v (0-based)
+     */
+    public int getPosition(int v) {
+        return ord[v];
+    }
+    
+    /**
+     * Gets the current topological order.
+     * @return list of vertices in topological order
+     */
+    public List<Integer> getOrder() {
+        Integer[] order = new Integer[vertexAt.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = vertexAt[i];
+        }
+        return Arrays.asList(order);
+    }
+    
+    /**
+     * Gets the underlying graph, including all accepted insertions.
+     * @return graph kept in sync with this order
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+    
+    /**
+     * Gets the metrics for the last insertion.
+     * @return Metrics object
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Gets the mark for the next search; clears mark and restarts at 1 rather than overflowing.
+     */
+    private int nextStamp() {
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            stamp = 0;
+        }
+        return ++stamp;
+    }
+    
+    /**
+     * Collects into {@code forward} all vertices reachable from start with position below upperBound.
+     * @return number of collected vertices, or -1 if the vertex at upperBound was reached
+     */
+    private int searchForward(int start, int upperBound, int visitMark) {
+        int size = 0;
+        int top = 0;
+        stack = push(stack, top++, start);
+        mark[start] = visitMark;
+        while (top > 0) {
+            int w = stack[--top];
+            metrics.incrementDfsVisits();
+            forward = push(forward, size++, w);
+            for (int i = 0; i < outSize[w]; i++) {
+                metrics.incrementEdgeTraversals();
+                int x = out[w][i];
+                if (ord[x] == upperBound) {
+                    return -1;
+                }
+                if (mark[x] != visitMark && ord[x] < upperBound) {
+                    mark[x] = visitMark;
+                    stack = push(stack, top++, x);
+                }
+            }
+        }
+        return size;
+    }
+    
+    /**
+     * Collects into {@code backward} all vertices reaching start with position above lowerBound.
+     * @return number of collected vertices
+     */
+    private int searchBackward(int start, int lowerBound, int visitMark) {
+        int size = 0;
+        int top = 0;
+        stack = push(stack, top++, start);
+        mark[start] = visitMark;
+        while (top > 0) {
+            int w = stack[--top];
+            metrics.incrementDfsVisits();
+            backward = push(backward, size++, w);
+            for (int i = 0; i < inSize[w]; i++) {
+                metrics.incrementEdgeTraversals();
+                int x = in[w][i];
+                if (mark[x] != visitMark && ord[x] > lowerBound) {
+                    mark[x] = visitMark;
+                    stack = push(stack, top++, x);
+                }
+            }
+        }
+        return size;
+    }
+    
+    /**
+     * Reassigns the positions held by both regions: backward region first, then forward region,
+     * each keeping its relative order.
+     */
+    private void reorder(int backwardSize, int forwardSize) {
+        int total = backwardSize + forwardSize;
+        int[] positions = new int[total];
+        for (int i = 0; i < backwardSize; i++) {
+            positions[i] = ord[backward[i]];
+        }
+        for (int i = 0; i < forwardSize; i++) {
+            positions[backwardSize + i] = ord[forward[i]];
+        }
+        // Sorting each region's positions recovers the vertices in their current relative order
+        Arrays.sort(positions, 0, backwardSize);
+        Arrays.sort(positions, backwardSize, total);
+        int[] vertices = new int[total];
+        for (int i = 0; i < total; i++) {
+            vertices[i] = vertexAt[positions[i]];
+        }
+        
+        Arrays.sort(positions);
+        for (int i = 0; i < total; i++) {
+            ord[vertices[i]] = positions[i];
+            vertexAt[positions[i]] = vertices[i];
+        }
+    }
+    
+    private void link(int u, int v) {
+        if (out[u] == null || outSize[u] == out[u].length) {
+            out[u] = out[u] == null ? new int[4] : Arrays.copyOf(out[u], outSize[u] * 2);
+        }
+        out[u][outSize[u]++] = v;
+        if (in[v] == null || inSize[v] == in[v].length) {
+            in[v] = in[v] == null ? new int[4] : Arrays.copyOf(in[v], inSize[v] * 2);
+        }
+        in[v][inSize[v]++] = u;
+    }
+    
+    private static int[] push(int[] array, int index, int value) {
+        if (index == array.length) {
+            array = Arrays.copyOf(array, index * 2);
+        }
+        array[index] = value;
+        return array;
+    }
+}
@@ -2,24 +2,47 @@ package graph.topo;
 
 import model.Edge;
 import model.Graph;
-import util.AlgorithmMetrics;
+import util.MemoryFootprint;
+import util.Metrics;
+import util.NoOpMetrics;
+import util.Phase;
+import util.PhaseEvent;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
 
 /**
  * Implementation of topological sort using Kahn's algorithm (BFS-based).
- * Also provides DFS-based variant.
+ * Also provides DFS-based variant and a parallel level-synchronous variant.
  * 
  * Time Complexity: O(V + E)
  * Space Complexity: O(V)
  */
 public class TopologicalSort {
     private final Graph graph;
-    private final AlgorithmMetrics metrics;
+    private final Metrics metrics;
+    private int[] levels;
+    
+    /**
+     * Frontiers (and graphs) smaller than this are processed on the calling thread.
+     */
+    static final int PARALLEL_THRESHOLD = 1024;
     
     public TopologicalSort(Graph graph) {
+        this(graph, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Creates the sort with a given metrics implementation.
+     * @param graph input graph
+     * @param metrics receives timing and operation counts ({@link util.AlgorithmMetrics} to record them; the other constructors record nothing)
+     */
+    public TopologicalSort(Graph graph, Metrics metrics) {
         this.graph = graph;
-        this.metrics = new AlgorithmMetrics();
+        this.metrics = metrics;
     }
     
     /**
@@ -29,6 +52,7 @@ public class TopologicalSort {
     public List<Integer> kahnTopologicalSort() {
         metrics.reset();
         metrics.startTiming();
+        PhaseEvent event = PhaseEvent.start(metrics);
         
         int n = graph.getN();
         int[] inDegree = new int[n];
@@ -71,6 +95,8 @@ public class TopologicalSort {
         }
         
         metrics.stopTiming();
+        metrics.setRetainedBytes(result.size() == n ? MemoryFootprint.ofIntegerList(n) : 0);
+        event.finish(Phase.TOPO, "Kahn", graph.getN(), graph.getEdgeCount(), metrics);
         
         // Check if all vertices were processed (graph is acyclic)
         if (result.size() != n) {
@@ -88,6 +114,7 @@ public class TopologicalSort {
     public List<Integer> dfsTopologicalSort() {
         metrics.reset();
         metrics.startTiming();
+        PhaseEvent event = PhaseEvent.start(metrics);
         
         int n = graph.getN();
         boolean[] visited = new boolean[n];
@@ -100,12 +127,15 @@ public class TopologicalSort {
                 if (!dfsTopologicalHelper(i, visited, recStack, result)) {
                     // Cycle detected
                     metrics.stopTiming();
+                    event.finish(Phase.TOPO, "DFS", graph.getN(), graph.getEdgeCount(), metrics);
                     return null;
                 }
             }
         }
         
         metrics.stopTiming();
+        metrics.setRetainedBytes(MemoryFootprint.ofIntegerList(n));
+        event.finish(Phase.TOPO, "DFS", graph.getN(), graph.getEdgeCount(), metrics);
         return new ArrayList<>(result);
     }
     
@@ -143,11 +173,156 @@ public class TopologicalSort {
         return true;
     }
     
+    /**
+     * Computes topological order using a level-synchronous (wavefront) variant of Kahn's algorithm.
+     * All vertices of the current frontier are expanded in parallel on the common ForkJoin pool,
+     * decrementing in-degrees atomically; vertices reaching in-degree 0 form the next frontier.
+     * The level of each vertex (length of the longest chain of edges leading to it) is available
+     * from {@link #getLevels()} afterwards.
+     * @return list of vertices ordered by level (ties broken by vertex index), or null if cycle detected
+     */
+    public List<Integer> parallelKahnTopologicalSort() {
+        metrics.reset();
+        metrics.startTiming();
+        metrics.markForked();
+        PhaseEvent event = PhaseEvent.start(metrics);
+        levels = null;
+        
+        int n = graph.getN();
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(n);
+        
+        // Calculate in-degrees
+        IntStream vertices = IntStream.range(0, n);
+        if (n >= PARALLEL_THRESHOLD) {
+            vertices = vertices.parallel();
+        }
+        vertices.forEach(u -> {
+            for (Edge edge : graph.getNeighbors(u)) {
+                inDegree.incrementAndGet(edge.getV());
+            }
+        });
+        metrics.addEdgeTraversals(graph.getEdgeCount());
+        
+        // Level 0 frontier: all vertices with in-degree 0
+        int[] level = new int[n];
+        int[] frontier = IntStream.range(0, n).filter(i -> inDegree.get(i) == 0).toArray();
+        metrics.addQueueOperations(frontier.length);
+        
+        int processed = 0;
+        int depth = 0;
+        while (frontier.length > 0) {
+            processed += frontier.length;
+            metrics.addQueueOperations(frontier.length);
+            
+            FrontierTask task = new FrontierTask(graph, inDegree, level, depth + 1, frontier, 0, frontier.length);
+            frontier = frontier.length < PARALLEL_THRESHOLD ? task.compute() : ForkJoinPool.commonPool().invoke(task);
+            metrics.addEdgeTraversals(task.edgeTraversals);
+            metrics.addQueueOperations(frontier.length);
+            depth++;
+        }
+        
+        if (processed != n) {
+            // Cycle detected
+            metrics.stopTiming();
+            event.finish(Phase.TOPO, "ParallelKahn", graph.getN(), graph.getEdgeCount(), metrics);
+            return null;
+        }
+        
+        // Counting sort by level keeps the order deterministic regardless of thread interleaving
+        int[] offsets = new int[depth + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[level[v] + 1]++;
+        }
+        for (int l = 0; l < depth; l++) {
+            offsets[l + 1] += offsets[l];
+        }
+        Integer[] ordered = new Integer[n];
+        for (int v = 0; v < n; v++) {
+            ordered[offsets[level[v]]++] = v;
+        }
+        
+        levels = level;
+        metrics.stopTiming();
+        metrics.setRetainedBytes(MemoryFootprint.ofIntegerList(n) + MemoryFootprint.ofIntArray(n));
+        event.finish(Phase.TOPO, "ParallelKahn", graph.getN(), graph.getEdgeCount(), metrics);
+        return Arrays.asList(ordered);
+    }
+    
+    /**
+     * Gets the level (wavefront number) of every vertex from the last
+     * {@link #parallelKahnTopologicalSort()} run. Vertices on the same level are independent.
+     * @return array where levels[v] is the level of vertex v, or null if not computed or cycle detected
+     */
+    public int[] getLevels() {
+        return levels;
+    }
+    
+    /**
+     * Expands a slice of the current frontier and returns the vertices whose in-degree dropped to 0.
+     */
+    private static final class FrontierTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+        
+        private final Graph graph;
+        private final AtomicIntegerArray inDegree;
+        private final int[] level;
+        private final int nextLevel;
+        private final int[] frontier;
+        private final int from;
+        private final int to;
+        private long edgeTraversals;
+        
+        FrontierTask(Graph graph, AtomicIntegerArray inDegree, int[] level, int nextLevel,
+                     int[] frontier, int from, int to) {
+            this.graph = graph;
+            this.inDegree = inDegree;
+            this.level = level;
+            this.nextLevel = nextLevel;
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected int[] compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                int[] next = new int[16];
+                int size = 0;
+                for (int i = from; i < to; i++) {
+                    for (Edge edge : graph.getNeighbors(frontier[i])) {
+                        edgeTraversals++;
+                        int v = edge.getV();
+                        if (inDegree.decrementAndGet(v) == 0) {
+                            level[v] = nextLevel;
+                            if (size == next.length) {
+                                next = Arrays.copyOf(next, size * 2);
+                            }
+                            next[size++] = v;
+                        }
+                    }
+                }
+                return Arrays.copyOf(next, size);
+            }
+            
+            int mid = (from + to) >>> 1;
+            FrontierTask left = new FrontierTask(graph, inDegree, level, nextLevel, frontier, from, mid);
+            FrontierTask right = new FrontierTask(graph, inDegree, level, nextLevel, frontier, mid, to);
+            left.fork();
+            int[] rightNext = right.compute();
+            int[] leftNext = left.join();
+            edgeTraversals = left.edgeTraversals + right.edgeTraversals;
+            
+            int[] next = Arrays.copyOf(leftNext, leftNext.length + rightNext.length);
+            System.arraycopy(rightNext, 0, next, leftNext.length, rightNext.length);
+            return next;
+        }
+    }
+    
     /**
      * Gets the metrics for the last topological sort computation.
-     * @return AlgorithmMetrics object
+     * @return Metrics object
      */
-    public AlgorithmMetrics getMetrics() {
+    public Metrics getMetrics() {
         return metrics;
     }
 }
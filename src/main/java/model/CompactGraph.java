@@ -0,0 +1,116 @@
+package model;
+
+/**
+ * Compressed sparse row (CSR) view of a Graph.
+ * The edges of vertex u occupy positions [offsets[u], offsets[u + 1]) of the flat
+ * targets/weights arrays, so hot loops read primitives instead of Edge objects.
+ * Node weights are kept as a separate per-vertex array (all zero in the edge weight model).
+ */
+public class CompactGraph {
+    private final int n;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final double[] nodeWeights;
+    
+    private CompactGraph(int n, int[] offsets, int[] targets, double[] weights, double[] nodeWeights) {
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.nodeWeights = nodeWeights;
+    }
+    
+    /**
+     * Builds the CSR form of the outgoing edges, keeping each vertex's neighbor order.
+     * @param graph source graph
+     * @return compact graph where targets are edge heads
+     */
+    public static CompactGraph of(Graph graph) {
+        return build(graph, false);
+    }
+    
+    /**
+     * Builds the CSR form of the incoming edges (the reversed graph).
+     * Predecessors of each vertex appear in ascending vertex order.
+     * @param graph source graph
+     * @return compact graph where targets are edge tails
+     */
+    public static CompactGraph reverseOf(Graph graph) {
+        return build(graph, true);
+    }
+    
+    private static CompactGraph build(Graph graph, boolean reversed) {
+        int n = graph.getN();
+        int m = graph.getEdgeCount();
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        
+        for (Edge edge : graph.getAllEdges()) {
+            offsets[(reversed ? edge.getV() : edge.getU()) + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        
+        int[] next = new int[n];
+        System.arraycopy(offsets, 0, next, 0, n);
+        for (int u = 0; u < n; u++) {
+            // Walking adjacency lists (not allEdges) keeps forward neighbor order identical to Graph
+            for (Edge edge : graph.getNeighbors(u)) {
+                int from = reversed ? edge.getV() : u;
+                int slot = next[from]++;
+                targets[slot] = reversed ? u : edge.getV();
+                weights[slot] = edge.getWeight();
+            }
+        }
+        return new CompactGraph(n, offsets, targets, weights, graph.getNodeWeights());
+    }
+    
+    public int getN() {
+        return n;
+    }
+    
+    public int getEdgeCount() {
+        return targets.length;
+    }
+    
+    /**
+     * Gets the number of edges stored for a vertex.
+     * @param u vertex
+     * @return out-degree (in-degree for a reversed view)
+     */
+    public int degree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+    
+    public int[] getOffsets() {
+        return offsets;
+    }
+    
+    public int[] getTargets() {
+        return targets;
+    }
+    
+    public double[] getWeights() {
+        return weights;
+    }
+    
+    /**
+     * Gets the weight of every vertex (the same for the forward and the reversed view).
+     * @return node weights, or null in the edge weight model
+     */
+    public double[] getNodeWeights() {
+        return nodeWeights;
+    }
+    
+    /**
+     * Gets the weight of a vertex.
+     * @param v vertex
+     * @return node weight, or 0 in the edge weight model
+     */
+    public double getNodeWeight(int v) {
+        return nodeWeights != null ? nodeWeights[v] : 0.0;
+    }
+}
@@ -5,11 +5,15 @@ import java.util.List;
 
 /**
  * Represents a directed graph with weighted edges.
+ * In the node weight model every vertex also carries a weight (e.g. a task duration), and the
+ * length of a path is the sum of its edge weights plus the weights of all its vertices.
  */
 public class Graph {
     private final int n;
     private final List<List<Edge>> adjacencyList;
     private final List<Edge> allEdges;
+    private double[] nodeWeights;
+    private volatile long version;
     
     public Graph(int n) {
         this.n = n;
@@ -25,12 +29,16 @@ public class Graph {
         for (GraphData.EdgeData edgeData : data.getEdges()) {
             addEdge(edgeData.getU(), edgeData.getV(), edgeData.getW());
         }
+        if ("node".equals(data.getWeightModel())) {
+            setNodeWeights(data.getDurations() != null ? data.getDurations() : new double[n]);
+        }
     }
     
     public void addEdge(int u, int v, double weight) {
         Edge edge = new Edge(u, v, weight);
         adjacencyList.get(u).add(edge);
         allEdges.add(edge);
+        version++;
     }
     
     public int getN() {
@@ -54,9 +62,62 @@ public class Graph {
         for (Edge edge : allEdges) {
             reversed.addEdge(edge.getV(), edge.getU(), edge.getWeight());
         }
+        if (nodeWeights != null) {
+            reversed.setNodeWeights(nodeWeights);
+        }
         return reversed;
     }
     
+    /**
+     * Switches the graph to the node weight model.
+     * @param weights weight of every vertex (copied, so later changes to the array have no effect)
+     * @throws IllegalArgumentException if there is not exactly one weight per vertex
+     */
+    public void setNodeWeights(double[] weights) {
+        if (weights.length != n) {
+            throw new IllegalArgumentException("Expected " + n + " node weights, got " + weights.length);
+        }
+        nodeWeights = weights.clone();
+        version++;
+    }
+    
+    /**
+     * Checks whether the graph uses the node weight model.
+     * @return true if vertices carry weights
+     */
+    public boolean isNodeWeighted() {
+        return nodeWeights != null;
+    }
+    
+    /**
+     * Gets the weight of a vertex.
+     * @param v vertex
+     * @return node weight, or 0 in the edge weight model
+     */
+    public double getNodeWeight(int v) {
+        return nodeWeights != null ? nodeWeights[v] : 0.0;
+    }
+    
+    /**
+     * Gets the weights of all vertices.
+     * @return node weights (do not modify), or null in the edge weight model
+     */
+    public double[] getNodeWeights() {
+        return nodeWeights;
+    }
+    
+    /**
+     * Gets the modification version of the graph, incremented on every edge insertion
+     * and node weight change.
+     * Caches of derived results compare versions to detect stale entries. The version is volatile,
+     * so another thread sees the change once the modifying call has returned; the graph itself is
+     * not safe to modify while other threads read it.
+     * @return current version
+     */
+    public long getVersion() {
+        return version;
+    }
+    
     /**
      * Gets the number of edges in the graph.
      * @return number of edges
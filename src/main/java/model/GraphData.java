@@ -2,6 +2,10 @@ package model;
 
 import com.google.gson.Gson;
 import com.google.gson.annotations.SerializedName;
+import util.Metrics;
+import util.NoOpMetrics;
+import util.Phase;
+import util.PhaseEvent;
 
 import java.io.FileReader;
 import java.io.IOException;
@@ -27,6 +31,9 @@ public class GraphData {
     @SerializedName("weight_model")
     private String weightModel;
     
+    @SerializedName("durations")
+    private double[] durations;
+    
     public static class EdgeData {
         @SerializedName("u")
         private int u;
@@ -74,11 +81,20 @@ public class GraphData {
         return weightModel != null ? weightModel : "edge";
     }
     
+    /**
+     * Gets the per-vertex durations used by the "node" weight model.
+     * @return durations indexed by vertex, or null if the file has none
+     */
+    public double[] getDurations() {
+        return durations;
+    }
+    
     public void setDirected(boolean directed) { this.directed = directed; }
     public void setN(int n) { this.n = n; }
     public void setEdges(List<EdgeData> edges) { this.edges = edges; }
     public void setSource(Integer source) { this.source = source; }
     public void setWeightModel(String weightModel) { this.weightModel = weightModel; }
+    public void setDurations(double[] durations) { this.durations = durations; }
     
     /**
      * Loads graph data from a JSON file.
@@ -87,9 +103,28 @@ public class GraphData {
      * @throws IOException if file cannot be read
      */
     public static GraphData loadFromFile(String filePath) throws IOException {
+        return loadFromFile(filePath, NoOpMetrics.INSTANCE);
+    }
+    
+    /**
+     * Loads graph data from a JSON file and records the time and allocations of parsing.
+     * @param filePath path to the JSON file
+     * @param metrics receives timing and allocation figures of the load
+     * @return GraphData object parsed from the file
+     * @throws IOException if file cannot be read
+     */
+    public static GraphData loadFromFile(String filePath, Metrics metrics) throws IOException {
+        metrics.reset();
+        metrics.startTiming();
+        PhaseEvent event = PhaseEvent.start(metrics);
         Gson gson = new Gson();
         try (FileReader reader = new FileReader(filePath)) {
-            return gson.fromJson(reader, GraphData.class);
+            GraphData data = gson.fromJson(reader, GraphData.class);
+            metrics.stopTiming();
+            if (data != null) {
+                event.finish(Phase.LOAD, "Gson", data.getN(), data.edges == null ? 0 : data.edges.size(), metrics);
+            }
+            return data;
         }
     }
 }
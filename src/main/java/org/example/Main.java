@@ -7,30 +7,61 @@ import graph.scc.TarjanSCC;
 import graph.topo.TopologicalSort;
 import model.Graph;
 import model.GraphData;
+import util.AlgorithmMetrics;
+import util.Metrics;
+import util.MetricsExporter;
+import util.Phase;
 
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Main class for Smart City / Smart Campus Scheduling assignment.
  * Orchestrates SCC detection, topological sorting, and shortest/longest paths in DAGs.
  */
 public class Main {
+    private static final String USAGE =
+            "Usage: Main [input.json] [--metrics-format=json|csv|prometheus] [--metrics-out=FILE]";
     
     public static void main(String[] args) {
-        // Use default file if no arguments provided (for IDE runs)
-        String inputFile;
-        if (args.length < 1) {
+        // Options: --metrics-format=json|csv|prometheus and --metrics-out=<file>; anything else is the input file
+        String inputFile = null;
+        MetricsExporter.Format metricsFormat = null;
+        String metricsOut = null;
+        for (String arg : args) {
+            if (arg.startsWith("--metrics-format=")) {
+                try {
+                    metricsFormat = MetricsExporter.Format.parse(arg.substring("--metrics-format=".length()));
+                } catch (IllegalArgumentException e) {
+                    System.err.println(e.getMessage());
+                    System.err.println(USAGE);
+                    System.exit(2);
+                    return;
+                }
+            } else if (arg.startsWith("--metrics-out=")) {
+                metricsOut = arg.substring("--metrics-out=".length());
+            } else {
+                inputFile = arg;
+            }
+        }
+        if (metricsOut != null && metricsFormat == null) {
+            metricsFormat = MetricsExporter.Format.JSON;
+        }
+        
+        // Use default file if no input file provided (for IDE runs)
+        if (inputFile == null) {
             inputFile = "data/tasks.json";
             System.out.println("No arguments provided, using default: " + inputFile);
-        } else {
-            inputFile = args[0];
         }
         
         try {
 
             System.out.println("Loading graph from: " + inputFile);
-            GraphData graphData = GraphData.loadFromFile(inputFile);
+            Metrics loadMetrics = new AlgorithmMetrics();
+            GraphData graphData = GraphData.loadFromFile(inputFile, loadMetrics);
             Graph graph = new Graph(graphData);
             
             System.out.println("\n=== Graph Information ===");
@@ -43,7 +74,7 @@ public class Main {
             
             // 1. Find Strongly Connected Components
             System.out.println("\n=== 1. Strongly Connected Components (Tarjan) ===");
-            TarjanSCC tarjan = new TarjanSCC(graph);
+            TarjanSCC tarjan = new TarjanSCC(graph, new AlgorithmMetrics());
             List<List<Integer>> sccs = tarjan.findSCCs();
             
             System.out.println("Number of SCCs: " + sccs.size());
@@ -56,7 +87,7 @@ public class Main {
             // Build condensation graph
             System.out.println("\n=== 2. Condensation Graph ===");
             int[] vertexToSCC = tarjan.getVertexToSCCMapping();
-            CondensationGraph condensation = new CondensationGraph(graph, sccs, vertexToSCC);
+            CondensationGraph condensation = new CondensationGraph(graph, sccs, vertexToSCC, new AlgorithmMetrics());
             Graph condGraph = condensation.build();
             System.out.println("Condensation Graph Vertices: " + condGraph.getN());
             System.out.println("Condensation Graph Edges: " + condGraph.getEdgeCount());
@@ -64,7 +95,7 @@ public class Main {
             
             // 2. Topological Sort
             System.out.println("\n=== 3. Topological Sort (Kahn) ===");
-            TopologicalSort topo = new TopologicalSort(condGraph);
+            TopologicalSort topo = new TopologicalSort(condGraph, new AlgorithmMetrics());
             List<Integer> topoOrder = topo.kahnTopologicalSort();
             
             if (topoOrder != null) {
@@ -89,13 +120,14 @@ public class Main {
             System.out.println("Metrics: " + topo.getMetrics());
             
             // 3. Shortest Paths in DAG
+            Metrics shortestMetrics = null;
             if (graphData.getSource() != null) {
                 System.out.println("\n=== 4. Shortest Paths in DAG ===");
                 // Map source vertex to its component
                 int sourceComp = vertexToSCC[graphData.getSource()];
                 System.out.println("Source Component: " + sourceComp);
                 
-                DAGShortestPath dagSP = new DAGShortestPath(condGraph, sourceComp);
+                DAGShortestPath dagSP = new DAGShortestPath(condGraph, sourceComp, new AlgorithmMetrics());
                 double[] distances = dagSP.getDistances();
                 
                 System.out.println("Shortest Distances from Component " + sourceComp + ":");
@@ -118,11 +150,12 @@ public class Main {
                     }
                 }
                 System.out.println("Metrics: " + dagSP.getMetrics());
+                shortestMetrics = dagSP.getMetrics();
             }
             
             // 4. Longest Path (Critical Path)
             System.out.println("\n=== 5. Longest Path (Critical Path) ===");
-            DAGLongestPath dagLP = new DAGLongestPath(condGraph);
+            DAGLongestPath dagLP = new DAGLongestPath(condGraph, -1, new AlgorithmMetrics());
             double criticalPathLength = dagLP.getLongestPathLength();
             List<Integer> criticalPath = dagLP.getCriticalPath();
             
@@ -147,6 +180,37 @@ public class Main {
             }
             System.out.printf("Critical path length: %.2f%n", criticalPathLength);
             
+            // Machine-readable metrics
+            if (metricsFormat != null) {
+                MetricsExporter exporter = new MetricsExporter()
+                        .addStatistic("vertices", graph.getN())
+                        .addStatistic("edges", graph.getEdgeCount())
+                        .addStatistic("sccs", sccs.size())
+                        .addStatistic("largest_scc", sccs.stream().mapToInt(List::size).max().orElse(0))
+                        .addStatistic("condensation_vertices", condGraph.getN())
+                        .addStatistic("condensation_edges", condGraph.getEdgeCount())
+                        .addStatistic("critical_path_length", criticalPathLength)
+                        .addPhase(Phase.LOAD, loadMetrics)
+                        .addPhase(Phase.SCC, tarjan.getMetrics())
+                        .addPhase(Phase.CONDENSATION, condensation.getMetrics())
+                        .addPhase(Phase.TOPO, topo.getMetrics())
+                        .addPhase(Phase.LONGEST, dagLP.getMetrics());
+                if (shortestMetrics != null) {
+                    exporter.addPhase(Phase.SHORTEST, shortestMetrics);
+                }
+                if (metricsOut != null) {
+                    try {
+                        exporter.writeTo(metricsFormat, Path.of(metricsOut));
+                        System.out.println("Metrics written to: " + metricsOut);
+                    } catch (IOException e) {
+                        System.err.println("Error writing metrics to " + metricsOut + ": " + e.getMessage());
+                    }
+                } else {
+                    System.out.println("\n=== Metrics (" + metricsFormat.name().toLowerCase(Locale.ROOT) + ") ===");
+                    exporter.write(metricsFormat, new PrintWriter(System.out));
+                }
+            }
+            
         } catch (IOException e) {
             System.err.println("Error reading file: " + e.getMessage());
             e.printStackTrace();
@@ -0,0 +1,560 @@
+package org.example;
+
+import graph.dagsp.DAGLongestPath;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.CondensationGraph;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import model.Graph;
+import util.AlgorithmMetrics;
+import util.GraphFamilies;
+import util.GraphFamily;
+import util.MemoryFootprint;
+import util.Metrics;
+import util.Phase;
+import util.StreamingGraphGenerator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Scaling benchmark: runs the whole pipeline (graph generation as LOAD, SCC, condensation,
+ * topological sort, shortest and longest paths) on one graph family at growing sizes, with warmup
+ * runs and repetitions at every size, and reports one row per size and phase: median time, edges
+ * per second, allocated bytes and peak heap.
+ *
+ * From one size to the next every phase gets a growth exponent, log(time ratio) / log(input
+ * ratio) with input = V + E of the graph the phase works on, which is about 1 for a linear phase.
+ * A phase is flagged as super-linear when its exponent exceeds 1, and the exponent of the same
+ * size step in a baseline (an earlier CSV of this benchmark) if there is one, by more than a
+ * tolerance.
+ */
+public class ScalingBenchmark {
+    /**
+     * Column header of the CSV output (and baseline input).
+     */
+    public static final String CSV_HEADER = "family,degree,n,phase,vertices,edges,repetitions,median_ns,min_ns,"
+            + "edges_per_sec,allocated_bytes,peak_heap_bytes,growth_exponent,baseline_exponent,status";
+    
+    /**
+     * Default allowance of the growth exponent over linear (or over the baseline).
+     */
+    public static final double DEFAULT_TOLERANCE = 0.25;
+    
+    /**
+     * Phases faster than this are never flagged: timer resolution and JIT noise dominate them.
+     */
+    static final long MIN_FLAGGED_NANOS = 1_000_000;
+    
+    private final String family;
+    private final int degree;
+    private final int[] sizes;
+    private final int warmup;
+    private final int repetitions;
+    private final long seed;
+    
+    /**
+     * Creates a benchmark.
+     * @param family graph family name, as accepted by {@link GraphFamilies#byName}
+     * @param degree out-degree parameter of the family
+     * @param sizes vertex counts in ascending order
+     * @param warmup untimed pipeline runs before the measured runs at every size
+     * @param repetitions measured pipeline runs at every size
+     * @param seed generator seed (the same graph is generated for every run of a size)
+     * @throws IllegalArgumentException if the sizes are not ascending or the run counts are invalid
+     */
+    public ScalingBenchmark(String family, int degree, int[] sizes, int warmup, int repetitions, long seed) {
+        // Fails early on unknown family names
+        GraphFamilies.byName(family, 1, degree);
+        if (sizes.length == 0 || warmup < 0 || repetitions < 1) {
+            throw new IllegalArgumentException("Need at least one size, warmup >= 0 and repetitions >= 1");
+        }
+        for (int i = 1; i < sizes.length; i++) {
+            if (sizes[i] <= sizes[i - 1]) {
+                throw new IllegalArgumentException("Sizes must be ascending: " + Arrays.toString(sizes));
+            }
+        }
+        this.family = family;
+        this.degree = degree;
+        this.sizes = sizes.clone();
+        this.warmup = warmup;
+        this.repetitions = repetitions;
+        this.seed = seed;
+    }
+    
+    /**
+     * Gets a geometric series of sizes.
+     * @param min first size
+     * @param max largest size (included if the series hits it)
+     * @param factor ratio between consecutive sizes, greater than 1
+     * @return sizes min, min * factor, ... up to max (rounded, without duplicates)
+     */
+    public static int[] geometricSizes(int min, int max, double factor) {
+        if (min < 1 || max < min || factor <= 1) {
+            throw new IllegalArgumentException("Need 1 <= min <= max and factor > 1");
+        }
+        List<Integer> sizes = new ArrayList<>();
+        for (double size = min; Math.round(size) <= max; size *= factor) {
+            int rounded = (int) Math.round(size);
+            if (sizes.isEmpty() || sizes.get(sizes.size() - 1) != rounded) {
+                sizes.add(rounded);
+            }
+        }
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    /**
+     * Runs all sizes. Growth exponents are not filled in; see {@link #assess}.
+     * @param progress receives one line per size and phase, or null
+     * @return one result per size and phase, in size order
+     */
+    public List<Result> run(PrintStream progress) {
+        List<Result> results = new ArrayList<>();
+        for (int n : sizes) {
+            for (int i = 0; i < warmup; i++) {
+                runPipeline(n);
+            }
+            List<Map<Phase, Sample>> runs = new ArrayList<>();
+            for (int i = 0; i < repetitions; i++) {
+                runs.add(runPipeline(n));
+            }
+            
+            for (Phase phase : Phase.values()) {
+                long[] times = new long[repetitions];
+                long[] allocated = new long[repetitions];
+                long peak = 0;
+                for (int i = 0; i < repetitions; i++) {
+                    Sample sample = runs.get(i).get(phase);
+                    times[i] = sample.timeNanos;
+                    allocated[i] = sample.allocatedBytes;
+                    peak = Math.max(peak, sample.peakHeapBytes);
+                }
+                Arrays.sort(times);
+                Arrays.sort(allocated);
+                Sample first = runs.get(0).get(phase);
+                Result result = new Result(family, degree, n, phase, first.vertices, first.edges, repetitions,
+                        times[repetitions / 2], times[0], allocated[repetitions / 2], peak);
+                results.add(result);
+                if (progress != null) {
+                    progress.printf(Locale.ROOT, "n=%-10d %-12s %10.3f ms %8.2f M edges/s  alloc %9s  peak heap %9s%n",
+                            n, phase, result.getMedianNanos() / 1e6, result.getEdgesPerSecond() / 1e6,
+                            MemoryFootprint.format(result.getAllocatedBytes()), MemoryFootprint.format(peak));
+                }
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Fills in the growth exponents and flags super-linear phases.
+     * @param results results of one run, in size order
+     * @param baseline earlier results to compare against (may be empty)
+     * @param tolerance allowance of the exponent over max(1, baseline exponent)
+     * @return number of flagged results
+     */
+    public static int assess(List<Result> results, List<Result> baseline, double tolerance) {
+        Map<String, Result> baselineByKey = new HashMap<>();
+        for (Result result : baseline) {
+            baselineByKey.put(result.key(result.n), result);
+        }
+        
+        Map<String, Result> previous = new HashMap<>();
+        int flagged = 0;
+        for (Result result : results) {
+            Result before = previous.put(result.key(-1), result);
+            if (before == null) {
+                continue;
+            }
+            result.growthExponent = exponent(before, result);
+            Result baseBefore = baselineByKey.get(result.key(before.n));
+            Result baseAfter = baselineByKey.get(result.key(result.n));
+            result.baselineExponent = baseBefore == null || baseAfter == null ? Double.NaN : exponent(baseBefore, baseAfter);
+            
+            double allowed = tolerance + (Double.isNaN(result.baselineExponent) ? 1.0 : Math.max(1.0, result.baselineExponent));
+            result.superLinear = result.medianNanos >= MIN_FLAGGED_NANOS && result.growthExponent > allowed;
+            if (result.superLinear) {
+                flagged++;
+            }
+        }
+        return flagged;
+    }
+    
+    /**
+     * Writes results as CSV.
+     * @param results results to write
+     * @param file output file (created or truncated)
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeCsv(List<Result> results, Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println(CSV_HEADER);
+            for (Result result : results) {
+                out.println(result.toCsv());
+            }
+        }
+    }
+    
+    /**
+     * Reads results written by {@link #writeCsv}, e.g. as a baseline. Columns are matched by name.
+     * @param file CSV file
+     * @return results in file order
+     * @throws IOException if the file cannot be read or lacks a required column
+     */
+    public static List<Result> readCsv(Path file) throws IOException {
+        List<Result> results = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return results;
+            }
+            List<String> columns = Arrays.asList(header.split(","));
+            for (String required : CSV_HEADER.split(",")) {
+                if (!columns.contains(required)) {
+                    throw new IOException("Missing column " + required + " in " + file);
+                }
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] values = line.split(",", -1);
+                Map<String, String> row = new HashMap<>();
+                for (int i = 0; i < columns.size() && i < values.length; i++) {
+                    row.put(columns.get(i), values[i]);
+                }
+                try {
+                    results.add(new Result(row.get("family"), Integer.parseInt(row.get("degree")),
+                            Integer.parseInt(row.get("n")), Phase.valueOf(row.get("phase").toUpperCase(Locale.ROOT)),
+                            Long.parseLong(row.get("vertices")), Long.parseLong(row.get("edges")),
+                            Integer.parseInt(row.get("repetitions")), Long.parseLong(row.get("median_ns")),
+                            Long.parseLong(row.get("min_ns")), Long.parseLong(row.get("allocated_bytes")),
+                            Long.parseLong(row.get("peak_heap_bytes"))));
+                } catch (IllegalArgumentException | NullPointerException e) {
+                    throw new IOException("Malformed row in " + file + ": " + line, e);
+                }
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Runs one pipeline on a freshly generated graph. Every phase starts after a GC with reset
+     * heap peaks, so its peak heap covers its own allocations on top of the data still live.
+     */
+    private Map<Phase, Sample> runPipeline(int n) {
+        Map<Phase, Sample> samples = new EnumMap<>(Phase.class);
+        GraphFamily graphFamily = GraphFamilies.byName(family, n, degree);
+        
+        prepare();
+        Metrics loadMetrics = new AlgorithmMetrics();
+        loadMetrics.startTiming();
+        Graph graph = new StreamingGraphGenerator(graphFamily, seed).toGraph();
+        loadMetrics.stopTiming();
+        samples.put(Phase.LOAD, new Sample(graph, loadMetrics));
+        
+        prepare();
+        TarjanSCC tarjan = new TarjanSCC(graph, new AlgorithmMetrics());
+        List<List<Integer>> sccs = tarjan.findSCCs();
+        samples.put(Phase.SCC, new Sample(graph, tarjan.getMetrics()));
+        
+        prepare();
+        int[] vertexToSCC = tarjan.getVertexToSCCMapping();
+        CondensationGraph condensation = new CondensationGraph(graph, sccs, vertexToSCC, new AlgorithmMetrics());
+        Graph dag = condensation.build();
+        samples.put(Phase.CONDENSATION, new Sample(graph, condensation.getMetrics()));
+        
+        prepare();
+        TopologicalSort topo = new TopologicalSort(dag, new AlgorithmMetrics());
+        topo.kahnTopologicalSort();
+        samples.put(Phase.TOPO, new Sample(dag, topo.getMetrics()));
+        
+        prepare();
+        DAGShortestPath shortest = new DAGShortestPath(dag, vertexToSCC[0], new AlgorithmMetrics());
+        shortest.computeShortestPaths();
+        samples.put(Phase.SHORTEST, new Sample(dag, shortest.getMetrics()));
+        
+        prepare();
+        DAGLongestPath longest = new DAGLongestPath(dag, -1, new AlgorithmMetrics());
+        longest.computeLongestPath();
+        samples.put(Phase.LONGEST, new Sample(dag, longest.getMetrics()));
+        return samples;
+    }
+    
+    private static void prepare() {
+        System.gc();
+        MemoryFootprint.resetPeakHeap();
+    }
+    
+    private static double exponent(Result before, Result after) {
+        double inputRatio = (double) (after.vertices + after.edges) / (before.vertices + before.edges);
+        if (inputRatio <= 1 || before.medianNanos <= 0 || after.medianNanos <= 0) {
+            return Double.NaN;
+        }
+        return Math.log((double) after.medianNanos / before.medianNanos) / Math.log(inputRatio);
+    }
+    
+    /**
+     * Measurements of one phase in one pipeline run.
+     */
+    private static final class Sample {
+        private final long vertices;
+        private final long edges;
+        private final long timeNanos;
+        private final long allocatedBytes;
+        private final long peakHeapBytes;
+        
+        Sample(Graph input, Metrics metrics) {
+            this.vertices = input.getN();
+            this.edges = input.getEdgeCount();
+            this.timeNanos = metrics.getTimeNanos();
+            this.allocatedBytes = metrics.getAllocatedBytes();
+            this.peakHeapBytes = MemoryFootprint.peakHeapBytes();
+        }
+    }
+    
+    /**
+     * Summary of one phase at one size: median over the repetitions, except the peak heap (maximum).
+     */
+    public static final class Result {
+        private final String family;
+        private final int degree;
+        private final int n;
+        private final Phase phase;
+        private final long vertices;
+        private final long edges;
+        private final int repetitions;
+        private final long medianNanos;
+        private final long minNanos;
+        private final long allocatedBytes;
+        private final long peakHeapBytes;
+        private double growthExponent = Double.NaN;
+        private double baselineExponent = Double.NaN;
+        private boolean superLinear;
+        
+        Result(String family, int degree, int n, Phase phase, long vertices, long edges, int repetitions,
+               long medianNanos, long minNanos, long allocatedBytes, long peakHeapBytes) {
+            this.family = family;
+            this.degree = degree;
+            this.n = n;
+            this.phase = phase;
+            this.vertices = vertices;
+            this.edges = edges;
+            this.repetitions = repetitions;
+            this.medianNanos = medianNanos;
+            this.minNanos = minNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.peakHeapBytes = peakHeapBytes;
+        }
+        
+        public int getN() {
+            return n;
+        }
+        
+        public Phase getPhase() {
+            return phase;
+        }
+        
+        public long getEdges() {
+            return edges;
+        }
+        
+        public long getMedianNanos() {
+            return medianNanos;
+        }
+        
+        /**
+         * Gets the throughput in edges of the phase input per second (at the median time).
+         * @return edges per second, or 0 if the phase took no measurable time
+         */
+        public double getEdgesPerSecond() {
+            return medianNanos <= 0 ? 0.0 : edges * 1e9 / medianNanos;
+        }
+        
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+        
+        public long getPeakHeapBytes() {
+            return peakHeapBytes;
+        }
+        
+        /**
+         * Gets the growth exponent from the previous size.
+         * @return exponent, or NaN for the first size or if the input did not grow
+         */
+        public double getGrowthExponent() {
+            return growthExponent;
+        }
+        
+        public boolean isSuperLinear() {
+            return superLinear;
+        }
+        
+        /**
+         * Key of this phase at a size; a negative size gives the key of the whole series.
+         */
+        private String key(int size) {
+            return family + "/" + degree + "/" + phase + (size < 0 ? "" : "/" + size);
+        }
+        
+        private String toCsv() {
+            String status = Double.isNaN(growthExponent) ? "" : superLinear ? "superlinear" : "ok";
+            return String.join(",", family, String.valueOf(degree), String.valueOf(n),
+                    phase.name().toLowerCase(Locale.ROOT), String.valueOf(vertices), String.valueOf(edges),
+                    String.valueOf(repetitions), String.valueOf(medianNanos), String.valueOf(minNanos),
+                    String.format(Locale.ROOT, "%.0f", getEdgesPerSecond()), String.valueOf(allocatedBytes),
+                    String.valueOf(peakHeapBytes), formatExponent(growthExponent), formatExponent(baselineExponent),
+                    status);
+        }
+        
+        private static String formatExponent(double exponent) {
+            return Double.isNaN(exponent) ? "" : String.format(Locale.ROOT, "%.3f", exponent);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s n=%d %s: %.3f ms, growth exponent %s%s", family, n, phase,
+                    medianNanos / 1e6, formatExponent(growthExponent), superLinear ? " (super-linear)" : "");
+        }
+    }
+    
+    /**
+     * Command line: [--family=NAME] [--degree=D] [--min=N] [--max=N] [--factor=F] [--warmup=W]
+     * [--repetitions=R] [--seed=S] [--out=FILE.csv] [--baseline=FILE.csv] [--tolerance=T]
+     * [--stack-mb=MB]. Exits with status 1 if any phase grows super-linearly and with status 2 on
+     * invalid arguments or if the benchmark fails (including StackOverflowError and OutOfMemoryError).
+     * Tarjan's algorithm is recursive, so the benchmark runs on a thread with a large stack;
+     * graphs of 10^7 vertices also need a heap of several GB (-Xmx).
+     */
+    public static void main(String[] args) {
+        int status = execute(args);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+    
+    /**
+     * Runs the command line without exiting the JVM.
+     * @param args command line arguments
+     * @return exit status: 0 on success, 1 if a phase was flagged, 2 on usage errors and failures
+     */
+    static int execute(String[] args) {
+        String familyName = "multi-scc";
+        int degree = 8;
+        int min = 1_000;
+        int max = 1_000_000;
+        double factor = 10;
+        int warmup = 2;
+        int repetitions = 5;
+        long seed = 42;
+        String out = "scaling.csv";
+        String baselineFile = null;
+        double tolerance = DEFAULT_TOLERANCE;
+        long stackMb = 2048;
+        ScalingBenchmark benchmark;
+        try {
+            for (String arg : args) {
+                String value = arg.substring(arg.indexOf('=') + 1);
+                if (arg.startsWith("--family=")) {
+                    familyName = value;
+                } else if (arg.startsWith("--degree=")) {
+                    degree = Integer.parseInt(value);
+                } else if (arg.startsWith("--min=")) {
+                    min = Integer.parseInt(value);
+                } else if (arg.startsWith("--max=")) {
+                    max = Integer.parseInt(value);
+                } else if (arg.startsWith("--factor=")) {
+                    factor = Double.parseDouble(value);
+                } else if (arg.startsWith("--warmup=")) {
+                    warmup = Integer.parseInt(value);
+                } else if (arg.startsWith("--repetitions=")) {
+                    repetitions = Integer.parseInt(value);
+                } else if (arg.startsWith("--seed=")) {
+                    seed = Long.parseLong(value);
+                } else if (arg.startsWith("--out=")) {
+                    out = value;
+                } else if (arg.startsWith("--baseline=")) {
+                    baselineFile = value;
+                } else if (arg.startsWith("--tolerance=")) {
+                    tolerance = Double.parseDouble(value);
+                } else if (arg.startsWith("--stack-mb=")) {
+                    stackMb = Long.parseLong(value);
+                } else {
+                    throw new IllegalArgumentException("Unknown argument: " + arg);
+                }
+            }
+            if (stackMb < 1) {
+                throw new IllegalArgumentException("--stack-mb must be positive");
+            }
+            // NumberFormatException is an IllegalArgumentException, so bad numbers land here too
+            benchmark = new ScalingBenchmark(familyName, degree, geometricSizes(min, max, factor),
+                    warmup, repetitions, seed);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: [--family=NAME] [--degree=D] [--min=N] [--max=N] [--factor=F] [--warmup=W]"
+                    + " [--repetitions=R] [--seed=S] [--out=FILE.csv] [--baseline=FILE.csv] [--tolerance=T] [--stack-mb=MB]");
+            return 2;
+        }
+        
+        List<Result> baseline;
+        try {
+            baseline = baselineFile == null ? List.of() : readCsv(Path.of(baselineFile));
+        } catch (IOException e) {
+            System.err.println("Error reading baseline: " + e.getMessage());
+            return 2;
+        }
+        
+        String output = out;
+        double allowance = tolerance;
+        AtomicInteger flagged = new AtomicInteger();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread worker = new Thread(null, () -> {
+            List<Result> results = benchmark.run(System.out);
+            flagged.set(assess(results, baseline, allowance));
+            try {
+                writeCsv(results, Path.of(output));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            System.out.println("Results written to: " + output);
+            for (Result result : results) {
+                if (result.isSuperLinear()) {
+                    System.out.println("Super-linear growth: " + result);
+                }
+            }
+        }, "scaling-benchmark", stackMb << 20);
+        // Catches everything the worker throws, errors such as StackOverflowError included
+        worker.setUncaughtExceptionHandler((thread, e) -> failure.set(e));
+        worker.start();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            worker.interrupt();
+            System.err.println("Interrupted");
+            return 2;
+        }
+        
+        Throwable error = failure.get();
+        if (error != null) {
+            System.err.println("Benchmark failed: " + error);
+            return 2;
+        }
+        return flagged.get() > 0 ? 1 : 0;
+    }
+}
@@ -11,35 +11,63 @@ public class AlgorithmMetrics implements Metrics {
     private long edgeTraversals;
     private long queueOperations; // pushes and pops
     private long relaxations;
+    private long allocationStart;
+    private long allocatedBytes;
+    private boolean forked;
+    private long retainedBytes;
     
     public AlgorithmMetrics() {
         reset();
     }
     
+    @Override
     public void startTiming() {
+        forked = false;
+        allocationStart = MemoryFootprint.currentThreadAllocatedBytes();
         startTime = System.nanoTime();
     }
     
+    @Override
     public void stopTiming() {
         endTime = System.nanoTime();
+        allocatedBytes = allocationStart < 0 || forked ? -1 : MemoryFootprint.currentThreadAllocatedBytes() - allocationStart;
     }
     
+    @Override
     public void incrementDfsVisits() {
         dfsVisits++;
     }
     
+    @Override
     public void incrementEdgeTraversals() {
         edgeTraversals++;
     }
     
+    @Override
     public void incrementQueueOperations() {
         queueOperations++;
     }
     
+    @Override
     public void incrementRelaxations() {
         relaxations++;
     }
     
+    @Override
+    public void addEdgeTraversals(long count) {
+        edgeTraversals += count;
+    }
+    
+    @Override
+    public void addQueueOperations(long count) {
+        queueOperations += count;
+    }
+    
+    @Override
+    public void addRelaxations(long count) {
+        relaxations += count;
+    }
+    
     @Override
     public long getTimeNanos() {
         return endTime - startTime;
@@ -58,28 +86,55 @@ public class AlgorithmMetrics implements Metrics {
         edgeTraversals = 0;
         queueOperations = 0;
         relaxations = 0;
+        allocationStart = 0;
+        allocatedBytes = 0;
+        forked = false;
+        retainedBytes = 0;
     }
     
+    @Override
     public long getDfsVisits() {
         return dfsVisits;
     }
     
+    @Override
     public long getEdgeTraversals() {
         return edgeTraversals;
     }
     
+    @Override
     public long getQueueOperations() {
         return queueOperations;
     }
     
+    @Override
     public long getRelaxations() {
         return relaxations;
     }
     
+    @Override
+    public void markForked() {
+        forked = true;
+    }
+    
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+    
+    @Override
+    public void setRetainedBytes(long bytes) {
+        retainedBytes = bytes;
+    }
+    
+    @Override
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+    
     @Override
     public String toString() {
-        return String.format("Time: %.3f ms | DFS Visits: %d | Edge Traversals: %d | Queue Ops: %d | Relaxations: %d",
-                getTimeMillis(), dfsVisits, edgeTraversals, queueOperations, relaxations);
+        return Metrics.format(this);
     }
 }
 
@@ -0,0 +1,108 @@
+package util;
+
+import model.Graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compact binary graph format written by {@link StreamingGraphGenerator}. Little-endian:
+ * a 16-byte header (int magic "GRF1", int n, long m) followed by m edges of 16 bytes each
+ * (int u, int v, double weight). Unlike JSON it can be read at disk speed without parsing.
+ */
+public final class BinaryGraphFile {
+    public static final int MAGIC = 0x31465247; // "GRF1" in little-endian byte order
+    public static final int HEADER_BYTES = 16;
+    public static final int EDGE_BYTES = 16;
+    
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+    
+    private BinaryGraphFile() {
+    }
+    
+    /**
+     * Encodes a header.
+     * @param n number of vertices
+     * @param m number of edges
+     * @return buffer positioned at 0, ready to be written
+     */
+    static ByteBuffer header(int n, long m) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(n).putLong(m).flip();
+        return header;
+    }
+    
+    /**
+     * Reads the vertex count from the header.
+     * @param file binary graph file
+     * @return number of vertices
+     * @throws IOException if the file cannot be read or is not a binary graph file
+     */
+    public static int readVertexCount(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return readHeader(channel, file).getInt(4);
+        }
+    }
+    
+    /**
+     * Streams all edges of a file to a sink without materializing them.
+     * @param file binary graph file
+     * @param sink receiver of the edges, in file order
+     * @return number of edges
+     * @throws IOException if the file cannot be read, is not a binary graph file or is truncated
+     */
+    public static long forEachEdge(Path file, EdgeSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long m = readHeader(channel, file).getLong(8);
+            if (channel.size() != HEADER_BYTES + m * EDGE_BYTES) {
+                throw new IOException("Truncated binary graph file: " + file);
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            long remaining = m;
+            while (remaining > 0) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), remaining * EDGE_BYTES));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        throw new IOException("Truncated binary graph file: " + file);
+                    }
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    sink.accept(buffer.getInt(), buffer.getInt(), buffer.getDouble());
+                    remaining--;
+                }
+            }
+            return m;
+        }
+    }
+    
+    /**
+     * Loads a binary graph file into a Graph.
+     * @param file binary graph file
+     * @return graph
+     * @throws IOException if the file cannot be read or is not a binary graph file
+     */
+    public static Graph readGraph(Path file) throws IOException {
+        Graph graph = new Graph(readVertexCount(file));
+        forEachEdge(file, graph::addEdge);
+        return graph;
+    }
+    
+    private static ByteBuffer readHeader(FileChannel channel, Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header) < 0) {
+                throw new IOException("Not a binary graph file: " + file);
+            }
+        }
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary graph file: " + file);
+        }
+        return header;
+    }
+}
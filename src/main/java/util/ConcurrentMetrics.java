@@ -0,0 +1,144 @@
+package util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe implementation of the Metrics interface for algorithms whose operations run on
+ * several threads (e.g. ForkJoin workers). Every counter is a {@link LongAdder}: concurrent
+ * increments go to striped cells instead of one contended field, and reads sum the cells.
+ * Counts stay exact under any interleaving; a read taken while workers are still running
+ * is a consistent lower bound rather than a snapshot. Allocated bytes are those of the thread
+ * that calls start/stop, and -1 once the section is marked as forked.
+ */
+public class ConcurrentMetrics implements Metrics {
+    private final LongAdder dfsVisits = new LongAdder();
+    private final LongAdder edgeTraversals = new LongAdder();
+    private final LongAdder queueOperations = new LongAdder();
+    private final LongAdder relaxations = new LongAdder();
+    private volatile long startTime;
+    private volatile long endTime;
+    private volatile long allocationStart;
+    private volatile long allocatedBytes;
+    private volatile boolean forked;
+    private volatile long retainedBytes;
+    
+    @Override
+    public void startTiming() {
+        forked = false;
+        allocationStart = MemoryFootprint.currentThreadAllocatedBytes();
+        startTime = System.nanoTime();
+    }
+    
+    @Override
+    public void stopTiming() {
+        endTime = System.nanoTime();
+        allocatedBytes = allocationStart < 0 || forked ? -1 : MemoryFootprint.currentThreadAllocatedBytes() - allocationStart;
+    }
+    
+    @Override
+    public void incrementDfsVisits() {
+        dfsVisits.increment();
+    }
+    
+    @Override
+    public void incrementEdgeTraversals() {
+        edgeTraversals.increment();
+    }
+    
+    @Override
+    public void incrementQueueOperations() {
+        queueOperations.increment();
+    }
+    
+    @Override
+    public void incrementRelaxations() {
+        relaxations.increment();
+    }
+    
+    @Override
+    public void addEdgeTraversals(long count) {
+        edgeTraversals.add(count);
+    }
+    
+    @Override
+    public void addQueueOperations(long count) {
+        queueOperations.add(count);
+    }
+    
+    @Override
+    public void addRelaxations(long count) {
+        relaxations.add(count);
+    }
+    
+    @Override
+    public long getDfsVisits() {
+        return dfsVisits.sum();
+    }
+    
+    @Override
+    public long getEdgeTraversals() {
+        return edgeTraversals.sum();
+    }
+    
+    @Override
+    public long getQueueOperations() {
+        return queueOperations.sum();
+    }
+    
+    @Override
+    public long getRelaxations() {
+        return relaxations.sum();
+    }
+    
+    @Override
+    public long getTimeNanos() {
+        return endTime - startTime;
+    }
+    
+    @Override
+    public double getTimeMillis() {
+        return getTimeNanos() / 1_000_000.0;
+    }
+    
+    @Override
+    public void markForked() {
+        forked = true;
+    }
+    
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+    
+    @Override
+    public void setRetainedBytes(long bytes) {
+        retainedBytes = bytes;
+    }
+    
+    @Override
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+    
+    /**
+     * Resets all counters and timing. Only exact when no other thread is updating the counters.
+     */
+    @Override
+    public void reset() {
+        startTime = 0;
+        endTime = 0;
+        allocationStart = 0;
+        allocatedBytes = 0;
+        forked = false;
+        retainedBytes = 0;
+        dfsVisits.reset();
+        edgeTraversals.reset();
+        queueOperations.reset();
+        relaxations.reset();
+    }
+    
+    @Override
+    public String toString() {
+        return Metrics.format(this);
+    }
+}
@@ -0,0 +1,15 @@
+package util;
+
+/**
+ * Receiver of generated or loaded edges, so large graphs can be streamed without an edge list.
+ */
+@FunctionalInterface
+public interface EdgeSink {
+    /**
+     * Accepts one directed edge.
+     * @param u tail vertex
+     * @param v head vertex
+     * @param weight edge weight
+     */
+    void accept(int u, int v, double weight);
+}
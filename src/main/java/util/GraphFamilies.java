@@ -0,0 +1,496 @@
+package util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Streaming versions of the graph shapes of {@link GraphGenerator} for use with
+ * {@link StreamingGraphGenerator}. Partitions are contiguous vertex ranges and every vertex draws
+ * its out-edges independently, so no global edge set is needed: targets of one vertex are drawn
+ * as a sorted sample without replacement, which makes every (u, v) unique by construction.
+ * Weights are uniform in [1, 11), as in GraphGenerator.
+ */
+public final class GraphFamilies {
+    /**
+     * Vertices per SCC in the multi-SCC family (GraphGenerator creates n / 4 SCCs).
+     */
+    static final int SCC_SIZE = 4;
+    
+    /**
+     * R-MAT quadrant probabilities (the Graph500 values); the fourth quadrant gets 1 - A - B - C.
+     */
+    static final double RMAT_A = 0.57;
+    static final double RMAT_B = 0.19;
+    static final double RMAT_C = 0.19;
+    
+    private GraphFamilies() {
+    }
+    
+    /**
+     * DAG: a chain 0 -> 1 -> ... -> n-1 plus forward edges to random later vertices.
+     * @param n number of vertices
+     * @param degree out-degree per vertex (the chain edge included), smaller near the end
+     * @return graph family
+     */
+    public static GraphFamily dag(int n, int degree) {
+        return new PerVertexFamily(n, degree) {
+            @Override
+            void emit(int u, SplittableRandom random, int[] sample, EdgeSink sink) {
+                if (u + 1 < n) {
+                    sink.accept(u, u + 1, weight(random));
+                }
+                // Forward targets in [u + 2, n) never collide with the chain edge
+                int count = sampleDistinct(random, n - u - 2, degree - 1, sample);
+                for (int i = 0; i < count; i++) {
+                    sink.accept(u, u + 2 + sample[i], weight(random));
+                }
+            }
+        };
+    }
+    
+    /**
+     * Cyclic: a ring 0 -> 1 -> ... -> n-1 -> 0 (one SCC) plus edges to random other vertices.
+     * @param n number of vertices
+     * @param degree out-degree per vertex (the ring edge included)
+     * @return graph family
+     */
+    public static GraphFamily cyclic(int n, int degree) {
+        return new PerVertexFamily(n, degree) {
+            @Override
+            void emit(int u, SplittableRandom random, int[] sample, EdgeSink sink) {
+                if (n < 2) {
+                    return;
+                }
+                int next = (u + 1) % n;
+                sink.accept(u, next, weight(random));
+                // Sample from the n - 2 vertices other than u and next, then skip those two
+                int low = Math.min(u, next);
+                int high = Math.max(u, next);
+                int count = sampleDistinct(random, n - 2, degree - 1, sample);
+                for (int i = 0; i < count; i++) {
+                    int v = sample[i];
+                    if (v >= low) {
+                        v++;
+                    }
+                    if (v >= high) {
+                        v++;
+                    }
+                    sink.accept(u, v, weight(random));
+                }
+            }
+        };
+    }
+    
+    /**
+     * Multiple SCCs: consecutive blocks of {@value #SCC_SIZE} vertices (the last block takes the
+     * remainder), each a ring plus random inner edges, and one edge from every block to the next.
+     * @param n number of vertices
+     * @param degree out-degree per vertex inside its block (the ring edge included)
+     * @return graph family
+     */
+    public static GraphFamily multiSCC(int n, int degree) {
+        int blocks = Math.max(1, n / SCC_SIZE);
+        return new PerVertexFamily(n, degree) {
+            @Override
+            void emit(int u, SplittableRandom random, int[] sample, EdgeSink sink) {
+                int block = Math.min(u / SCC_SIZE, blocks - 1);
+                int start = block * SCC_SIZE;
+                int end = block == blocks - 1 ? n : start + SCC_SIZE;
+                int size = end - start;
+                if (size > 1) {
+                    int next = u + 1 == end ? start : u + 1;
+                    sink.accept(u, next, weight(random));
+                    int low = Math.min(u, next) - start;
+                    int high = Math.max(u, next) - start;
+                    int count = sampleDistinct(random, size - 2, degree - 1, sample);
+                    for (int i = 0; i < count; i++) {
+                        int v = sample[i];
+                        if (v >= low) {
+                            v++;
+                        }
+                        if (v >= high) {
+                            v++;
+                        }
+                        sink.accept(u, start + v, weight(random));
+                    }
+                }
+                if (u == start && block < blocks - 1) {
+                    int nextStart = end;
+                    int nextEnd = block + 1 == blocks - 1 ? n : nextStart + SCC_SIZE;
+                    sink.accept(u, nextStart + random.nextInt(nextEnd - nextStart), weight(random));
+                }
+            }
+        };
+    }
+    
+    /**
+     * Power-law graph with the R-MAT edge distribution: each edge picks one of four adjacency
+     * matrix quadrants per bit level with probabilities {@link #RMAT_A}, {@link #RMAT_B},
+     * {@link #RMAT_C} and the rest. The quadrant choices are independent per level, so the tail of
+     * an edge and, given the tail, every bit of its head can be drawn separately; that lets each
+     * vertex draw its out-edges on its own like the other families. A vertex gets its expected share
+     * of n * degree edges (rounded up or down at random), duplicates and self-loops are dropped, so
+     * the edge count ends up somewhat below n * degree. Hubs are the low-numbered vertices.
+     * @param n number of vertices
+     * @param degree average out-degree before duplicates are dropped
+     * @return graph family
+     */
+    public static GraphFamily rmat(int n, int degree) {
+        return new RMatFamily(n, degree);
+    }
+    
+    /**
+     * Layered DAG: the vertices are split into layers of (nearly) equal width and every vertex has
+     * edges to random vertices of the next layer only. Every vertex outside the last layer has an
+     * out-edge, so the longest path has exactly layers - 1 edges; width controls how many vertices
+     * are ready at once in Kahn's algorithm.
+     * @param n number of vertices
+     * @param layers number of layers (depth), between 1 and n
+     * @param degree out-degree per vertex, capped by the width of the next layer
+     * @return graph family
+     */
+    public static GraphFamily layeredDAG(int n, int layers, int degree) {
+        if (layers < 1 || layers > n) {
+            throw new IllegalArgumentException("Need 1 <= layers <= n, got layers=" + layers + ", n=" + n);
+        }
+        return new PerVertexFamily(n, degree) {
+            @Override
+            void emit(int u, SplittableRandom random, int[] sample, EdgeSink sink) {
+                int layer = layerOf(u, layers, n);
+                if (layer == layers - 1) {
+                    return;
+                }
+                int nextStart = rangeStart(layer + 1, layers, n);
+                int count = sampleDistinct(random, rangeStart(layer + 2, layers, n) - nextStart, degree, sample);
+                for (int i = 0; i < count; i++) {
+                    sink.accept(u, nextStart + sample[i], weight(random));
+                }
+            }
+        };
+    }
+    
+    /**
+     * Deep chain: a chain 0 -> 1 -> ... -> n-1 plus short skip edges to vertices at most
+     * 2 * degree ahead. The topological order is unique, recursive DFS goes n levels deep and
+     * Kahn's queue never holds more than one vertex.
+     * @param n number of vertices
+     * @param degree out-degree per vertex (the chain edge included), smaller near the end
+     * @return graph family
+     */
+    public static GraphFamily deepChain(int n, int degree) {
+        return new PerVertexFamily(n, degree) {
+            @Override
+            void emit(int u, SplittableRandom random, int[] sample, EdgeSink sink) {
+                if (u + 1 < n) {
+                    sink.accept(u, u + 1, weight(random));
+                }
+                int range = Math.min(n - u - 2, 2 * degree);
+                int count = sampleDistinct(random, range, degree - 1, sample);
+                for (int i = 0; i < count; i++) {
+                    sink.accept(u, u + 2 + sample[i], weight(random));
+                }
+            }
+        };
+    }
+    
+    /**
+     * Bow-tie: a giant SCC of about n / 2 vertices (a ring plus random inner edges), an IN part of
+     * n / 4 vertices that reaches it and an OUT part of n / 4 vertices reachable from it. IN and OUT
+     * are DAGs (a chain plus random forward edges), so there are n / 2 + 1 SCCs, one of them huge.
+     * Core vertices also link into OUT, so the core's out-edges fan out over the tail.
+     * @param n number of vertices
+     * @param degree out-degree per vertex (chain or ring edge included)
+     * @return graph family
+     */
+    public static GraphFamily bowTie(int n, int degree) {
+        int coreStart = n / 4;
+        int outStart = n - n / 4;
+        int core = outStart - coreStart;
+        return new PerVertexFamily(n, degree) {
+            @Override
+            void emit(int u, SplittableRandom random, int[] sample, EdgeSink sink) {
+                if (u < coreStart || u >= outStart) {
+                    // IN leads forward into the core, OUT forward to its end
+                    int end = u < coreStart ? outStart : n;
+                    if (u + 1 < end) {
+                        sink.accept(u, u + 1, weight(random));
+                    }
+                    int count = sampleDistinct(random, end - u - 2, degree - 1, sample);
+                    for (int i = 0; i < count; i++) {
+                        sink.accept(u, u + 2 + sample[i], weight(random));
+                    }
+                    return;
+                }
+                if (core < 2) {
+                    return;
+                }
+                int next = u + 1 == outStart ? coreStart : u + 1;
+                sink.accept(u, next, weight(random));
+                if (u + 1 == outStart && outStart < n) {
+                    sink.accept(u, outStart, weight(random));
+                }
+                // Sample over the other core vertices followed by OUT without its first vertex
+                int low = Math.min(u, next) - coreStart;
+                int high = Math.max(u, next) - coreStart;
+                int outTargets = Math.max(0, n - outStart - 1);
+                int count = sampleDistinct(random, core - 2 + outTargets, degree - 1, sample);
+                for (int i = 0; i < count; i++) {
+                    int v = sample[i];
+                    if (v >= core - 2) {
+                        sink.accept(u, outStart + 1 + v - (core - 2), weight(random));
+                        continue;
+                    }
+                    if (v >= low) {
+                        v++;
+                    }
+                    if (v >= high) {
+                        v++;
+                    }
+                    sink.accept(u, coreStart + v, weight(random));
+                }
+            }
+        };
+    }
+    
+    /**
+     * Many tiny SCCs: vertices 2k and 2k+1 form a two-vertex cycle, and every vertex has edges to
+     * random vertices of later pairs. That gives (n + 1) / 2 SCCs joined by a random DAG with many
+     * parallel edges between the same pair of components, the worst case for condensation.
+     * @param n number of vertices
+     * @param degree out-degree per vertex (the edge to its partner included)
+     * @return graph family
+     */
+    public static GraphFamily tinySCCs(int n, int degree) {
+        return new PerVertexFamily(n, degree) {
+            @Override
+            void emit(int u, SplittableRandom random, int[] sample, EdgeSink sink) {
+                int partner = u ^ 1;
+                if (partner < n) {
+                    sink.accept(u, partner, weight(random));
+                }
+                int pairEnd = Math.min(n, (u | 1) + 1);
+                int count = sampleDistinct(random, n - pairEnd, degree - 1, sample);
+                for (int i = 0; i < count; i++) {
+                    sink.accept(u, pairEnd + sample[i], weight(random));
+                }
+            }
+        };
+    }
+    
+    /**
+     * Looks a family up by name, for command lines.
+     * @param name "dag", "cyclic", "multi-scc", "rmat", "layered" (about sqrt(n) layers),
+     *             "deep-chain", "bow-tie" or "tiny-sccs"
+     * @param n number of vertices
+     * @param degree out-degree parameter of the family
+     * @return graph family
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static GraphFamily byName(String name, int n, int degree) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "dag" -> dag(n, degree);
+            case "cyclic" -> cyclic(n, degree);
+            case "multi-scc" -> multiSCC(n, degree);
+            case "rmat" -> rmat(n, degree);
+            case "layered" -> layeredDAG(n, Math.max(1, (int) Math.round(Math.sqrt(n))), degree);
+            case "deep-chain" -> deepChain(n, degree);
+            case "bow-tie" -> bowTie(n, degree);
+            case "tiny-sccs" -> tinySCCs(n, degree);
+            default -> throw new IllegalArgumentException("Unknown graph family: " + name);
+        };
+    }
+    
+    /**
+     * First vertex of a partition when n vertices are split into equal contiguous ranges.
+     */
+    static int rangeStart(int partition, int partitions, int n) {
+        return (int) ((long) n * partition / partitions);
+    }
+    
+    /**
+     * Inverse of {@link #rangeStart}: the range that contains vertex u.
+     */
+    static int layerOf(int u, int ranges, int n) {
+        return (int) (((long) (u + 1) * ranges - 1) / n);
+    }
+    
+    static double weight(SplittableRandom random) {
+        return random.nextDouble() * 10 + 1;
+    }
+    
+    /**
+     * Draws min(k, range) distinct values from [0, range) into out[0 ..], in ascending order.
+     * Dense requests use selection sampling (one pass over the range); sparse ones draw, sort,
+     * deduplicate and top up until enough distinct values remain.
+     * @return number of values drawn
+     */
+    static int sampleDistinct(SplittableRandom random, int range, int k, int[] out) {
+        k = Math.min(k, range);
+        if (k <= 0) {
+            return 0;
+        }
+        if (2L * k >= range) {
+            int chosen = 0;
+            for (int x = 0; chosen < k; x++) {
+                if (random.nextInt(range - x) < k - chosen) {
+                    out[chosen++] = x;
+                }
+            }
+            return k;
+        }
+        int count = 0;
+        while (count < k) {
+            for (int i = count; i < k; i++) {
+                out[i] = random.nextInt(range);
+            }
+            Arrays.sort(out, 0, k);
+            count = 1;
+            for (int i = 1; i < k; i++) {
+                if (out[i] != out[count - 1]) {
+                    out[count++] = out[i];
+                }
+            }
+        }
+        return k;
+    }
+    
+    /**
+     * Family whose partitions are contiguous vertex ranges and whose edges are emitted per tail vertex.
+     */
+    abstract static class PerVertexFamily implements GraphFamily {
+        final int n;
+        final int degree;
+        
+        PerVertexFamily(int n, int degree) {
+            if (n < 1 || degree < 1) {
+                throw new IllegalArgumentException("Need n >= 1 and degree >= 1, got n=" + n + ", degree=" + degree);
+            }
+            this.n = n;
+            this.degree = degree;
+        }
+        
+        @Override
+        public int getVertexCount() {
+            return n;
+        }
+        
+        @Override
+        public void generatePartition(int partition, int partitions, SplittableRandom random, EdgeSink sink) {
+            int[] sample = new int[degree];
+            int end = rangeStart(partition + 1, partitions, n);
+            for (int u = rangeStart(partition, partitions, n); u < end; u++) {
+                emit(u, random, sample, sink);
+            }
+        }
+        
+        /**
+         * Emits all out-edges of u.
+         */
+        abstract void emit(int u, SplittableRandom random, int[] sample, EdgeSink sink);
+    }
+    
+    /**
+     * R-MAT family; see {@link #rmat(int, int)}.
+     */
+    private static final class RMatFamily implements GraphFamily {
+        private static final double TAIL_ZERO = RMAT_A + RMAT_B;
+        // Head bit probabilities as 16-bit thresholds, so one nextLong() decides four bits
+        private static final int HEAD_ZERO_IF_TAIL_ZERO = (int) Math.round(RMAT_A / (RMAT_A + RMAT_B) * 0x10000);
+        private static final int HEAD_ZERO_IF_TAIL_ONE = (int) Math.round(RMAT_C / (1 - RMAT_A - RMAT_B) * 0x10000);
+        
+        private final int n;
+        private final int degree;
+        private final int scale;
+        private final double[] expectedByOnes;
+        
+        RMatFamily(int n, int degree) {
+            if (n < 1 || degree < 1) {
+                throw new IllegalArgumentException("Need n >= 1 and degree >= 1, got n=" + n + ", degree=" + degree);
+            }
+            this.n = n;
+            this.degree = degree;
+            this.scale = Math.max(1, 32 - Integer.numberOfLeadingZeros(n - 1));
+            
+            // Probability that an edge of the full 2^scale matrix has its tail below n: for every
+            // 1 bit of n, the tails that match n above it and have a 0 there
+            double mass = 0;
+            double prefix = 1;
+            if (n == 1L << scale) {
+                mass = 1;
+            } else {
+                for (int bit = scale - 1; bit >= 0; bit--) {
+                    if ((n >>> bit & 1) == 1) {
+                        mass += prefix * TAIL_ZERO;
+                        prefix *= 1 - TAIL_ZERO;
+                    } else {
+                        prefix *= TAIL_ZERO;
+                    }
+                }
+            }
+            
+            // A tail's share of the edges depends only on how many 1 bits it has
+            expectedByOnes = new double[scale + 1];
+            for (int ones = 0; ones <= scale; ones++) {
+                double share = Math.pow(TAIL_ZERO, scale - ones) * Math.pow(1 - TAIL_ZERO, ones) / mass;
+                expectedByOnes[ones] = (double) n * degree * share;
+            }
+        }
+        
+        @Override
+        public int getVertexCount() {
+            return n;
+        }
+        
+        @Override
+        public void generatePartition(int partition, int partitions, SplittableRandom random, EdgeSink sink) {
+            int[] heads = new int[Math.max(16, 2 * degree)];
+            int end = rangeStart(partition + 1, partitions, n);
+            for (int u = rangeStart(partition, partitions, n); u < end; u++) {
+                double expected = expectedByOnes[Integer.bitCount(u)];
+                long drawn = (long) expected;
+                if (random.nextDouble() < expected - drawn) {
+                    drawn++;
+                }
+                int count = (int) Math.min(drawn, n - 1);
+                if (count > heads.length) {
+                    heads = new int[Math.max(count, 2 * heads.length)];
+                }
+                for (int i = 0; i < count; i++) {
+                    heads[i] = drawHead(u, random);
+                }
+                
+                // Dropping (rather than redrawing) duplicates keeps hubs from looping on a saturated row
+                Arrays.sort(heads, 0, count);
+                for (int i = 0; i < count; i++) {
+                    int v = heads[i];
+                    if (v != u && (i == 0 || v != heads[i - 1])) {
+                        sink.accept(u, v, weight(random));
+                    }
+                }
+            }
+        }
+        
+        /**
+         * Draws the head of an edge with tail u bit by bit, retrying heads outside [0, n).
+         */
+        private int drawHead(int u, SplittableRandom random) {
+            while (true) {
+                int v = 0;
+                long bits = 0;
+                for (int bit = scale - 1; bit >= 0; bit--) {
+                    if ((bit & 3) == 3 || bit == scale - 1) {
+                        bits = random.nextLong();
+                    }
+                    int zero = (u >>> bit & 1) == 0 ? HEAD_ZERO_IF_TAIL_ZERO : HEAD_ZERO_IF_TAIL_ONE;
+                    // Branch-free: the sign bit of zero - 1 - draw is set exactly when draw >= zero
+                    v |= ((zero - 1 - (int) (bits & 0xFFFF)) >>> 31) << bit;
+                    bits >>>= 16;
+                }
+                if (v < n) {
+                    return v;
+                }
+            }
+        }
+    }
+}
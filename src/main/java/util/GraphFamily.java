@@ -0,0 +1,26 @@
+package util;
+
+import java.util.SplittableRandom;
+
+/**
+ * A random graph model whose edges are generated in independent partitions, so generation can run
+ * on many threads and still be reproducible: the edges of a partition depend only on the partition
+ * index, the partition count and the random stream handed to it.
+ */
+public interface GraphFamily {
+    /**
+     * Gets the number of vertices of the generated graph.
+     * @return vertex count
+     */
+    int getVertexCount();
+    
+    /**
+     * Generates the edges of one partition. All partitions together emit every edge exactly once,
+     * and no partition emits an edge (u, v) twice.
+     * @param partition partition index in [0, partitions)
+     * @param partitions total number of partitions
+     * @param random random stream reserved for this partition
+     * @param sink receiver of the edges
+     */
+    void generatePartition(int partition, int partitions, SplittableRandom random, EdgeSink sink);
+}
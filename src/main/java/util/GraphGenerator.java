@@ -30,6 +30,7 @@ public class GraphGenerator {
                                          boolean multipleSCCs, Integer source) {
         GraphData data = new GraphData();
         List<GraphData.EdgeData> edges = new ArrayList<>();
+        LongHashSet edgeKeys = new LongHashSet(n);
         
         // Ensure minimum connectivity
         int minEdges = n - 1;
@@ -48,10 +49,10 @@ public class GraphGenerator {
                 
                 // Create cycle within SCC
                 for (int i = start; i < end - 1; i++) {
-                    edges.add(createEdge(i, i + 1, random.nextDouble() * 10 + 1));
+                    addEdge(edges, edgeKeys, i, i + 1, random.nextDouble() * 10 + 1);
                 }
                 if (end - start > 1) {
-                    edges.add(createEdge(end - 1, start, random.nextDouble() * 10 + 1));
+                    addEdge(edges, edgeKeys, end - 1, start, random.nextDouble() * 10 + 1);
                 }
                 
                 // Add some additional edges within SCC
@@ -59,8 +60,8 @@ public class GraphGenerator {
                 for (int i = 0; i < extraEdges; i++) {
                     int u = start + random.nextInt(end - start);
                     int v = start + random.nextInt(end - start);
-                    if (u != v && !edgeExists(edges, u, v)) {
-                        edges.add(createEdge(u, v, random.nextDouble() * 10 + 1));
+                    if (u != v && !edgeKeys.contains(LongHashSet.edgeKey(u, v))) {
+                        addEdge(edges, edgeKeys, u, v, random.nextDouble() * 10 + 1);
                     }
                 }
             }
@@ -74,29 +75,29 @@ public class GraphGenerator {
                 
                 int u = fromStart + random.nextInt(fromEnd - fromStart);
                 int v = toStart + random.nextInt(toEnd - toStart);
-                edges.add(createEdge(u, v, random.nextDouble() * 10 + 1));
+                addEdge(edges, edgeKeys, u, v, random.nextDouble() * 10 + 1);
             }
             
         } else if (hasCycles) {
             // Single large cycle or cyclic structure
             for (int i = 0; i < n - 1; i++) {
-                edges.add(createEdge(i, i + 1, random.nextDouble() * 10 + 1));
+                addEdge(edges, edgeKeys, i, i + 1, random.nextDouble() * 10 + 1);
             }
-            edges.add(createEdge(n - 1, 0, random.nextDouble() * 10 + 1)); // Cycle back
+            addEdge(edges, edgeKeys, n - 1, 0, random.nextDouble() * 10 + 1); // Cycle back
             
             // Add additional random edges
             while (edges.size() < targetEdges) {
                 int u = random.nextInt(n);
                 int v = random.nextInt(n);
-                if (u != v && !edgeExists(edges, u, v)) {
-                    edges.add(createEdge(u, v, random.nextDouble() * 10 + 1));
+                if (u != v && !edgeKeys.contains(LongHashSet.edgeKey(u, v))) {
+                    addEdge(edges, edgeKeys, u, v, random.nextDouble() * 10 + 1);
                 }
             }
             
         } else {
             // Pure DAG - chain structure with some branches
             for (int i = 0; i < n - 1; i++) {
-                edges.add(createEdge(i, i + 1, random.nextDouble() * 10 + 1));
+                addEdge(edges, edgeKeys, i, i + 1, random.nextDouble() * 10 + 1);
             }
             
             // Add some parallel branches
@@ -104,8 +105,8 @@ public class GraphGenerator {
             for (int i = 0; i < branches; i++) {
                 int u = random.nextInt(n - 1);
                 int v = u + 1 + random.nextInt(n - u - 1);
-                if (!edgeExists(edges, u, v)) {
-                    edges.add(createEdge(u, v, random.nextDouble() * 10 + 1));
+                if (!edgeKeys.contains(LongHashSet.edgeKey(u, v))) {
+                    addEdge(edges, edgeKeys, u, v, random.nextDouble() * 10 + 1);
                 }
             }
         }
@@ -119,12 +120,12 @@ public class GraphGenerator {
         return data;
     }
     
-    private static GraphData.EdgeData createEdge(int u, int v, double w) {
-        return new GraphData.EdgeData(u, v, w);
-    }
-    
-    private static boolean edgeExists(List<GraphData.EdgeData> edges, int u, int v) {
-        return edges.stream().anyMatch(e -> e.getU() == u && e.getV() == v);
+    /**
+     * Appends an edge and records it for the uniqueness checks (O(1) instead of a scan of all edges).
+     */
+    private static void addEdge(List<GraphData.EdgeData> edges, LongHashSet edgeKeys, int u, int v, double w) {
+        edges.add(new GraphData.EdgeData(u, v, w));
+        edgeKeys.add(LongHashSet.edgeKey(u, v));
     }
     
     /**
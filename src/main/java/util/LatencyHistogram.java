@@ -0,0 +1,182 @@
+package util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-bucketed histogram of latencies in nanoseconds that accumulates across runs.
+ * Values below 32 ns get one bucket each; above that every power of two is split into 32
+ * equal sub-buckets, so a reported percentile is at most ~3% above the true value. Recording
+ * is lock-free and allocation-free (one atomic increment per value) and may be called from
+ * any number of threads. {@link #snapshotAndReset()} drains the buckets one by one, so a value
+ * recorded concurrently lands in exactly one of two consecutive snapshots.
+ *
+ * Space Complexity: O(1) (1888 counters, ~15 KB)
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BITS) * SUB_COUNT;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+    
+    /**
+     * Records one latency.
+     * @param nanos latency in nanoseconds (negative values count as 0)
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        sum.addAndGet(value);
+        if (value < min.get()) {
+            min.accumulateAndGet(value, Math::min);
+        }
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+    
+    /**
+     * Copies the current state; the histogram keeps accumulating.
+     * @return snapshot of all values recorded so far
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, sum.get(), min.get(), max.get());
+    }
+    
+    /**
+     * Copies the current state and clears the histogram.
+     * @return snapshot of all values recorded since the last reset
+     */
+    public Snapshot snapshotAndReset() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.getAndSet(i, 0);
+        }
+        return new Snapshot(copy, sum.getAndSet(0), min.getAndSet(Long.MAX_VALUE), max.getAndSet(0));
+    }
+    
+    /**
+     * Maps a value to its bucket: exact below SUB_COUNT, then (exponent, top SUB_BITS mantissa bits).
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) (value >>> shift) - SUB_COUNT;
+    }
+    
+    /**
+     * Gets the largest value that maps to a bucket.
+     */
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int shift = bucket / SUB_COUNT - 1;
+        long mantissa = bucket % SUB_COUNT + SUB_COUNT;
+        return ((mantissa + 1) << shift) - 1;
+    }
+    
+    /**
+     * Immutable view of a histogram at one point in time. Snapshots of different histograms
+     * (other threads, other processes, earlier intervals) can be merged.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+        
+        Snapshot(long[] counts, long sum, long min, long max) {
+            this.counts = counts;
+            this.count = Arrays.stream(counts).sum();
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+        
+        /**
+         * Combines two snapshots as if all their values had been recorded in one histogram.
+         * @param other snapshot to add
+         * @return new merged snapshot
+         */
+        public Snapshot merge(Snapshot other) {
+            long[] merged = counts.clone();
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += other.counts[i];
+            }
+            return new Snapshot(merged, sum + other.sum, Math.min(min, other.min), Math.max(max, other.max));
+        }
+        
+        public long getCount() {
+            return count;
+        }
+        
+        /**
+         * Gets the smallest recorded value.
+         * @return minimum in nanoseconds, or 0 if nothing was recorded
+         */
+        public long getMin() {
+            return count == 0 ? 0 : min;
+        }
+        
+        public long getMax() {
+            return max;
+        }
+        
+        public long getSum() {
+            return sum;
+        }
+        
+        /**
+         * Gets the arithmetic mean of the recorded values.
+         * @return mean in nanoseconds, or 0 if nothing was recorded
+         */
+        public double getMean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+        
+        /**
+         * Gets the value below or at which the given percentage of recorded values fall.
+         * @param percentile percentage in [0, 100], e.g. 99.9 for p999
+         * @return upper bound of the matching bucket (capped at the maximum), or 0 if nothing was recorded
+         * @throws IllegalArgumentException if percentile is outside [0, 100]
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be in [0, 100]: " + percentile);
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.max(getMin(), Math.min(highestValueOf(i), max));
+                }
+            }
+            return max;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Count: %d | Mean: %.3f ms | p50: %.3f ms | p99: %.3f ms | p999: %.3f ms | Max: %.3f ms",
+                    count, getMean() / 1_000_000.0, getValueAtPercentile(50) / 1_000_000.0,
+                    getValueAtPercentile(99) / 1_000_000.0, getValueAtPercentile(99.9) / 1_000_000.0,
+                    max / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash set of primitive longs (linear probing, no boxing). Used to check edge
+ * uniqueness with the edge (u, v) packed into one long key.
+ */
+final class LongHashSet {
+    private static final long EMPTY = Long.MIN_VALUE;
+    
+    private long[] keys;
+    private int size;
+    private boolean containsEmpty;
+    
+    LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+    
+    /**
+     * Packs a directed edge into a key.
+     */
+    static long edgeKey(int u, int v) {
+        return ((long) u << 32) | (v & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Adds a key.
+     * @return true if the key was not present
+     */
+    boolean add(long key) {
+        if (key == EMPTY) {
+            boolean added = !containsEmpty;
+            containsEmpty = true;
+            size += added ? 1 : 0;
+            return added;
+        }
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+                return true;
+            }
+            if (keys[i] == key) {
+                return false;
+            }
+        }
+    }
+    
+    boolean contains(long key) {
+        if (key == EMPTY) {
+            return containsEmpty;
+        }
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == EMPTY) {
+                return false;
+            }
+            if (keys[i] == key) {
+                return true;
+            }
+        }
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    private void grow() {
+        long[] old = keys;
+        keys = new long[old.length * 2];
+        Arrays.fill(keys, EMPTY);
+        int mask = keys.length - 1;
+        for (long key : old) {
+            if (key != EMPTY) {
+                int i = mix(key) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+    
+    /**
+     * Spreads the bits of a key (the finalizer of MurmurHash3).
+     */
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,172 @@
+package util;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import com.sun.management.ThreadMXBean;
+import model.Graph;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+/**
+ * Memory accounting helpers: the allocation counter of the current thread, and approximate
+ * retained sizes of the output structures of the algorithms. Sizes follow the HotSpot object
+ * layout (12/16-byte object headers with/without compressed references, 8-byte alignment) and
+ * are estimates: list backing arrays are assumed to be exactly full, and every boxed Integer is
+ * counted as its own object although values in [-128, 127] are shared.
+ */
+public final class MemoryFootprint {
+    private static final ThreadMXBean THREADS = allocationCounter();
+    private static final boolean COMPRESSED = compressedReferences();
+    private static final long REFERENCE = COMPRESSED ? 4 : 8;
+    private static final long OBJECT_HEADER = COMPRESSED ? 12 : 16;
+    private static final long ARRAY_HEADER = 16;
+    private static final long INTEGER = align(OBJECT_HEADER + 4);
+    private static final long EDGE = align(OBJECT_HEADER + 4 + 4 + 8);
+    private static final long ARRAY_LIST = align(OBJECT_HEADER + 4 + 4 + REFERENCE);
+    
+    private MemoryFootprint() {
+    }
+    
+    /**
+     * Gets the total number of bytes allocated by the current thread so far.
+     * @return allocated bytes, or -1 if the JVM does not support allocation counting
+     */
+    public static long currentThreadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+    
+    /**
+     * Resets the peak usage of every heap memory pool, so that {@link #peakHeapBytes()} only
+     * covers what happens afterwards.
+     */
+    public static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+    
+    /**
+     * Gets the peak heap occupancy since the last {@link #resetPeakHeap()}, as the sum of the
+     * peaks of the heap pools. The pools may peak at different moments, so this is an upper bound.
+     * @return peak used heap bytes
+     */
+    public static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+    
+    /**
+     * Estimates the size of an int array.
+     * @param length array length
+     * @return size in bytes
+     */
+    public static long ofIntArray(int length) {
+        return align(ARRAY_HEADER + 4L * length);
+    }
+    
+    /**
+     * Estimates the size of a double array.
+     * @param length array length
+     * @return size in bytes
+     */
+    public static long ofDoubleArray(int length) {
+        return align(ARRAY_HEADER + 8L * length);
+    }
+    
+    /**
+     * Estimates the size of an ArrayList of boxed integers, including the Integer objects.
+     * @param size number of elements
+     * @return size in bytes
+     */
+    public static long ofIntegerList(int size) {
+        return ARRAY_LIST + ofReferenceArray(size) + INTEGER * size;
+    }
+    
+    /**
+     * Estimates the size of a list of integer lists (e.g. SCCs), including all nested objects.
+     * @param lists outer list
+     * @return size in bytes
+     */
+    public static long ofIntegerLists(List<List<Integer>> lists) {
+        long bytes = ARRAY_LIST + ofReferenceArray(lists.size());
+        for (List<Integer> list : lists) {
+            bytes += ofIntegerList(list.size());
+        }
+        return bytes;
+    }
+    
+    /**
+     * Estimates the size of a Graph: adjacency lists, the edge list, the Edge objects and node weights.
+     * @param graph graph
+     * @return size in bytes
+     */
+    public static long ofGraph(Graph graph) {
+        int n = graph.getN();
+        long m = graph.getEdgeCount();
+        long bytes = align(OBJECT_HEADER + 4 + 3 * REFERENCE + 8);
+        // Adjacency lists: outer list, n inner lists, one reference per edge across them
+        bytes += ARRAY_LIST + ofReferenceArray(n) + n * (ARRAY_LIST + ARRAY_HEADER) + align(REFERENCE * m);
+        // Edge list and the Edge objects shared with the adjacency lists
+        bytes += ARRAY_LIST + ofReferenceArray(m) + EDGE * m;
+        if (graph.isNodeWeighted()) {
+            bytes += ofDoubleArray(n);
+        }
+        return bytes;
+    }
+    
+    /**
+     * Formats a byte count with a binary unit, e.g. "1.5 MB".
+     * @param bytes byte count
+     * @return formatted size, or "n/a" for negative counts
+     */
+    public static String format(long bytes) {
+        if (bytes < 0) {
+            return "n/a";
+        }
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        String units = "KMGTPE";
+        int unit = (63 - Long.numberOfLeadingZeros(bytes)) / 10;
+        return String.format("%.1f %sB", bytes / (double) (1L << (10 * unit)), units.charAt(unit - 1));
+    }
+    
+    private static long ofReferenceArray(long length) {
+        return align(ARRAY_HEADER + REFERENCE * length);
+    }
+    
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+    
+    private static ThreadMXBean allocationCounter() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof ThreadMXBean threads && threads.isThreadAllocatedMemorySupported()) {
+                threads.setThreadAllocatedMemoryEnabled(true);
+                return threads;
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            // Fall through: allocation counting is unavailable on this JVM
+        }
+        return null;
+    }
+    
+    private static boolean compressedReferences() {
+        try {
+            HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return bean == null || Boolean.parseBoolean(bean.getVMOption("UseCompressedOops").getValue());
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+}
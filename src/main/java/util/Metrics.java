@@ -3,8 +3,66 @@ package util;
 /**
  * Interface for tracking algorithm metrics including operation counters and timing.
  * Used for instrumentation of graph algorithms.
+ * Algorithms call the hooks on every operation. They count into {@link NoOpMetrics#INSTANCE}
+ * unless given {@link AlgorithmMetrics} or {@link ConcurrentMetrics} to record.
  */
 public interface Metrics {
+    /**
+     * Marks the start of the timed section.
+     */
+    void startTiming();
+    
+    /**
+     * Marks the end of the timed section.
+     */
+    void stopTiming();
+    
+    /**
+     * Counts one vertex visit of a depth-first search.
+     */
+    void incrementDfsVisits();
+    
+    /**
+     * Counts one traversed edge.
+     */
+    void incrementEdgeTraversals();
+    
+    /**
+     * Counts one queue, stack or heap push/pop.
+     */
+    void incrementQueueOperations();
+    
+    /**
+     * Counts one successful edge relaxation.
+     */
+    void incrementRelaxations();
+    
+    /**
+     * Adds a batch of edge traversals counted elsewhere (e.g. by a parallel worker).
+     * @param count number of edge traversals to add
+     */
+    void addEdgeTraversals(long count);
+    
+    /**
+     * Adds a batch of queue operations counted elsewhere (e.g. by a parallel worker).
+     * @param count number of queue operations to add
+     */
+    void addQueueOperations(long count);
+    
+    /**
+     * Adds a batch of relaxations counted elsewhere (e.g. by a parallel worker).
+     * @param count number of relaxations to add
+     */
+    void addRelaxations(long count);
+    
+    long getDfsVisits();
+    
+    long getEdgeTraversals();
+    
+    long getQueueOperations();
+    
+    long getRelaxations();
+    
     /**
      * Gets the execution time in nanoseconds.
      * @return execution time in nanoseconds
@@ -17,6 +75,31 @@ public interface Metrics {
      */
     double getTimeMillis();
     
+    /**
+     * Marks the timed section as forking work onto other threads. Their allocations cannot be
+     * attributed to the section, so {@link #getAllocatedBytes()} reports -1 for it.
+     */
+    void markForked();
+    
+    /**
+     * Gets the bytes allocated between start and stop by the thread that called them.
+     * @return allocated bytes, or -1 if the section forked or the JVM cannot count allocations
+     *         (0 when not recorded)
+     */
+    long getAllocatedBytes();
+    
+    /**
+     * Records the approximate retained size of the algorithm's outputs.
+     * @param bytes size in bytes, usually estimated with {@link MemoryFootprint}
+     */
+    void setRetainedBytes(long bytes);
+    
+    /**
+     * Gets the approximate retained size of the algorithm's outputs.
+     * @return size in bytes (0 when not recorded)
+     */
+    long getRetainedBytes();
+    
     /**
      * Resets all counters and timing.
      */
@@ -27,6 +110,16 @@ public interface Metrics {
      * @return formatted metrics string
      */
     String toString();
+    
+    /**
+     * Formats the counters, timing and memory of a metrics instance on one line.
+     * @param metrics metrics to format
+     * @return formatted metrics string
+     */
+    static String format(Metrics metrics) {
+        return String.format("Time: %.3f ms | DFS Visits: %d | Edge Traversals: %d | Queue Ops: %d | Relaxations: %d | Allocated: %s | Retained: %s",
+                metrics.getTimeMillis(), metrics.getDfsVisits(), metrics.getEdgeTraversals(),
+                metrics.getQueueOperations(), metrics.getRelaxations(),
+                MemoryFootprint.format(metrics.getAllocatedBytes()), MemoryFootprint.format(metrics.getRetainedBytes()));
+    }
 }
-
-
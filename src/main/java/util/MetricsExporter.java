@@ -0,0 +1,214 @@
+package util;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Writes the metrics of every pipeline phase plus graph statistics in a machine-readable format:
+ * JSON (one document per run), CSV (one row per phase, graph statistics repeated on every row so
+ * rows of many runs can be concatenated) or the Prometheus text exposition format (gauges for a
+ * node_exporter textfile collector). Metrics are read when written, not when added.
+ */
+public class MetricsExporter {
+    /**
+     * Supported output formats.
+     */
+    public enum Format {
+        JSON, CSV, PROMETHEUS;
+        
+        /**
+         * Parses a format name, case-insensitively.
+         * @param name "json", "csv" or "prometheus"
+         * @return format
+         * @throws IllegalArgumentException if the name is unknown
+         */
+        public static Format parse(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown metrics format: " + name + " (expected json, csv or prometheus)");
+        }
+    }
+    
+    private static final String PREFIX = "graph_";
+    
+    private final Map<String, Number> statistics = new LinkedHashMap<>();
+    private final Map<Phase, Metrics> phases = new LinkedHashMap<>();
+    
+    /**
+     * Adds a graph statistic, e.g. ("vertices", 1000).
+     * @param name statistic name in snake_case
+     * @param value numeric value
+     * @return this exporter
+     */
+    public MetricsExporter addStatistic(String name, Number value) {
+        statistics.put(name, value);
+        return this;
+    }
+    
+    /**
+     * Adds the metrics of a phase (replacing any earlier metrics of the same phase).
+     * @param phase pipeline phase
+     * @param metrics metrics of the phase run
+     * @return this exporter
+     */
+    public MetricsExporter addPhase(Phase phase, Metrics metrics) {
+        phases.put(phase, metrics);
+        return this;
+    }
+    
+    /**
+     * Writes all statistics and phases to a file. The file is written next to the target and then
+     * moved into place atomically, so collectors never read a half-written file.
+     * @param format output format
+     * @param file output file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Format format, Path file) throws IOException {
+        Path target = file.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                write(format, writer);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    /**
+     * Writes all statistics and phases to a writer (which is flushed, not closed).
+     * @param format output format
+     * @param writer destination
+     */
+    public void write(Format format, Writer writer) {
+        PrintWriter out = new PrintWriter(writer);
+        switch (format) {
+            case JSON -> writeJson(out);
+            case CSV -> writeCsv(out);
+            case PROMETHEUS -> writePrometheus(out);
+        }
+        out.flush();
+    }
+    
+    private void writeJson(PrintWriter out) {
+        JsonObject root = new JsonObject();
+        root.addProperty("timestamp", System.currentTimeMillis());
+        JsonObject graph = new JsonObject();
+        statistics.forEach(graph::addProperty);
+        root.add("graph", graph);
+        
+        JsonArray phaseArray = new JsonArray();
+        for (Map.Entry<Phase, Metrics> entry : phases.entrySet()) {
+            Metrics metrics = entry.getValue();
+            JsonObject phase = new JsonObject();
+            phase.addProperty("phase", entry.getKey().name());
+            phase.addProperty("timeNanos", metrics.getTimeNanos());
+            phase.addProperty("dfsVisits", metrics.getDfsVisits());
+            phase.addProperty("edgeTraversals", metrics.getEdgeTraversals());
+            phase.addProperty("queueOperations", metrics.getQueueOperations());
+            phase.addProperty("relaxations", metrics.getRelaxations());
+            phase.addProperty("allocatedBytes", metrics.getAllocatedBytes());
+            phase.addProperty("retainedBytes", metrics.getRetainedBytes());
+            phaseArray.add(phase);
+        }
+        root.add("phases", phaseArray);
+        out.println(new GsonBuilder().setPrettyPrinting().create().toJson(root));
+    }
+    
+    private void writeCsv(PrintWriter out) {
+        StringBuilder header = new StringBuilder("timestamp");
+        for (String name : statistics.keySet()) {
+            header.append(',').append(name);
+        }
+        header.append(",phase,time_ns,dfs_visits,edge_traversals,queue_operations,relaxations,allocated_bytes,retained_bytes");
+        out.println(header);
+        
+        StringBuilder common = new StringBuilder().append(System.currentTimeMillis());
+        for (Number value : statistics.values()) {
+            common.append(',').append(value);
+        }
+        for (Map.Entry<Phase, Metrics> entry : phases.entrySet()) {
+            Metrics metrics = entry.getValue();
+            out.println(common + "," + entry.getKey().name() + "," + metrics.getTimeNanos() + ","
+                    + metrics.getDfsVisits() + "," + metrics.getEdgeTraversals() + ","
+                    + metrics.getQueueOperations() + "," + metrics.getRelaxations() + ","
+                    + metrics.getAllocatedBytes() + "," + metrics.getRetainedBytes());
+        }
+    }
+    
+    private void writePrometheus(PrintWriter out) {
+        for (Map.Entry<String, Number> entry : statistics.entrySet()) {
+            String name = PREFIX + entry.getKey();
+            out.println("# HELP " + name + " Graph statistic " + entry.getKey() + " of the last run.");
+            out.println("# TYPE " + name + " gauge");
+            out.println(name + " " + formatSample(entry.getValue().doubleValue()));
+        }
+        
+        gauge(out, "phase_time_seconds", "Wall-clock time of the last run of each phase.",
+                m -> m.getTimeNanos() / 1e9);
+        gauge(out, "phase_dfs_visits", "DFS vertex visits of the last run of each phase.",
+                Metrics::getDfsVisits);
+        gauge(out, "phase_edge_traversals", "Edge traversals of the last run of each phase.",
+                Metrics::getEdgeTraversals);
+        gauge(out, "phase_queue_operations", "Queue, stack and heap operations of the last run of each phase.",
+                Metrics::getQueueOperations);
+        gauge(out, "phase_relaxations", "Successful edge relaxations of the last run of each phase.",
+                Metrics::getRelaxations);
+        gauge(out, "phase_allocated_bytes", "Bytes allocated by the thread running each phase.",
+                Metrics::getAllocatedBytes);
+        gauge(out, "phase_retained_bytes", "Approximate retained size of the outputs of each phase.",
+                Metrics::getRetainedBytes);
+    }
+    
+    /**
+     * Writes one gauge family with a sample per phase; negative values (unsupported) are skipped.
+     */
+    private void gauge(PrintWriter out, String suffix, String help, ToDoubleFunction<Metrics> value) {
+        String name = PREFIX + suffix;
+        out.println("# HELP " + name + " " + help);
+        out.println("# TYPE " + name + " gauge");
+        for (Map.Entry<Phase, Metrics> entry : phases.entrySet()) {
+            double v = value.applyAsDouble(entry.getValue());
+            if (v >= 0) {
+                String phase = entry.getKey().name().toLowerCase(Locale.ROOT);
+                out.println(name + "{phase=\"" + phase + "\"} " + formatSample(v));
+            }
+        }
+    }
+    
+    /**
+     * Formats a sample value in the exposition format: whole numbers without a fraction,
+     * infinities as +Inf/-Inf and NaN as NaN.
+     */
+    private static String formatSample(double v) {
+        if (Double.isNaN(v)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(v)) {
+            return v > 0 ? "+Inf" : "-Inf";
+        }
+        return v == Math.rint(v) && Math.abs(v) < 1e15 ? Long.toString((long) v) : Double.toString(v);
+    }
+}
@@ -0,0 +1,116 @@
+package util;
+
+/**
+ * Metrics implementation that records nothing; every hook is an empty method. {@link #INSTANCE}
+ * is what the algorithms count into unless they are given another implementation, so counting
+ * is opt-in. Counters and times always read 0.
+ */
+public final class NoOpMetrics implements Metrics {
+    /**
+     * Shared instance; the class is stateless.
+     */
+    public static final NoOpMetrics INSTANCE = new NoOpMetrics();
+    
+    /**
+     * Instance for runs nested inside another algorithm, such as the topological sort a path
+     * algorithm does first. Records nothing like {@link #INSTANCE}, and the run emits no
+     * {@link PhaseEvent} since it is part of the enclosing phase.
+     */
+    public static final NoOpMetrics NESTED = new NoOpMetrics();
+    
+    private NoOpMetrics() {
+    }
+    
+    @Override
+    public void startTiming() {
+    }
+    
+    @Override
+    public void stopTiming() {
+    }
+    
+    @Override
+    public void incrementDfsVisits() {
+    }
+    
+    @Override
+    public void incrementEdgeTraversals() {
+    }
+    
+    @Override
+    public void incrementQueueOperations() {
+    }
+    
+    @Override
+    public void incrementRelaxations() {
+    }
+    
+    @Override
+    public void addEdgeTraversals(long count) {
+    }
+    
+    @Override
+    public void addQueueOperations(long count) {
+    }
+    
+    @Override
+    public void addRelaxations(long count) {
+    }
+    
+    @Override
+    public long getDfsVisits() {
+        return 0;
+    }
+    
+    @Override
+    public long getEdgeTraversals() {
+        return 0;
+    }
+    
+    @Override
+    public long getQueueOperations() {
+        return 0;
+    }
+    
+    @Override
+    public long getRelaxations() {
+        return 0;
+    }
+    
+    @Override
+    public long getTimeNanos() {
+        return 0;
+    }
+    
+    @Override
+    public double getTimeMillis() {
+        return 0.0;
+    }
+    
+    @Override
+    public void markForked() {
+    }
+    
+    @Override
+    public long getAllocatedBytes() {
+        return 0;
+    }
+    
+    @Override
+    public void setRetainedBytes(long bytes) {
+    }
+    
+    @Override
+    public long getRetainedBytes() {
+        return 0;
+    }
+    
+    @Override
+    public void reset() {
+    }
+    
+    @Override
+    public String toString() {
+        return "Metrics disabled";
+    }
+}
@@ -0,0 +1,13 @@
+package util;
+
+/**
+ * Pipeline phases for which timings are recorded separately.
+ */
+public enum Phase {
+    LOAD,
+    SCC,
+    CONDENSATION,
+    TOPO,
+    SHORTEST,
+    LONGEST
+}
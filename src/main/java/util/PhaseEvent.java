@@ -0,0 +1,107 @@
+package util;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for one run of a pipeline phase: graph size, the operation counters and
+ * memory figures of the run's Metrics, and (as the event duration) its wall-clock time. Every run
+ * emits one, whichever Metrics it counts into, except runs nested in another algorithm (marked
+ * with {@link NoOpMetrics#NESTED}). Outside a recording that enables this event nothing is
+ * allocated. Record with e.g. {@code java -XX:StartFlightRecording:filename=run.jfr ...} and inspect
+ * with {@code jfr print --events graph.Phase run.jfr}.
+ */
+@Name("graph.Phase")
+@Label("Graph Phase")
+@Category({"Graph", "Algorithms"})
+@Description("One run of a graph algorithm phase with graph size and operation counts")
+@StackTrace(false)
+public class PhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+    
+    @Label("Algorithm")
+    String algorithm;
+    
+    @Label("Vertices")
+    int vertices;
+    
+    @Label("Edges")
+    long edges;
+    
+    @Label("DFS Visits")
+    long dfsVisits;
+    
+    @Label("Edge Traversals")
+    long edgeTraversals;
+    
+    @Label("Queue Operations")
+    long queueOperations;
+    
+    @Label("Relaxations")
+    long relaxations;
+    
+    @Label("Allocated")
+    @Description("Bytes allocated by the thread that ran the phase (-1 if unsupported)")
+    @DataAmount
+    long allocatedBytes;
+    
+    @Label("Retained")
+    @Description("Approximate retained size of the phase outputs")
+    @DataAmount
+    long retainedBytes;
+    
+    private static final EventType TYPE = EventType.getEventType(PhaseEvent.class);
+    
+    /** Shared placeholder returned when no event is recorded; its finish does nothing. */
+    private static final PhaseEvent DISABLED = new PhaseEvent();
+    
+    /**
+     * Creates an event and starts its clock, unless the event is not being recorded or the run is
+     * nested in another algorithm; then returns a shared placeholder whose finish does nothing.
+     * @param metrics metrics of the run ({@link NoOpMetrics#NESTED} for nested runs)
+     * @return started event or the placeholder
+     */
+    public static PhaseEvent start(Metrics metrics) {
+        if (metrics == NoOpMetrics.NESTED || !TYPE.isEnabled()) {
+            return DISABLED;
+        }
+        PhaseEvent event = new PhaseEvent();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Stops the clock and commits the event if it is enabled and above its duration threshold.
+     * @param phase pipeline phase
+     * @param algorithm algorithm that ran the phase
+     * @param vertices number of vertices of the input graph
+     * @param edges number of edges of the input graph
+     * @param metrics counters of the run
+     */
+    public void finish(Phase phase, String algorithm, int vertices, long edges, Metrics metrics) {
+        if (this == DISABLED) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.phase = phase.name();
+            this.algorithm = algorithm;
+            this.vertices = vertices;
+            this.edges = edges;
+            this.dfsVisits = metrics.getDfsVisits();
+            this.edgeTraversals = metrics.getEdgeTraversals();
+            this.queueOperations = metrics.getQueueOperations();
+            this.relaxations = metrics.getRelaxations();
+            this.allocatedBytes = metrics.getAllocatedBytes();
+            this.retainedBytes = metrics.getRetainedBytes();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package util;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Accumulates latencies per pipeline {@link Phase} across runs and queries, one
+ * {@link LatencyHistogram} per phase. Algorithms feed it through {@link #metrics(Phase)}:
+ * the returned Metrics records its measured time into the phase histogram on every
+ * {@code stopTiming()}, so any algorithm with a Metrics constructor can be recorded unchanged.
+ * Thread-safe; histograms are created up front and never replaced.
+ */
+public class PhaseLatencyRecorder {
+    private final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+    
+    public PhaseLatencyRecorder() {
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+    }
+    
+    /**
+     * Records one latency for a phase.
+     * @param phase pipeline phase
+     * @param nanos latency in nanoseconds
+     */
+    public void record(Phase phase, long nanos) {
+        histograms.get(phase).record(nanos);
+    }
+    
+    /**
+     * Creates a metrics object for one algorithm run (or one algorithm instance answering many
+     * queries) whose timings are recorded for a phase. Like AlgorithmMetrics it is not thread-safe;
+     * create one per thread.
+     * @param phase pipeline phase
+     * @return Metrics that records each start/stop interval into the phase histogram
+     */
+    public Metrics metrics(Phase phase) {
+        return new RecordingMetrics(histograms.get(phase));
+    }
+    
+    /**
+     * Gets the live histogram of a phase.
+     * @param phase pipeline phase
+     * @return histogram
+     */
+    public LatencyHistogram getHistogram(Phase phase) {
+        return histograms.get(phase);
+    }
+    
+    /**
+     * Copies all phase histograms; recording continues.
+     * @return snapshot per phase
+     */
+    public Map<Phase, LatencyHistogram.Snapshot> snapshot() {
+        Map<Phase, LatencyHistogram.Snapshot> snapshots = new EnumMap<>(Phase.class);
+        for (Map.Entry<Phase, LatencyHistogram> entry : histograms.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return snapshots;
+    }
+    
+    /**
+     * Copies and clears all phase histograms, e.g. once per reporting interval.
+     * @return snapshot per phase of the values recorded since the last reset
+     */
+    public Map<Phase, LatencyHistogram.Snapshot> snapshotAndReset() {
+        Map<Phase, LatencyHistogram.Snapshot> snapshots = new EnumMap<>(Phase.class);
+        for (Map.Entry<Phase, LatencyHistogram> entry : histograms.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshotAndReset());
+        }
+        return snapshots;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Phase, LatencyHistogram.Snapshot> entry : snapshot().entrySet()) {
+            sb.append(entry.getKey()).append(": ").append(entry.getValue()).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * AlgorithmMetrics that hands every measured interval to a histogram.
+     */
+    private static final class RecordingMetrics extends AlgorithmMetrics {
+        private final LatencyHistogram histogram;
+        
+        RecordingMetrics(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+        
+        @Override
+        public void stopTiming() {
+            super.stopTiming();
+            histogram.record(getTimeNanos());
+        }
+    }
+}
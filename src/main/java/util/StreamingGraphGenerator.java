@@ -0,0 +1,317 @@
+package util;
+
+import model.Graph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Generates large random graphs from a {@link GraphFamily} without holding the edge list.
+ * The seed is split into one {@link SplittableRandom} stream per partition, so the output depends
+ * only on (family, seed, partitions) and not on the number of threads. File output runs the
+ * partitions in parallel, each into its own chunk file, and then concatenates the chunks in
+ * partition order. Files are either the JSON format read by {@link model.GraphData#loadFromFile}
+ * or the {@link BinaryGraphFile} format.
+ *
+ * Time Complexity: O(V + E), parallel over partitions
+ * Space Complexity: O(partitions * buffer) in memory, plus the chunk files on disk
+ */
+public class StreamingGraphGenerator {
+    /**
+     * Default number of partitions (and thus of independent random streams).
+     */
+    public static final int DEFAULT_PARTITIONS = 64;
+    
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    
+    private final GraphFamily family;
+    private final long seed;
+    private final int partitions;
+    
+    public StreamingGraphGenerator(GraphFamily family, long seed) {
+        this(family, seed, DEFAULT_PARTITIONS);
+    }
+    
+    /**
+     * Creates a generator.
+     * @param family graph model
+     * @param seed seed of the root random stream
+     * @param partitions number of partitions; part of the reproducibility key
+     */
+    public StreamingGraphGenerator(GraphFamily family, long seed, int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Need at least one partition, got " + partitions);
+        }
+        this.family = family;
+        this.seed = seed;
+        this.partitions = partitions;
+    }
+    
+    /**
+     * Streams all edges to a sink on the calling thread, partition by partition.
+     * @param sink receiver of the edges
+     * @return number of edges
+     */
+    public long generate(EdgeSink sink) {
+        SplittableRandom[] randoms = randoms();
+        long[] count = new long[1];
+        for (int p = 0; p < partitions; p++) {
+            family.generatePartition(p, partitions, randoms[p], (u, v, w) -> {
+                count[0]++;
+                sink.accept(u, v, w);
+            });
+        }
+        return count[0];
+    }
+    
+    /**
+     * Generates the graph in memory.
+     * @return new Graph with all edges in partition order
+     */
+    public Graph toGraph() {
+        Graph graph = new Graph(family.getVertexCount());
+        generate(graph::addEdge);
+        return graph;
+    }
+    
+    /**
+     * Writes the graph in the binary format.
+     * @param file output file (created or truncated)
+     * @return number of edges
+     * @throws IOException if the file cannot be written
+     */
+    public long writeBinary(Path file) throws IOException {
+        return write(file, false, 0);
+    }
+    
+    /**
+     * Writes the graph as JSON in the GraphData format (directed, edge weight model).
+     * @param file output file (created or truncated)
+     * @param source source vertex recorded in the file
+     * @return number of edges
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if source is not a vertex of the graph
+     */
+    public long writeJson(Path file, int source) throws IOException {
+        int n = family.getVertexCount();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Source " + source + " is not a vertex of a graph with " + n + " vertices");
+        }
+        return write(file, true, source);
+    }
+    
+    private SplittableRandom[] randoms() {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[partitions];
+        for (int p = 0; p < partitions; p++) {
+            randoms[p] = root.split();
+        }
+        return randoms;
+    }
+    
+    private long write(Path file, boolean json, int source) throws IOException {
+        Path target = file.toAbsolutePath();
+        Path chunkDir = Files.createTempDirectory(target.getParent(), ".chunks");
+        Path[] chunks = new Path[partitions];
+        long[] counts = new long[partitions];
+        SplittableRandom[] randoms = randoms();
+        try {
+            try {
+                IntStream.range(0, partitions).parallel().forEach(p -> {
+                    chunks[p] = chunkDir.resolve("part-" + p);
+                    try (ChunkWriter writer = new ChunkWriter(chunks[p], json)) {
+                        family.generatePartition(p, partitions, randoms[p], writer);
+                        counts[p] = writer.count;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            
+            long m = 0;
+            for (long count : counts) {
+                m += count;
+            }
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(out, json ? jsonHeader(family.getVertexCount(), source) : BinaryGraphFile.header(family.getVertexCount(), m));
+                boolean first = true;
+                for (int p = 0; p < partitions; p++) {
+                    if (counts[p] == 0) {
+                        continue;
+                    }
+                    // JSON entries start with a separator; the very first one must not
+                    long skip = json && first ? 1 : 0;
+                    first = false;
+                    try (FileChannel in = FileChannel.open(chunks[p], StandardOpenOption.READ)) {
+                        long position = skip;
+                        long size = in.size();
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                }
+                if (json) {
+                    writeFully(out, ByteBuffer.wrap("\n  ]\n}\n".getBytes(StandardCharsets.US_ASCII)));
+                }
+            }
+            return m;
+        } finally {
+            for (Path chunk : chunks) {
+                if (chunk != null) {
+                    Files.deleteIfExists(chunk);
+                }
+            }
+            Files.deleteIfExists(chunkDir);
+        }
+    }
+    
+    private static ByteBuffer jsonHeader(int n, int source) {
+        String header = "{\n  \"directed\": true,\n  \"n\": " + n
+                + ",\n  \"source\": " + source + ",\n  \"weight_model\": \"edge\",\n  \"edges\": [";
+        return ByteBuffer.wrap(header.getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    /**
+     * Buffered writer of one partition's edges into its chunk file.
+     */
+    private static final class ChunkWriter implements EdgeSink, Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final boolean json;
+        private final StringBuilder text = new StringBuilder(64);
+        private long count;
+        
+        ChunkWriter(Path chunk, boolean json) throws IOException {
+            this.channel = FileChannel.open(chunk, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            this.buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            this.json = json;
+        }
+        
+        @Override
+        public void accept(int u, int v, double weight) {
+            count++;
+            try {
+                if (buffer.remaining() < 128) {
+                    flush();
+                }
+                if (json) {
+                    text.setLength(0);
+                    text.append(",\n    {\"u\": ").append(u).append(", \"v\": ").append(v)
+                            .append(", \"w\": ").append(weight).append('}');
+                    for (int i = 0; i < text.length(); i++) {
+                        buffer.put((byte) text.charAt(i));
+                    }
+                } else {
+                    buffer.putInt(u).putInt(v).putDouble(weight);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        
+        private void flush() throws IOException {
+            buffer.flip();
+            writeFully(channel, buffer);
+            buffer.clear();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+    
+    /**
+     * Command line: --family=NAME --n=N --degree=D --out=FILE(.json|.bin)
+     * [--seed=S] [--partitions=P] [--source=V], where NAME is any name accepted by {@link GraphFamilies#byName}.
+     * The format follows the file extension; the source vertex (default 0) is recorded in JSON output only.
+     */
+    public static void main(String[] args) {
+        int status = execute(args);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+    
+    /**
+     * Runs the command line without exiting the JVM.
+     * @param args command line arguments
+     * @return exit status: 0 on success, 2 on usage errors and failures
+     */
+    static int execute(String[] args) {
+        String familyName = "dag";
+        int n = 1_000_000;
+        int degree = 8;
+        long seed = 42;
+        int partitions = DEFAULT_PARTITIONS;
+        int source = 0;
+        String out = null;
+        StreamingGraphGenerator generator;
+        try {
+            for (String arg : args) {
+                String value = arg.substring(arg.indexOf('=') + 1);
+                if (arg.startsWith("--family=")) {
+                    familyName = value;
+                } else if (arg.startsWith("--n=")) {
+                    n = Integer.parseInt(value);
+                } else if (arg.startsWith("--degree=")) {
+                    degree = Integer.parseInt(value);
+                } else if (arg.startsWith("--seed=")) {
+                    seed = Long.parseLong(value);
+                } else if (arg.startsWith("--partitions=")) {
+                    partitions = Integer.parseInt(value);
+                } else if (arg.startsWith("--source=")) {
+                    source = Integer.parseInt(value);
+                } else if (arg.startsWith("--out=")) {
+                    out = value;
+                } else {
+                    throw new IllegalArgumentException("Unknown argument: " + arg);
+                }
+            }
+            if (out == null) {
+                throw new IllegalArgumentException("--out is required");
+            }
+            // NumberFormatException is an IllegalArgumentException, so bad numbers land here too
+            generator = new StreamingGraphGenerator(GraphFamilies.byName(familyName, n, degree), seed, partitions);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println("Usage: --family=NAME --n=N --degree=D --out=FILE(.json|.bin) [--seed=S] [--partitions=P] [--source=V]");
+            return 2;
+        }
+        
+        try {
+            long start = System.nanoTime();
+            long m = out.endsWith(".json") ? generator.writeJson(Path.of(out), source) : generator.writeBinary(Path.of(out));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Wrote %s: %d vertices, %d edges in %.2f s (%.1f M edges/s)%n",
+                    out, n, m, seconds, m / seconds / 1e6);
+            return 0;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error generating graph: " + e.getMessage());
+            return 2;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package graph.dagsp;
+
+import model.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the all-pairs DAG path engine.
+ */
+public class AllPairsDAGPathsTest {
+    
+    @Test
+    public void testShortestMatchesSingleSource() {
+        Graph graph = DAGShortestPathTest.randomWideDAG(5, 60, 600, new Random(3));
+        int n = graph.getN();
+        double[][] matrix = new double[n][];
+        
+        AllPairsDAGPaths allPairs = new AllPairsDAGPaths(graph, PathObjective.SHORTEST, 7);
+        assertTrue(allPairs.compute((first, count, rows) -> {
+            for (int i = 0; i < count; i++) {
+                double[] row = new double[n];
+                System.arraycopy(rows, i * n, row, 0, n);
+                matrix[first + i] = row;
+            }
+        }));
+        
+        for (int s = 0; s < n; s++) {
+            assertArrayEquals(new DAGShortestPath(graph, s).computeShortestPaths(), matrix[s]);
+        }
+    }
+    
+    @Test
+    public void testLongestDistances() {
+        // Graph: 0 -> 1 (w=1), 1 -> 3 (w=1), 0 -> 2 (w=5), 2 -> 3 (w=1)
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(0, 2, 5.0);
+        graph.addEdge(2, 3, 1.0);
+        
+        double[][] matrix = new double[4][4];
+        new AllPairsDAGPaths(graph, PathObjective.LONGEST).compute((first, count, rows) -> {
+            for (int i = 0; i < count; i++) {
+                System.arraycopy(rows, i * 4, matrix[first + i], 0, 4);
+            }
+        });
+        
+        assertEquals(6.0, matrix[0][3], 0.001);
+        assertEquals(1.0, matrix[1][3], 0.001);
+        assertEquals(Double.NEGATIVE_INFINITY, matrix[3][0]);
+        assertEquals(0.0, matrix[2][2], 0.001);
+    }
+    
+    @Test
+    public void testComputeToFile(@TempDir Path dir) throws IOException {
+        Graph graph = DAGShortestPathTest.randomWideDAG(4, 30, 200, new Random(5));
+        int n = graph.getN();
+        Path file = dir.resolve("apsp.bin");
+        
+        assertTrue(new AllPairsDAGPaths(graph, PathObjective.SHORTEST, 4).computeToFile(file));
+        
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals((long) n * n * Double.BYTES, buffer.capacity());
+        for (int s = 0; s < n; s++) {
+            double[] expected = new DAGShortestPath(graph, s).computeShortestPaths();
+            for (int v = 0; v < n; v++) {
+                assertEquals(expected[v], buffer.getDouble());
+            }
+        }
+    }
+    
+    @Test
+    public void testCycleReported() {
+        Graph graph = new Graph(2);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 0, 1.0);
+        
+        assertFalse(new AllPairsDAGPaths(graph, PathObjective.SHORTEST).compute((first, count, rows) -> fail()));
+    }
+    
+    @Test
+    public void testCycleLeavesFileUntouched(@TempDir Path dir) throws IOException {
+        Graph graph = new Graph(2);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 0, 1.0);
+        Path file = dir.resolve("apsp.bin");
+        Files.write(file, new byte[]{1, 2, 3});
+        
+        assertFalse(new AllPairsDAGPaths(graph, PathObjective.SHORTEST).computeToFile(file));
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(file));
+        assertFalse(new AllPairsDAGPaths(graph, PathObjective.SHORTEST).computeToFile(dir.resolve("none.bin")));
+        assertFalse(Files.exists(dir.resolve("none.bin")));
+    }
+    
+    @Test
+    public void testInvalidBlockSize() {
+        Graph graph = new Graph(3);
+        
+        assertThrows(IllegalArgumentException.class, () -> new AllPairsDAGPaths(graph, PathObjective.SHORTEST, 0));
+        assertThrows(IllegalArgumentException.class, () -> new AllPairsDAGPaths(graph, PathObjective.LONGEST, -4));
+    }
+}
@@ -0,0 +1,104 @@
+package graph.dagsp;
+
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the critical path method schedule.
+ */
+public class CriticalPathScheduleTest {
+    
+    @Test
+    public void testSlackOnDiamond() {
+        // Graph: 0 -> 1 (w=5), 0 -> 2 (w=2), 1 -> 3 (w=1), 2 -> 3 (w=1), 2 -> 4 (w=1)
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 5.0);
+        graph.addEdge(0, 2, 2.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(2, 4, 1.0);
+        
+        CriticalPathSchedule schedule = new CriticalPathSchedule(graph);
+        
+        assertEquals(6.0, schedule.getProjectDuration(), 0.001);
+        assertArrayEquals(new double[]{0, 5, 2, 6, 3}, schedule.getEarliestStart(), 0.001);
+        assertArrayEquals(new double[]{0, 5, 5, 6, 6}, schedule.getLatestStart(), 0.001);
+        assertEquals(3.0, schedule.getTotalSlack(2), 0.001);
+        assertEquals(0.0, schedule.getFreeSlack(2), 0.001); // vertex 4 starts right after 2
+        assertEquals(3.0, schedule.getFreeSlack(4), 0.001);
+        assertEquals(List.of(0, 1, 3), schedule.getCriticalVertices());
+    }
+    
+    @Test
+    public void testAllCriticalPathsReported() {
+        // Two equally long chains: 0 -> 1 -> 3 and 0 -> 2 -> 3
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(1, 3, 2.0);
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(2, 3, 3.0);
+        
+        CriticalPathSchedule schedule = new CriticalPathSchedule(graph);
+        
+        assertEquals(4, schedule.getCriticalVertices().size());
+    }
+    
+    @Test
+    public void testConsistentWithLongestPath() {
+        Graph graph = DAGShortestPathTest.randomWideDAG(6, 100, 1200, new Random(21));
+        
+        CriticalPathSchedule schedule = new CriticalPathSchedule(graph);
+        DAGLongestPath lp = new DAGLongestPath(graph);
+        
+        assertEquals(lp.getLongestPathLength(), schedule.getProjectDuration(), 0.001);
+        assertTrue(schedule.getCriticalVertices().containsAll(lp.getCriticalPath()));
+        for (int v = 0; v < graph.getN(); v++) {
+            assertTrue(schedule.getTotalSlack(v) >= -0.001);
+            assertTrue(schedule.getFreeSlack(v) <= schedule.getTotalSlack(v) + 0.001);
+        }
+    }
+    
+    @Test
+    public void testCycleDetection() {
+        Graph graph = new Graph(2);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 0, 1.0);
+        
+        assertEquals(Double.NEGATIVE_INFINITY, new CriticalPathSchedule(graph).computeSchedule());
+        
+        // No getter may report a schedule for a cyclic graph
+        CriticalPathSchedule schedule = new CriticalPathSchedule(graph);
+        assertEquals(Double.NEGATIVE_INFINITY, schedule.getProjectDuration());
+        assertThrows(IllegalStateException.class, () -> schedule.isCritical(0));
+        assertThrows(IllegalStateException.class, () -> schedule.getTotalSlack(0));
+        assertThrows(IllegalStateException.class, () -> schedule.getFreeSlack(1));
+        assertThrows(IllegalStateException.class, schedule::getEarliestStart);
+        assertThrows(IllegalStateException.class, schedule::getLatestStart);
+        assertThrows(IllegalStateException.class, schedule::getCriticalVertices);
+    }
+    
+    @Test
+    public void testNodeWeightedDurations() {
+        // Tasks 0 (3), 1 (4), 2 (1), 3 (2); 0 -> 1 -> 3 and 0 -> 2 -> 3, no edge delays
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 0.0);
+        graph.addEdge(0, 2, 0.0);
+        graph.addEdge(1, 3, 0.0);
+        graph.addEdge(2, 3, 0.0);
+        graph.setNodeWeights(new double[]{3.0, 4.0, 1.0, 2.0});
+        
+        CriticalPathSchedule schedule = new CriticalPathSchedule(graph);
+        
+        assertEquals(9.0, schedule.getProjectDuration(), 0.001);
+        assertArrayEquals(new double[]{0, 3, 3, 7}, schedule.getEarliestStart(), 0.001);
+        assertArrayEquals(new double[]{0, 3, 6, 7}, schedule.getLatestStart(), 0.001);
+        assertEquals(3.0, schedule.getTotalSlack(2), 0.001);
+        assertEquals(3.0, schedule.getFreeSlack(2), 0.001);
+        assertEquals(List.of(0, 1, 3), schedule.getCriticalVertices());
+    }
+}
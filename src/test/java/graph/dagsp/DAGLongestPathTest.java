@@ -2,8 +2,10 @@ package graph.dagsp;
 
 import model.Graph;
 import org.junit.jupiter.api.Test;
+import util.AlgorithmMetrics;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -63,19 +65,103 @@ public class DAGLongestPathTest {
         assertTrue(criticalPath.contains(4));
     }
     
+    @Test
+    public void testFixedSource() {
+        // Graph: 0 -> 2 (w=1), 1 -> 2 (w=10), 2 -> 3 (w=1)
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(1, 2, 10.0);
+        graph.addEdge(2, 3, 1.0);
+        
+        DAGLongestPath lp = new DAGLongestPath(graph, 0);
+        
+        assertEquals(2.0, lp.getLongestPathLength(), 0.001);
+        assertEquals(List.of(0, 2, 3), lp.getCriticalPath());
+        assertEquals(Double.NEGATIVE_INFINITY, lp.getDistances()[1]);
+        assertEquals(11.0, new DAGLongestPath(graph).getLongestPathLength(), 0.001);
+    }
+    
     @Test
     public void testMetrics() {
         Graph graph = new Graph(3);
         graph.addEdge(0, 1, 1.0);
         graph.addEdge(1, 2, 1.0);
         
-        DAGLongestPath lp = new DAGLongestPath(graph);
+        DAGLongestPath lp = new DAGLongestPath(graph, -1, new AlgorithmMetrics());
         lp.getLongestPathLength();
         
         assertNotNull(lp.getMetrics());
         assertTrue(lp.getMetrics().getTimeNanos() >= 0);
         assertTrue(lp.getMetrics().getRelaxations() >= 0);
     }
+    
+    @Test
+    public void testParallelMatchesSequential() {
+        Graph graph = DAGShortestPathTest.randomWideDAG(5, 3000, 30000, new Random(7));
+        
+        DAGLongestPath sequential = new DAGLongestPath(graph);
+        double expected = sequential.computeLongestPath();
+        DAGLongestPath parallel = new DAGLongestPath(graph);
+        double actual = parallel.computeLongestPathParallel();
+        
+        assertEquals(expected, actual);
+        assertEquals(sequential.getCriticalPath(), parallel.getCriticalPath());
+        assertEquals(sequential.getCriticalPathSource(), parallel.getCriticalPathSource());
+    }
+    
+    @Test
+    public void testCriticalPathIntoBuffer() {
+        Graph graph = DAGShortestPathTest.randomWideDAG(8, 30, 200, new Random(5));
+        DAGLongestPath lp = new DAGLongestPath(graph);
+        List<Integer> expected = lp.getCriticalPath();
+        
+        int[] buffer = new int[graph.getN()];
+        int length = lp.getCriticalPath(buffer);
+        
+        assertEquals(expected.size(), lp.getCriticalPathVertexCount());
+        assertEquals(expected.size(), length);
+        for (int i = 0; i < length; i++) {
+            assertEquals(expected.get(i), buffer[i]);
+        }
+        
+        // Every vertex is reachable from some start, and the critical path is one of the tree paths
+        int[] visited = new int[1];
+        lp.forEachPath((target, path, pathLength) -> {
+            visited[0]++;
+            if (target == lp.getCriticalPathTarget()) {
+                assertEquals(length, pathLength);
+            }
+        });
+        assertEquals(graph.getN(), visited[0]);
+    }
+    
+    @Test
+    public void testNodeWeightsMatchSplitGraph() {
+        Graph graph = DAGShortestPathTest.randomWideDAG(6, 30, 150, new Random(17));
+        double[] durations = new double[graph.getN()];
+        Random random = new Random(2);
+        for (int v = 0; v < durations.length; v++) {
+            durations[v] = 1 + random.nextInt(8);
+        }
+        graph.setNodeWeights(durations);
+        Graph split = DAGShortestPathTest.splitNodes(graph);
+        int n = graph.getN();
+        
+        DAGLongestPath expected = new DAGLongestPath(split);
+        double length = expected.computeLongestPath();
+        DAGLongestPath sequential = new DAGLongestPath(graph);
+        DAGLongestPath parallel = new DAGLongestPath(graph);
+        
+        assertEquals(length, sequential.computeLongestPath(), 0.001);
+        assertEquals(length, parallel.computeLongestPathParallel(), 0.001);
+        for (int v = 0; v < n; v++) {
+            assertEquals(expected.getDistances()[n + v], sequential.getDistances()[v], 0.001);
+        }
+        assertEquals(sequential.getCriticalPath(), parallel.getCriticalPath());
+        
+        KBestPaths kBest = new KBestPaths(graph, PathObjective.LONGEST);
+        assertEquals(length, kBest.nextPath().getLength(), 0.001);
+        IncrementalDAGPaths incremental = new IncrementalDAGPaths(graph, PathObjective.LONGEST);
+        assertEquals(length, incremental.getCriticalPathLength(), 0.001);
+    }
 }
-
-
@@ -0,0 +1,113 @@
+package graph.dagsp;
+
+import model.Graph;
+import org.junit.jupiter.api.Test;
+import util.AlgorithmMetrics;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for point-to-point DAG path queries.
+ */
+public class DAGPathQueryTest {
+    
+    @Test
+    public void testShortestAndLongest() {
+        // Graph: 0 -> 1 (w=5), 0 -> 2 (w=2), 1 -> 3 (w=1), 2 -> 3 (w=1), 3 -> 4 (w=1)
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 5.0);
+        graph.addEdge(0, 2, 2.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(3, 4, 1.0);
+        
+        DAGPathQuery query = new DAGPathQuery(graph);
+        
+        assertEquals(4.0, query.distance(0, 4, PathObjective.SHORTEST), 0.001);
+        assertEquals(List.of(0, 2, 3, 4), query.path(0, 4, PathObjective.SHORTEST));
+        assertEquals(7.0, query.distance(0, 4, PathObjective.LONGEST), 0.001);
+        assertEquals(List.of(0, 1, 3, 4), query.path(0, 4, PathObjective.LONGEST));
+    }
+    
+    @Test
+    public void testUnreachableTarget() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(2, 1, 1.0);
+        
+        DAGPathQuery query = new DAGPathQuery(graph);
+        
+        assertEquals(Double.POSITIVE_INFINITY, query.distance(0, 2, PathObjective.SHORTEST));
+        assertEquals(Double.NEGATIVE_INFINITY, query.distance(1, 0, PathObjective.LONGEST));
+        assertTrue(query.path(0, 2, PathObjective.SHORTEST).isEmpty());
+        assertEquals(List.of(1), query.path(1, 1, PathObjective.SHORTEST));
+    }
+    
+    @Test
+    public void testMatchesFullSweep() {
+        Graph graph = DAGShortestPathTest.randomWideDAG(8, 100, 1500, new Random(9));
+        DAGPathQuery query = new DAGPathQuery(graph, 4);
+        Random random = new Random(1);
+        
+        for (int i = 0; i < 300; i++) {
+            int source = random.nextInt(graph.getN());
+            int target = random.nextInt(graph.getN());
+            DAGShortestPath sp = new DAGShortestPath(graph, source);
+            
+            assertEquals(sp.getDistance(target), query.distance(source, target, PathObjective.SHORTEST));
+            assertEquals(sp.getPath(target), query.path(source, target, PathObjective.SHORTEST));
+        }
+    }
+    
+    @Test
+    public void testStampOverflowClearsStaleEntries() throws Exception {
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 2.0);
+        graph.addEdge(2, 3, 3.0);
+        graph.addEdge(0, 4, 1.0);
+        DAGPathQuery query = new DAGPathQuery(graph, 4);
+        
+        wrapStamp(query);
+        assertEquals(6.0, query.distance(0, 3, PathObjective.SHORTEST), 0.001);
+        wrapStamp(query);
+        assertEquals(List.of(1, 2, 3), query.path(1, 3, PathObjective.LONGEST));
+    }
+    
+    @Test
+    public void testPrunedSweepVisitsFewerEdges() {
+        // Long chain 0 -> 1 -> ... -> 999 with a side branch hanging off every vertex
+        Graph graph = new Graph(2000);
+        for (int i = 0; i < 999; i++) {
+            graph.addEdge(i, i + 1, 1.0);
+        }
+        for (int i = 0; i < 1000; i++) {
+            graph.addEdge(i, 1000 + i, 1.0);
+        }
+        
+        DAGPathQuery query = new DAGPathQuery(graph, DAGPathQuery.DEFAULT_CACHED_TARGETS, new AlgorithmMetrics());
+        assertEquals(10.0, query.distance(0, 10, PathObjective.SHORTEST), 0.001);
+        query.distance(0, 10, PathObjective.SHORTEST);
+        
+        assertTrue(query.getMetrics().getEdgeTraversals() <= 20);
+        assertEquals(0, query.getMetrics().getDfsVisits()); // ancestors served from cache
+    }
+    
+    /**
+     * Puts the query engine in the state reached after 2^32 queries: the next stamp wraps around to
+     * Integer.MIN_VALUE, which every entry still carries.
+     */
+    private static void wrapStamp(DAGPathQuery target) throws ReflectiveOperationException {
+        Field stamp = DAGPathQuery.class.getDeclaredField("stamp");
+        stamp.setAccessible(true);
+        stamp.setInt(target, Integer.MAX_VALUE);
+        Field marks = DAGPathQuery.class.getDeclaredField("visitStamp");
+        marks.setAccessible(true);
+        Arrays.fill((int[]) marks.get(target), Integer.MIN_VALUE);
+    }
+}
@@ -3,7 +3,11 @@ package graph.dagsp;
 import model.Graph;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import model.Edge;
+import util.AlgorithmMetrics;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -78,13 +82,125 @@ public class DAGShortestPathTest {
         graph.addEdge(0, 1, 1.0);
         graph.addEdge(1, 2, 1.0);
         
-        DAGShortestPath sp = new DAGShortestPath(graph, 0);
+        DAGShortestPath sp = new DAGShortestPath(graph, 0, new AlgorithmMetrics());
         sp.getDistances();
         
         assertNotNull(sp.getMetrics());
         assertTrue(sp.getMetrics().getTimeNanos() >= 0);
         assertTrue(sp.getMetrics().getRelaxations() >= 0);
     }
+    
+    @Test
+    public void testParallelMatchesSequential() {
+        // Wide random DAG with small integer weights, so equal-length paths are common
+        Graph graph = randomWideDAG(5, 3000, 30000, new Random(42));
+        
+        DAGShortestPath sequential = new DAGShortestPath(graph, 0);
+        double[] expected = sequential.computeShortestPaths().clone();
+        DAGShortestPath parallel = new DAGShortestPath(graph, 0);
+        double[] actual = parallel.computeShortestPathsParallel();
+        
+        assertArrayEquals(expected, actual);
+        for (int v = 0; v < graph.getN(); v++) {
+            assertEquals(sequential.getPath(v), parallel.getPath(v));
+        }
+    }
+    
+    @Test
+    public void testPathIntoBuffer() {
+        // Graph: 0 -> 1 (w=2) -> 2 (w=3), vertex 3 unreachable
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(1, 2, 3.0);
+        
+        DAGShortestPath sp = new DAGShortestPath(graph, 0);
+        int[] buffer = new int[graph.getN()];
+        
+        assertEquals(3, sp.getPathLength(2));
+        assertEquals(3, sp.getPath(2, buffer));
+        assertArrayEquals(new int[]{0, 1, 2}, Arrays.copyOf(buffer, 3));
+        assertEquals(0, sp.getPath(3, buffer));
+        assertThrows(IllegalArgumentException.class, () -> sp.getPath(2, new int[2]));
+    }
+    
+    @Test
+    public void testForEachPathCoversTree() {
+        Graph graph = randomWideDAG(6, 50, 400, new Random(11));
+        DAGShortestPath sp = new DAGShortestPath(graph, 3);
+        double[] dist = sp.computeShortestPaths();
+        
+        boolean[] seen = new boolean[graph.getN()];
+        sp.forEachPath((target, path, length) -> {
+            assertFalse(seen[target]);
+            seen[target] = true;
+            assertEquals(target, path[length - 1]);
+            List<Integer> expected = sp.getPath(target);
+            assertEquals(expected.size(), length);
+            for (int i = 0; i < length; i++) {
+                assertEquals(expected.get(i), path[i]);
+            }
+        });
+        for (int v = 0; v < graph.getN(); v++) {
+            assertEquals(dist[v] != Double.POSITIVE_INFINITY, seen[v]);
+        }
+    }
+    
+    /**
+     * Builds a layered DAG: every vertex has an edge from the previous layer, so each layer
+     * is exactly one topological level, plus extra edges from random earlier layers.
+     */
+    static Graph randomWideDAG(int layers, int width, int extraEdges, Random random) {
+        Graph graph = new Graph(layers * width);
+        for (int v = width; v < layers * width; v++) {
+            int layer = v / width;
+            graph.addEdge((layer - 1) * width + random.nextInt(width), v, 1 + random.nextInt(3));
+        }
+        for (int i = 0; i < extraEdges; i++) {
+            int v = width + random.nextInt((layers - 1) * width);
+            int u = random.nextInt((v / width) * width);
+            graph.addEdge(u, v, 1 + random.nextInt(3));
+        }
+        return graph;
+    }
+    
+    @Test
+    public void testNodeWeightsMatchSplitGraph() {
+        Graph graph = randomWideDAG(5, 40, 200, new Random(13));
+        double[] durations = new double[graph.getN()];
+        Random random = new Random(1);
+        for (int v = 0; v < durations.length; v++) {
+            durations[v] = random.nextInt(6);
+        }
+        graph.setNodeWeights(durations);
+        Graph split = splitNodes(graph);
+        int n = graph.getN();
+        
+        double[] expected = new DAGShortestPath(split, 5).computeShortestPaths();
+        double[] sequential = new DAGShortestPath(graph, 5).computeShortestPaths();
+        double[] parallel = new DAGShortestPath(graph, 5).computeShortestPathsParallel();
+        double[] multi = new MultiSourceDAGShortestPath(graph, new int[]{5}).getDistances(0);
+        DAGPathQuery query = new DAGPathQuery(graph);
+        for (int v = 0; v < n; v++) {
+            assertEquals(expected[n + v], sequential[v], 0.001);
+            assertEquals(expected[n + v], parallel[v], 0.001);
+            assertEquals(expected[n + v], multi[v], 0.001);
+            assertEquals(expected[n + v], query.distance(5, v, PathObjective.SHORTEST), 0.001);
+        }
+    }
+    
+    /**
+     * Expands the node weight model into the edge model: vertex v becomes v -> n + v carrying
+     * its node weight, and every edge u -> w leaves from n + u.
+     */
+    static Graph splitNodes(Graph graph) {
+        int n = graph.getN();
+        Graph split = new Graph(2 * n);
+        for (int v = 0; v < n; v++) {
+            split.addEdge(v, n + v, graph.getNodeWeight(v));
+        }
+        for (Edge edge : graph.getAllEdges()) {
+            split.addEdge(n + edge.getU(), edge.getV(), edge.getWeight());
+        }
+        return split;
+    }
 }
-
-
@@ -0,0 +1,156 @@
+package graph.dagsp;
+
+import model.Graph;
+import org.junit.jupiter.api.Test;
+import util.AlgorithmMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for incremental DAG path maintenance.
+ */
+public class IncrementalDAGPathsTest {
+    
+    @Test
+    public void testWeightUpdateMovesCriticalPath() {
+        // Graph: 0 -> 1 (w=5), 0 -> 2 (w=2), 1 -> 3 (w=1), 2 -> 3 (w=1)
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 5.0);
+        graph.addEdge(0, 2, 2.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        
+        IncrementalDAGPaths paths = new IncrementalDAGPaths(graph, PathObjective.LONGEST);
+        assertEquals(6.0, paths.getCriticalPathLength(), 0.001);
+        assertEquals(List.of(0, 1, 3), paths.getCriticalPath());
+        
+        assertTrue(paths.updateWeight(0, 2, 10.0));
+        assertEquals(11.0, paths.getCriticalPathLength(), 0.001);
+        assertEquals(List.of(0, 2, 3), paths.getCriticalPath());
+        
+        // Shortening the critical edge hands the critical path back to the other branch
+        assertTrue(paths.updateWeight(0, 2, 1.0));
+        assertEquals(6.0, paths.getCriticalPathLength(), 0.001);
+        assertEquals(List.of(0, 1, 3), paths.getCriticalPath());
+        
+        assertFalse(paths.updateWeight(3, 0, 1.0));
+    }
+    
+    @Test
+    public void testEdgeInsertion() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        
+        IncrementalDAGPaths paths = new IncrementalDAGPaths(graph, PathObjective.SHORTEST, 0);
+        assertEquals(Double.POSITIVE_INFINITY, paths.getDistance(3));
+        
+        assertTrue(paths.addEdge(1, 2, 4.0));
+        assertEquals(6.0, paths.getDistance(3), 0.001);
+        assertEquals(List.of(0, 1, 2, 3), paths.getPath(3));
+        
+        assertFalse(paths.addEdge(3, 0, 1.0));
+        assertEquals(6.0, paths.getDistance(3), 0.001);
+        // The caller's graph is not modified
+        assertEquals(2, graph.getEdgeCount());
+    }
+    
+    @Test
+    public void testUpdateTouchesOnlyAffectedCone() {
+        // Long chain 0 -> 1 -> ... -> 999 plus a side vertex 1000 hanging off the end
+        int n = 1001;
+        Graph graph = new Graph(n);
+        for (int v = 1; v < n - 1; v++) {
+            graph.addEdge(v - 1, v, 1.0);
+        }
+        graph.addEdge(n - 2, n - 1, 1.0);
+        
+        IncrementalDAGPaths paths = new IncrementalDAGPaths(graph, PathObjective.LONGEST, -1, new AlgorithmMetrics());
+        paths.updateWeight(n - 2, n - 1, 3.0);
+        
+        assertEquals(n + 1.0, paths.getCriticalPathLength(), 0.001);
+        assertTrue(paths.getMetrics().getEdgeTraversals() < 10);
+    }
+    
+    @Test
+    public void testMatchesFullRecomputation() {
+        Random random = new Random(42);
+        int n = 60;
+        List<double[]> edges = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            int u = random.nextInt(n - 1);
+            int v = u + 1 + random.nextInt(n - u - 1);
+            edges.add(new double[]{u, v, 1 + random.nextInt(9)});
+        }
+        
+        IncrementalDAGPaths longest = new IncrementalDAGPaths(build(n, edges), PathObjective.LONGEST);
+        IncrementalDAGPaths shortest = new IncrementalDAGPaths(build(n, edges), PathObjective.SHORTEST, 0);
+        
+        for (int step = 0; step < 300; step++) {
+            if (random.nextInt(4) == 0) {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                double w = 1 + random.nextInt(9);
+                boolean inserted = longest.addEdge(u, v, w);
+                assertEquals(inserted, shortest.addEdge(u, v, w));
+                if (inserted) {
+                    edges.add(new double[]{u, v, w});
+                }
+            } else {
+                double[] edge = edges.get(random.nextInt(edges.size()));
+                double w = random.nextInt(12);
+                for (double[] other : edges) {
+                    if (other[0] == edge[0] && other[1] == edge[1]) {
+                        other[2] = w;
+                    }
+                }
+                assertTrue(longest.updateWeight((int) edge[0], (int) edge[1], w));
+                assertTrue(shortest.updateWeight((int) edge[0], (int) edge[1], w));
+            }
+            
+            Graph current = build(n, edges);
+            DAGLongestPath lp = new DAGLongestPath(current);
+            assertEquals(lp.computeLongestPath(), longest.getCriticalPathLength(), 0.001);
+            assertArrayEquals(lp.getDistances(), longest.getDistances(), 0.001);
+            assertEquals(lp.getCriticalPath(), longest.getCriticalPath());
+            
+            DAGShortestPath sp = new DAGShortestPath(current, 0);
+            assertArrayEquals(sp.computeShortestPaths(), shortest.getDistances(), 0.001);
+            int target = random.nextInt(n);
+            assertEquals(sp.getPath(target), shortest.getPath(target));
+        }
+    }
+    
+    private static Graph build(int n, List<double[]> edges) {
+        Graph graph = new Graph(n);
+        for (double[] edge : edges) {
+            graph.addEdge((int) edge[0], (int) edge[1], edge[2]);
+        }
+        return graph;
+    }
+    
+    @Test
+    public void testNodeWeightUpdate() {
+        // Tasks 0 (1), 1 (5), 2 (2), 3 (1); 0 -> 1 -> 3 and 0 -> 2 -> 3
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 0.0);
+        graph.addEdge(0, 2, 0.0);
+        graph.addEdge(1, 3, 0.0);
+        graph.addEdge(2, 3, 0.0);
+        graph.setNodeWeights(new double[]{1.0, 5.0, 2.0, 1.0});
+        
+        IncrementalDAGPaths paths = new IncrementalDAGPaths(graph, PathObjective.LONGEST);
+        assertEquals(7.0, paths.getCriticalPathLength(), 0.001);
+        assertEquals(List.of(0, 1, 3), paths.getCriticalPath());
+        
+        paths.updateNodeWeight(2, 9.0);
+        assertEquals(11.0, paths.getCriticalPathLength(), 0.001);
+        assertEquals(List.of(0, 2, 3), paths.getCriticalPath());
+        // The caller's graph keeps its own durations
+        assertEquals(2.0, graph.getNodeWeight(2));
+    }
+}
@@ -0,0 +1,172 @@
+package graph.dagsp;
+
+import model.Edge;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for k-best path enumeration.
+ */
+public class KBestPathsTest {
+    
+    @Test
+    public void testDiamondInOrder() {
+        // Graph: 0 -> 1 (w=5), 0 -> 2 (w=2), 1 -> 3 (w=1), 2 -> 3 (w=1), 2 -> 4 (w=1)
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 5.0);
+        graph.addEdge(0, 2, 2.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(2, 4, 1.0);
+        
+        KBestPaths paths = new KBestPaths(graph, PathObjective.LONGEST);
+        
+        KBestPaths.RankedPath first = paths.nextPath();
+        assertEquals(6.0, first.getLength(), 0.001);
+        assertEquals(List.of(0, 1, 3), first.getVertices());
+        KBestPaths.RankedPath second = paths.nextPath();
+        assertEquals(3.0, second.getLength(), 0.001);
+        assertEquals(List.of(0, 2, 3), second.getVertices());
+        KBestPaths.RankedPath third = paths.nextPath();
+        assertEquals(3.0, third.getLength(), 0.001);
+        assertEquals(List.of(0, 2, 4), third.getVertices());
+        assertNull(paths.nextPath());
+        
+        assertEquals(3, paths.topK(10).size());
+    }
+    
+    @Test
+    public void testFirstPathIsCriticalPath() {
+        // Positive weights: the critical path ends at a sink, like every enumerated path
+        Graph graph = DAGShortestPathTest.randomWideDAG(6, 40, 300, new Random(7));
+        
+        DAGLongestPath lp = new DAGLongestPath(graph);
+        KBestPaths paths = new KBestPaths(graph, PathObjective.LONGEST);
+        KBestPaths.RankedPath best = paths.nextPath();
+        
+        assertEquals(lp.computeLongestPath(), best.getLength(), 0.001);
+        assertEquals(lp.getCriticalPath(), best.getVertices());
+    }
+    
+    @Test
+    public void testPathsEndAtSinksWithZeroWeights() {
+        // 0 -> 1 (w=5), 1 -> 2 (w=0): vertices 1 and 2 tie for the maximum distance
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 5.0);
+        graph.addEdge(1, 2, 0.0);
+        
+        DAGLongestPath lp = new DAGLongestPath(graph);
+        KBestPaths.RankedPath best = new KBestPaths(graph, PathObjective.LONGEST).nextPath();
+        
+        assertEquals(lp.computeLongestPath(), best.getLength(), 0.001);
+        assertEquals(List.of(0, 1), lp.getCriticalPath());
+        assertEquals(List.of(0, 1, 2), best.getVertices());
+    }
+    
+    @Test
+    public void testMatchesBruteForce() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 12;
+            Graph graph = new Graph(n);
+            for (int i = 0; i < 30; i++) {
+                int u = random.nextInt(n - 1);
+                int v = u + 1 + random.nextInt(n - u - 1);
+                graph.addEdge(u, v, 1 + random.nextInt(9));
+            }
+            
+            for (PathObjective objective : PathObjective.values()) {
+                List<Double> expected = new ArrayList<>();
+                boolean[] hasIncoming = new boolean[n];
+                for (Edge edge : graph.getAllEdges()) {
+                    hasIncoming[edge.getV()] = true;
+                }
+                for (int s = 0; s < n; s++) {
+                    if (!hasIncoming[s]) {
+                        enumerate(graph, s, -1, 0.0, expected);
+                    }
+                }
+                sort(expected, objective);
+                assertLengths(expected, new KBestPaths(graph, objective).topK(Integer.MAX_VALUE), graph);
+                
+                List<Double> between = new ArrayList<>();
+                enumerate(graph, 0, n - 1, 0.0, between);
+                sort(between, objective);
+                List<KBestPaths.RankedPath> found = new KBestPaths(graph, objective, 0, n - 1).topK(Integer.MAX_VALUE);
+                assertLengths(between, found, graph);
+                for (KBestPaths.RankedPath path : found) {
+                    assertEquals(0, path.getVertices().get(0));
+                    assertEquals(n - 1, path.getVertices().get(path.getVertices().size() - 1));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testThousandsOfPaths() {
+        Graph graph = DAGShortestPathTest.randomWideDAG(20, 200, 8000, new Random(3));
+        KBestPaths paths = new KBestPaths(graph, PathObjective.LONGEST);
+        
+        double previous = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < 5000; i++) {
+            KBestPaths.RankedPath path = paths.nextPath();
+            assertNotNull(path);
+            assertEquals(i, path.getRank());
+            assertTrue(path.getLength() <= previous);
+            previous = path.getLength();
+        }
+    }
+    
+    @Test
+    public void testCycleRejected() {
+        Graph graph = new Graph(2);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 0, 1.0);
+        
+        assertThrows(IllegalArgumentException.class, () -> new KBestPaths(graph, PathObjective.LONGEST));
+    }
+    
+    /**
+     * Collects the lengths of all paths from u to target (or to any sink if target is -1).
+     */
+    private static void enumerate(Graph graph, int u, int target, double length, List<Double> out) {
+        if (u == target || (target < 0 && graph.getNeighbors(u).isEmpty())) {
+            out.add(length);
+            return;
+        }
+        for (Edge edge : graph.getNeighbors(u)) {
+            enumerate(graph, edge.getV(), target, length + edge.getWeight(), out);
+        }
+    }
+    
+    private static void sort(List<Double> lengths, PathObjective objective) {
+        Collections.sort(lengths);
+        if (objective == PathObjective.LONGEST) {
+            Collections.reverse(lengths);
+        }
+    }
+    
+    /**
+     * Checks lengths in order and that every path exists in the graph with the reported length.
+     */
+    private static void assertLengths(List<Double> expected, List<KBestPaths.RankedPath> actual, Graph graph) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            KBestPaths.RankedPath path = actual.get(i);
+            assertEquals(expected.get(i), path.getLength(), 0.001);
+            List<Integer> vertices = path.getVertices();
+            for (int j = 0; j + 1 < vertices.size(); j++) {
+                int u = vertices.get(j);
+                int v = vertices.get(j + 1);
+                assertTrue(graph.getNeighbors(u).stream().anyMatch(edge -> edge.getV() == v));
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package graph.dagsp;
+
+import model.Graph;
+import org.junit.jupiter.api.Test;
+import util.AlgorithmMetrics;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for batched multi-source DAG shortest paths.
+ */
+public class MultiSourceDAGShortestPathTest {
+    
+    @Test
+    public void testTwoSources() {
+        // Graph: 0 -> 1 (w=2), 1 -> 2 (w=3), 3 -> 2 (w=1)
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(1, 2, 3.0);
+        graph.addEdge(3, 2, 1.0);
+        
+        MultiSourceDAGShortestPath msp = new MultiSourceDAGShortestPath(graph, new int[]{0, 3});
+        msp.computeShortestPaths();
+        
+        assertEquals(5.0, msp.getDistance(0, 2), 0.001);
+        assertEquals(1.0, msp.getDistance(1, 2), 0.001);
+        assertEquals(Double.POSITIVE_INFINITY, msp.getDistance(1, 0));
+        assertEquals(0.0, msp.getDistance(1, 3), 0.001);
+    }
+    
+    @Test
+    public void testMatchesSingleSource() {
+        Graph graph = DAGShortestPathTest.randomWideDAG(6, 200, 3000, new Random(11));
+        int[] sources = {0, 5, 17, 250, 420, 999, 1100};
+        
+        MultiSourceDAGShortestPath msp = new MultiSourceDAGShortestPath(graph, sources, new AlgorithmMetrics());
+        msp.computeShortestPaths();
+        
+        for (int i = 0; i < sources.length; i++) {
+            double[] expected = new DAGShortestPath(graph, sources[i]).computeShortestPaths();
+            assertArrayEquals(expected, msp.getDistances(i));
+        }
+        assertTrue(msp.getMetrics().getEdgeTraversals() <= graph.getEdgeCount());
+    }
+    
+    @Test
+    public void testRejectsInvalidSources() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1.0);
+        
+        assertThrows(IllegalArgumentException.class, () -> new MultiSourceDAGShortestPath(graph, new int[]{0, 3}));
+        assertThrows(IllegalArgumentException.class, () -> new MultiSourceDAGShortestPath(graph, new int[]{-1}));
+    }
+    
+    @Test
+    public void testRejectsOversizedBatch() {
+        Graph graph = new Graph(1 << 16);
+        int[] sources = new int[1 << 15];
+        
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new MultiSourceDAGShortestPath(graph, sources));
+        assertTrue(e.getMessage().contains("Too many sources"));
+    }
+}
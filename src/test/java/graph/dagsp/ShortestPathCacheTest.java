@@ -0,0 +1,98 @@
+package graph.dagsp;
+
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the LRU cache of single-source path results.
+ */
+public class ShortestPathCacheTest {
+    
+    private static Graph diamond() {
+        // Graph: 0 -> 1 (w=5), 0 -> 2 (w=2), 1 -> 3 (w=1), 2 -> 3 (w=1)
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 5.0);
+        graph.addEdge(0, 2, 2.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        return graph;
+    }
+    
+    @Test
+    public void testHitsAndMisses() {
+        ShortestPathCache cache = new ShortestPathCache(diamond(), 4);
+        
+        ShortestPathCache.Result first = cache.get(0, PathObjective.SHORTEST);
+        ShortestPathCache.Result second = cache.get(0, PathObjective.SHORTEST);
+        
+        assertSame(first, second);
+        assertEquals(3.0, second.getDistance(3), 0.001);
+        assertEquals(List.of(0, 2, 3), second.getPath(3));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate(), 0.001);
+    }
+    
+    @Test
+    public void testObjectivesCachedSeparately() {
+        ShortestPathCache cache = new ShortestPathCache(diamond(), 4);
+        
+        ShortestPathCache.Result longest = cache.get(0, PathObjective.LONGEST);
+        
+        assertEquals(6.0, longest.getDistance(3), 0.001);
+        assertEquals(List.of(0, 1, 3), longest.getPath(3));
+        assertEquals(3.0, cache.get(0, PathObjective.SHORTEST).getDistance(3), 0.001);
+        assertEquals(2, cache.getMisses());
+    }
+    
+    @Test
+    public void testLeastRecentlyUsedEvicted() {
+        ShortestPathCache cache = new ShortestPathCache(diamond(), 2);
+        
+        cache.get(0, PathObjective.SHORTEST);
+        cache.get(1, PathObjective.SHORTEST);
+        cache.get(0, PathObjective.SHORTEST); // 1 is now least recently used
+        cache.get(2, PathObjective.SHORTEST);
+        
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        cache.get(0, PathObjective.SHORTEST);
+        assertEquals(2, cache.getHits());
+    }
+    
+    @Test
+    public void testGraphChangeInvalidates() {
+        Graph graph = diamond();
+        ShortestPathCache cache = new ShortestPathCache(graph, 4);
+        assertEquals(3.0, cache.get(0, PathObjective.SHORTEST).getDistance(3), 0.001);
+        
+        graph.addEdge(0, 3, 1.0);
+        
+        assertEquals(1.0, cache.get(0, PathObjective.SHORTEST).getDistance(3), 0.001);
+        assertEquals(0, cache.getHits());
+        // The entry of the old version is dropped, not left to age out
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.getEvictions());
+    }
+    
+    @Test
+    public void testNodeWeightsAreCopied() {
+        Graph graph = diamond();
+        double[] durations = {0.0, 0.0, 0.0, 0.0};
+        graph.setNodeWeights(durations);
+        ShortestPathCache cache = new ShortestPathCache(graph, 4);
+        assertEquals(3.0, cache.get(0, PathObjective.SHORTEST).getDistance(3), 0.001);
+        
+        // Changing the caller's array must not change the graph behind the cache's back
+        durations[2] = 10.0;
+        assertEquals(0.0, graph.getNodeWeight(2));
+        assertEquals(3.0, cache.get(0, PathObjective.SHORTEST).getDistance(3), 0.001);
+        
+        graph.setNodeWeights(durations);
+        assertEquals(6.0, cache.get(0, PathObjective.SHORTEST).getDistance(3), 0.001);
+    }
+}
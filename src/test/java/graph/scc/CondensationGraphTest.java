@@ -2,6 +2,7 @@ package graph.scc;
 
 import model.Graph;
 import org.junit.jupiter.api.Test;
+import util.AlgorithmMetrics;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -62,12 +63,29 @@ public class CondensationGraphTest {
         var sccs = tarjan.findSCCs();
         int[] vertexToSCC = tarjan.getVertexToSCCMapping();
         
-        CondensationGraph condensation = new CondensationGraph(graph, sccs, vertexToSCC);
+        CondensationGraph condensation = new CondensationGraph(graph, sccs, vertexToSCC, new AlgorithmMetrics());
         condensation.build();
         
         assertNotNull(condensation.getMetrics());
         assertTrue(condensation.getMetrics().getTimeNanos() >= 0);
     }
+    
+    @Test
+    public void testComponentWeightIsSumOfDurations() {
+        // SCC {0, 1} with durations 2 + 3, SCC {2} with duration 4
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 0.0);
+        graph.addEdge(1, 0, 0.0);
+        graph.addEdge(1, 2, 0.0);
+        graph.setNodeWeights(new double[]{2.0, 3.0, 4.0});
+        
+        TarjanSCC tarjan = new TarjanSCC(graph);
+        var sccs = tarjan.findSCCs();
+        int[] vertexToSCC = tarjan.getVertexToSCCMapping();
+        Graph condGraph = new CondensationGraph(graph, sccs, vertexToSCC).build();
+        
+        assertTrue(condGraph.isNodeWeighted());
+        assertEquals(5.0, condGraph.getNodeWeight(vertexToSCC[0]), 0.001);
+        assertEquals(4.0, condGraph.getNodeWeight(vertexToSCC[2]), 0.001);
+    }
 }
-
-
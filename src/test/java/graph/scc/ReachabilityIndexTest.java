@@ -0,0 +1,129 @@
+package graph.scc;
+
+import model.Edge;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the condensation reachability index.
+ */
+public class ReachabilityIndexTest {
+    
+    private static CondensationGraph condense(Graph graph) {
+        TarjanSCC tarjan = new TarjanSCC(graph);
+        var sccs = tarjan.findSCCs();
+        CondensationGraph condensation = new CondensationGraph(graph, sccs, tarjan.getVertexToSCCMapping());
+        condensation.build();
+        return condensation;
+    }
+    
+    @Test
+    public void testSimpleGraph() {
+        // SCC {0, 1} -> 2 -> 3, vertex 4 isolated
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 0, 1.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        
+        ReachabilityIndex index = new ReachabilityIndex(condense(graph));
+        
+        assertTrue(index.usesTransitiveClosure());
+        assertTrue(index.reachable(1, 0));
+        assertTrue(index.reachable(0, 3));
+        assertFalse(index.reachable(3, 0));
+        assertFalse(index.reachable(0, 4));
+        assertTrue(index.reachable(4, 4));
+    }
+    
+    @Test
+    public void testClosureMatchesSearch() {
+        Graph graph = randomGraph(150, 260, new Random(1));
+        assertAgreesWithSearch(graph, new ReachabilityIndex(condense(graph)));
+    }
+    
+    @Test
+    public void testIntervalLabelsMatchSearch() {
+        Graph graph = randomGraph(150, 260, new Random(2));
+        ReachabilityIndex index = new ReachabilityIndex(condense(graph), 0, 3, 7L);
+        
+        assertFalse(index.usesTransitiveClosure());
+        assertAgreesWithSearch(graph, index);
+    }
+    
+    @Test
+    public void testStampOverflowClearsStaleEntries() throws Exception {
+        // One label leaves many pairs to the search
+        Graph graph = randomGraph(150, 260, new Random(3));
+        ReachabilityIndex index = new ReachabilityIndex(condense(graph), 0, 1, 5L);
+        ReachabilityIndex reference = new ReachabilityIndex(condense(graph), 0, 1, 5L);
+        
+        int n = graph.getN();
+        for (int u = 0; u < n; u++) {
+            for (int v = 0; v < n; v++) {
+                wrapStamp(index);
+                assertEquals(reference.reachable(u, v), index.reachable(u, v), u + " -> " + v);
+            }
+        }
+    }
+    
+    private static void assertAgreesWithSearch(Graph graph, ReachabilityIndex index) {
+        int n = graph.getN();
+        for (int u = 0; u < n; u++) {
+            boolean[] seen = new boolean[n];
+            Deque<Integer> queue = new ArrayDeque<>();
+            queue.add(u);
+            seen[u] = true;
+            while (!queue.isEmpty()) {
+                for (Edge edge : graph.getNeighbors(queue.poll())) {
+                    if (!seen[edge.getV()]) {
+                        seen[edge.getV()] = true;
+                        queue.add(edge.getV());
+                    }
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                assertEquals(seen[v], index.reachable(u, v), u + " -> " + v);
+            }
+        }
+    }
+    
+    private static Graph randomGraph(int n, int m, Random random) {
+        Graph graph = new Graph(n);
+        for (int i = 0; i < m; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            // Mostly forward edges with occasional back edges to form small SCCs
+            if (u > v && random.nextInt(8) != 0) {
+                int tmp = u;
+                u = v;
+                v = tmp;
+            }
+            if (u != v) {
+                graph.addEdge(u, v, 1.0);
+            }
+        }
+        return graph;
+    }
+    
+    /**
+     * Puts the index in the state reached after 2^32 searches: the next stamp wraps around to
+     * Integer.MIN_VALUE, which every entry still carries.
+     */
+    private static void wrapStamp(ReachabilityIndex target) throws ReflectiveOperationException {
+        Field stamp = ReachabilityIndex.class.getDeclaredField("stamp");
+        stamp.setAccessible(true);
+        stamp.setInt(target, Integer.MAX_VALUE);
+        Field marks = ReachabilityIndex.class.getDeclaredField("visitStamp");
+        marks.setAccessible(true);
+        Arrays.fill((int[]) marks.get(target), Integer.MIN_VALUE);
+    }
+}
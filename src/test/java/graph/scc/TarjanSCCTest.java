@@ -2,6 +2,7 @@ package graph.scc;
 
 import model.Graph;
 import org.junit.jupiter.api.Test;
+import util.AlgorithmMetrics;
 
 import java.util.List;
 import java.util.Set;
@@ -84,7 +85,7 @@ public class TarjanSCCTest {
         graph.addEdge(0, 1, 1.0);
         graph.addEdge(1, 0, 1.0);
         
-        TarjanSCC tarjan = new TarjanSCC(graph);
+        TarjanSCC tarjan = new TarjanSCC(graph, new AlgorithmMetrics());
         tarjan.findSCCs();
         
         assertNotNull(tarjan.getMetrics());
@@ -0,0 +1,134 @@
+package graph.sp;
+
+import graph.dagsp.DAGShortestPath;
+import model.Edge;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+import util.AlgorithmMetrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for Dijkstra shortest paths.
+ */
+public class DijkstraShortestPathTest {
+    
+    @Test
+    public void testCycle() {
+        // Graph: 0 -> 1 (w=1) -> 2 (w=2) -> 0 (w=1), 1 -> 3 (w=5), 2 -> 3 (w=1)
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 2.0);
+        graph.addEdge(2, 0, 1.0);
+        graph.addEdge(1, 3, 5.0);
+        graph.addEdge(2, 3, 1.0);
+        
+        DijkstraShortestPath sp = new DijkstraShortestPath(graph, 1);
+        
+        assertEquals(3.0, sp.getDistance(0), 0.001);
+        assertEquals(3.0, sp.getDistance(3), 0.001);
+        assertEquals(List.of(1, 2, 0), sp.getPath(0));
+        assertEquals(List.of(1, 2, 3), sp.getPath(3));
+        assertEquals(Double.POSITIVE_INFINITY, sp.getDistance(4));
+        assertTrue(sp.getPath(4).isEmpty());
+    }
+    
+    @Test
+    public void testMatchesBellmanFord() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 40;
+            Graph graph = new Graph(n);
+            for (int i = 0; i < 150; i++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(10));
+            }
+            
+            DijkstraShortestPath sp = new DijkstraShortestPath(graph, 0);
+            double[] dist = sp.computeShortestPaths();
+            
+            assertArrayEquals(bellmanFord(graph, 0), dist, 0.001);
+            for (int v = 0; v < n; v++) {
+                List<Integer> path = sp.getPath(v);
+                if (dist[v] == Double.POSITIVE_INFINITY) {
+                    assertTrue(path.isEmpty());
+                } else {
+                    assertEquals(0, path.get(0));
+                    assertEquals(v, path.get(path.size() - 1));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testMatchesDAGShortestPath() {
+        Random random = new Random(7);
+        int n = 200;
+        Graph graph = new Graph(n);
+        for (int i = 0; i < 1000; i++) {
+            int u = random.nextInt(n - 1);
+            graph.addEdge(u, u + 1 + random.nextInt(n - u - 1), 1 + random.nextInt(20));
+        }
+        
+        double[] expected = new DAGShortestPath(graph, 0).computeShortestPaths();
+        double[] actual = new DijkstraShortestPath(graph, 0).computeShortestPaths();
+        
+        assertArrayEquals(expected, actual, 0.001);
+    }
+    
+    @Test
+    public void testNegativeWeightRejected() {
+        Graph graph = new Graph(2);
+        graph.addEdge(0, 1, -1.0);
+        
+        DijkstraShortestPath sp = new DijkstraShortestPath(graph, 0);
+        assertThrows(IllegalArgumentException.class, sp::computeShortestPaths);
+    }
+    
+    @Test
+    public void testMetrics() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 4.0);
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(2, 1, 1.0);
+        
+        DijkstraShortestPath sp = new DijkstraShortestPath(graph, 0, new AlgorithmMetrics());
+        sp.computeShortestPaths();
+        
+        // Vertex 1 is inserted with 4, then decreased to 2
+        assertEquals(3, sp.getMetrics().getRelaxations());
+        assertEquals(3, sp.getMetrics().getEdgeTraversals());
+        assertTrue(sp.getMetrics().getQueueOperations() >= 6);
+    }
+    
+    private static double[] bellmanFord(Graph graph, int source) {
+        double[] dist = new double[graph.getN()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0.0;
+        for (int i = 1; i < graph.getN(); i++) {
+            for (Edge edge : graph.getAllEdges()) {
+                if (dist[edge.getU()] + edge.getWeight() < dist[edge.getV()]) {
+                    dist[edge.getV()] = dist[edge.getU()] + edge.getWeight();
+                }
+            }
+        }
+        return dist;
+    }
+    
+    @Test
+    public void testNodeWeightsOnCycle() {
+        // Cycle 0 -> 1 -> 2 -> 0 with free edges; durations 1, 2, 3
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 0.0);
+        graph.addEdge(1, 2, 0.0);
+        graph.addEdge(2, 0, 0.0);
+        graph.setNodeWeights(new double[]{1.0, 2.0, 3.0});
+        
+        double[] expected = {1.0, 3.0, 6.0};
+        assertArrayEquals(expected, new DijkstraShortestPath(graph, 0).computeShortestPaths(), 0.001);
+        assertArrayEquals(expected, new HybridSCCShortestPath(graph, 0).computeShortestPaths(), 0.001);
+    }
+}
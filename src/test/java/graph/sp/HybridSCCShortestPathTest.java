@@ -0,0 +1,165 @@
+package graph.sp;
+
+import graph.dagsp.DAGShortestPath;
+import graph.scc.TarjanSCC;
+import model.Edge;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+import util.AlgorithmMetrics;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for SCC-decomposed hybrid shortest paths.
+ */
+public class HybridSCCShortestPathTest {
+    
+    @Test
+    public void testMatchesDijkstraOnManySmallSCCs() {
+        Random random = new Random(42);
+        Graph graph = manySmallSCCs(300, 4, 900, random);
+        
+        for (int source : new int[]{0, 17, 250}) {
+            DijkstraShortestPath dijkstra = new DijkstraShortestPath(graph, source);
+            HybridSCCShortestPath hybrid = new HybridSCCShortestPath(graph, source);
+            
+            assertArrayEquals(dijkstra.computeShortestPaths(), hybrid.computeShortestPaths(), 1e-9);
+            for (int v = 0; v < graph.getN(); v += 7) {
+                List<Integer> path = hybrid.getPath(v);
+                if (!path.isEmpty()) {
+                    assertEquals(source, path.get(0));
+                    assertEquals(v, path.get(path.size() - 1));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testHeapOnlyForCyclicComponents() {
+        // Vertices in blocks of 4; every 10th block is a 4-cycle, all other vertices are trivial SCCs
+        Random random = new Random(5);
+        int n = 4000;
+        Graph graph = new Graph(n);
+        int cyclic = 0;
+        for (int block = 0; block < n / 4; block++) {
+            if (block % 10 == 0) {
+                for (int i = 0; i < 4; i++) {
+                    graph.addEdge(block * 4 + i, block * 4 + (i + 1) % 4, 1 + random.nextInt(5));
+                }
+                cyclic += 4;
+            }
+            if (block + 1 < n / 4) {
+                graph.addEdge(block * 4 + 3, block * 4 + 4, 10);
+            }
+        }
+        for (int v = 0; v < n - 4; v++) {
+            graph.addEdge(v, (v / 4 + 1) * 4 + random.nextInt(Math.min(40, n - (v / 4 + 1) * 4)), 1 + random.nextInt(20));
+        }
+        
+        DijkstraShortestPath dijkstra = new DijkstraShortestPath(graph, 0, new AlgorithmMetrics());
+        HybridSCCShortestPath hybrid = new HybridSCCShortestPath(graph, 0, null, new AlgorithmMetrics());
+        
+        assertArrayEquals(dijkstra.computeShortestPaths(), hybrid.computeShortestPaths(), 1e-9);
+        // At most one insert, one poll and one decrease-key per intra-cycle edge for cyclic vertices
+        assertTrue(hybrid.getMetrics().getQueueOperations() <= 3L * cyclic);
+        assertTrue(hybrid.getMetrics().getQueueOperations() < dijkstra.getMetrics().getQueueOperations());
+    }
+    
+    @Test
+    public void testDAGNeedsNoHeap() {
+        Random random = new Random(9);
+        int n = 100;
+        Graph graph = new Graph(n);
+        for (int i = 0; i < 400; i++) {
+            int u = random.nextInt(n - 1);
+            graph.addEdge(u, u + 1 + random.nextInt(n - u - 1), random.nextInt(10) - 3);
+        }
+        
+        HybridSCCShortestPath hybrid = new HybridSCCShortestPath(graph, 0, null, new AlgorithmMetrics());
+        double[] expected = new DAGShortestPath(graph, 0).computeShortestPaths();
+        
+        assertArrayEquals(expected, hybrid.computeShortestPaths(), 1e-9);
+        assertEquals(0, hybrid.getMetrics().getQueueOperations());
+    }
+    
+    @Test
+    public void testNegativeEdgesBetweenComponents() {
+        // SCC {1, 2} reached through a negative edge, left through another one
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, -2.0);
+        graph.addEdge(1, 2, 3.0);
+        graph.addEdge(2, 1, 1.0);
+        graph.addEdge(2, 3, -5.0);
+        graph.addEdge(0, 3, 0.0);
+        
+        List<List<Integer>> sccs = new TarjanSCC(graph).findSCCs();
+        HybridSCCShortestPath hybrid = new HybridSCCShortestPath(graph, 0, sccs);
+        
+        assertArrayEquals(bellmanFord(graph, 0), hybrid.computeShortestPaths(), 1e-9);
+        assertEquals(List.of(0, 1, 2, 3), hybrid.getPath(3));
+    }
+    
+    @Test
+    public void testNegativeEdgeInsideSCCRejected() {
+        Graph graph = new Graph(2);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 0, -1.0);
+        
+        HybridSCCShortestPath hybrid = new HybridSCCShortestPath(graph, 0);
+        assertThrows(IllegalArgumentException.class, hybrid::computeShortestPaths);
+    }
+    
+    @Test
+    public void testZeroCostSelfLoopIsNotItsOwnParent() {
+        Graph graph = new Graph(3);
+        graph.addEdge(2, 0, 1.0);
+        graph.addEdge(0, 0, 0.0);
+        
+        HybridSCCShortestPath hybrid = new HybridSCCShortestPath(graph, 2);
+        hybrid.computeShortestPaths();
+        
+        assertEquals(2, hybrid.getParents()[0]);
+        assertEquals(List.of(2, 0), hybrid.getPath(0));
+        assertEquals(new DijkstraShortestPath(graph, 2).getPath(0), hybrid.getPath(0));
+    }
+    
+    /**
+     * Builds small cycles of the given size, chained one after another, plus random edges that
+     * keep the cycles apart (always from a lower to a higher cycle).
+     */
+    static Graph manySmallSCCs(int cycles, int size, int extraEdges, Random random) {
+        Graph graph = new Graph(cycles * size);
+        for (int c = 0; c < cycles; c++) {
+            for (int i = 0; i < size; i++) {
+                graph.addEdge(c * size + i, c * size + (i + 1) % size, 1 + random.nextInt(5));
+            }
+            if (c + 1 < cycles) {
+                graph.addEdge(c * size, (c + 1) * size, 50);
+            }
+        }
+        for (int i = 0; i < extraEdges; i++) {
+            int from = random.nextInt(cycles - 1);
+            int to = from + 1 + random.nextInt(Math.min(10, cycles - from - 1));
+            graph.addEdge(from * size + random.nextInt(size), to * size + random.nextInt(size), 1 + random.nextInt(20));
+        }
+        return graph;
+    }
+    
+    private static double[] bellmanFord(Graph graph, int source) {
+        double[] dist = new double[graph.getN()];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        dist[source] = 0.0;
+        for (int i = 1; i < graph.getN(); i++) {
+            for (Edge edge : graph.getAllEdges()) {
+                if (dist[edge.getU()] + edge.getWeight() < dist[edge.getV()]) {
+                    dist[edge.getV()] = dist[edge.getU()] + edge.getWeight();
+                }
+            }
+        }
+        return dist;
+    }
+}
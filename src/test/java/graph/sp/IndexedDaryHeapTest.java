@@ -0,0 +1,72 @@
+package graph.sp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the indexed d-ary heap.
+ */
+public class IndexedDaryHeapTest {
+    
+    @Test
+    public void testPollOrderWithDecreaseKey() {
+        Random random = new Random(42);
+        for (int arity = 2; arity <= 5; arity++) {
+            int n = 500;
+            IndexedDaryHeap heap = new IndexedDaryHeap(n, arity);
+            double[] key = new double[n];
+            for (int i = 0; i < n; i++) {
+                key[i] = random.nextInt(1000);
+                heap.insert(i, key[i]);
+            }
+            for (int i = 0; i < n; i += 3) {
+                key[i] -= random.nextInt(500);
+                heap.decreaseKey(i, key[i]);
+            }
+            
+            double previous = Double.NEGATIVE_INFINITY;
+            boolean[] polled = new boolean[n];
+            while (!heap.isEmpty()) {
+                int item = heap.poll();
+                assertFalse(polled[item]);
+                polled[item] = true;
+                assertTrue(key[item] >= previous);
+                previous = key[item];
+                assertFalse(heap.contains(item));
+            }
+        }
+    }
+    
+    @Test
+    public void testContainsAndClear() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(4);
+        heap.insert(2, 5.0);
+        heap.insert(0, 1.0);
+        
+        assertTrue(heap.contains(2));
+        assertFalse(heap.contains(1));
+        assertEquals(0, heap.peek());
+        assertEquals(5.0, heap.getKey(2));
+        
+        heap.clear();
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(2));
+        heap.insert(2, 3.0);
+        assertEquals(1, heap.size());
+    }
+    
+    @Test
+    public void testInvalidOperations() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(3);
+        heap.insert(1, 2.0);
+        
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(1, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 3.0));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(0, 1.0));
+        heap.poll();
+        assertThrows(IllegalStateException.class, heap::poll);
+    }
+}
@@ -0,0 +1,113 @@
+package graph.topo;
+
+import model.Edge;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for incremental topological order maintenance.
+ */
+public class DynamicTopologicalOrderTest {
+    
+    @Test
+    public void testInsertionReordersAffectedRegion() {
+        // Initial order 0, 1, 2, 3; inserting 3 -> 1 forces 3 before 1
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(4);
+        assertTrue(order.addEdge(1, 2, 1.0));
+        assertTrue(order.addEdge(3, 1, 1.0));
+        
+        assertTrue(order.getPosition(3) < order.getPosition(1));
+        assertTrue(order.getPosition(1) < order.getPosition(2));
+        assertEquals(2, order.getGraph().getEdgeCount());
+    }
+    
+    @Test
+    public void testCycleRejected() {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(3);
+        assertTrue(order.addEdge(0, 1, 1.0));
+        assertTrue(order.addEdge(1, 2, 1.0));
+        
+        assertFalse(order.addEdge(2, 0, 1.0));
+        assertFalse(order.addEdge(1, 1, 1.0));
+        assertEquals(2, order.getGraph().getEdgeCount());
+        assertEquals(List.of(0, 1, 2), order.getOrder());
+    }
+    
+    @Test
+    public void testInitialGraphWithCycleRejected() {
+        Graph graph = new Graph(2);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 0, 1.0);
+        
+        assertThrows(IllegalArgumentException.class, () -> new DynamicTopologicalOrder(graph));
+    }
+    
+    @Test
+    public void testRandomInsertionsMatchStaticSort() {
+        Random random = new Random(7);
+        int n = 200;
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(n);
+        
+        for (int i = 0; i < 2000; i++) {
+            int u = random.nextInt(n);
+            int v = random.nextInt(n);
+            boolean accepted = order.addEdge(u, v, 1.0);
+            
+            // Accepted iff the static check still finds the graph acyclic
+            Graph probe = copyWithEdge(order.getGraph(), u, v, accepted);
+            assertEquals(accepted, new TopologicalSort(probe).kahnTopologicalSort() != null);
+        }
+        
+        for (Edge edge : order.getGraph().getAllEdges()) {
+            assertTrue(order.getPosition(edge.getU()) < order.getPosition(edge.getV()));
+        }
+    }
+    
+    @Test
+    public void testMarkOverflowClearsStaleMarks() throws Exception {
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(4);
+        
+        wrapStamp(order);
+        assertTrue(order.addEdge(3, 2, 1.0));
+        wrapStamp(order);
+        assertTrue(order.addEdge(2, 1, 1.0));
+        wrapStamp(order);
+        assertTrue(order.addEdge(1, 0, 1.0));
+        wrapStamp(order);
+        assertFalse(order.addEdge(0, 3, 1.0));
+        assertTrue(order.getPosition(3) < order.getPosition(2));
+        assertTrue(order.getPosition(2) < order.getPosition(1));
+        assertTrue(order.getPosition(1) < order.getPosition(0));
+    }
+    
+    private static Graph copyWithEdge(Graph graph, int u, int v, boolean alreadyPresent) {
+        Graph copy = new Graph(graph.getN());
+        for (Edge edge : graph.getAllEdges()) {
+            copy.addEdge(edge.getU(), edge.getV(), edge.getWeight());
+        }
+        if (!alreadyPresent) {
+            copy.addEdge(u, v, 1.0);
+        }
+        return copy;
+    }
+    
+    /**
+     * Puts the order in the state reached after 2^32 searches: the next stamp wraps around to
+     * Integer.MIN_VALUE, which every entry still carries.
+     */
+    private static void wrapStamp(DynamicTopologicalOrder target) throws ReflectiveOperationException {
+        Field stamp = DynamicTopologicalOrder.class.getDeclaredField("stamp");
+        stamp.setAccessible(true);
+        stamp.setInt(target, Integer.MAX_VALUE);
+        Field marks = DynamicTopologicalOrder.class.getDeclaredField("mark");
+        marks.setAccessible(true);
+        Arrays.fill((int[]) marks.get(target), Integer.MIN_VALUE);
+    }
+}
@@ -2,6 +2,7 @@ package graph.topo;
 
 import model.Graph;
 import org.junit.jupiter.api.Test;
+import util.AlgorithmMetrics;
 
 import java.util.List;
 
@@ -96,12 +97,66 @@ public class TopologicalSortTest {
         graph.addEdge(0, 1, 1.0);
         graph.addEdge(1, 2, 1.0);
         
-        TopologicalSort topo = new TopologicalSort(graph);
+        TopologicalSort topo = new TopologicalSort(graph, new AlgorithmMetrics());
         topo.kahnTopologicalSort();
         
         assertNotNull(topo.getMetrics());
         assertTrue(topo.getMetrics().getTimeNanos() >= 0);
     }
+    
+    @Test
+    public void testParallelKahnLevels() {
+        // Diamond: 0 -> 1, 0 -> 2, 1 -> 3, 2 -> 3, plus shortcut 0 -> 3
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(0, 2, 1.0);
+        graph.addEdge(1, 3, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        graph.addEdge(0, 3, 1.0);
+        
+        TopologicalSort topo = new TopologicalSort(graph);
+        List<Integer> order = topo.parallelKahnTopologicalSort();
+        
+        assertEquals(List.of(0, 1, 2, 3), order);
+        assertArrayEquals(new int[]{0, 1, 1, 2}, topo.getLevels());
+    }
+    
+    @Test
+    public void testParallelKahnCycleDetection() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(2, 1, 1.0);
+        graph.addEdge(2, 3, 1.0);
+        
+        TopologicalSort topo = new TopologicalSort(graph);
+        assertNull(topo.parallelKahnTopologicalSort());
+        assertNull(topo.getLevels());
+    }
+    
+    @Test
+    public void testParallelKahnWideGraph() {
+        // 5000 independent tasks fanning out from one root and into one sink
+        int width = 5000;
+        Graph graph = new Graph(width + 2);
+        int sink = width + 1;
+        for (int i = 1; i <= width; i++) {
+            graph.addEdge(0, i, 1.0);
+            graph.addEdge(i, sink, 1.0);
+        }
+        
+        TopologicalSort topo = new TopologicalSort(graph, new AlgorithmMetrics());
+        List<Integer> order = topo.parallelKahnTopologicalSort();
+        
+        assertNotNull(order);
+        assertEquals(width + 2, order.size());
+        assertEquals(0, order.get(0));
+        assertEquals(sink, order.get(width + 1));
+        int[] levels = topo.getLevels();
+        for (int i = 1; i <= width; i++) {
+            assertEquals(1, levels[i]);
+        }
+        assertEquals(2, levels[sink]);
+        assertEquals(2L * graph.getEdgeCount(), topo.getMetrics().getEdgeTraversals());
+    }
 }
-
-
@@ -0,0 +1,42 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.AlgorithmMetrics;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for loading GraphData from JSON.
+ */
+public class GraphDataTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    public void testLoadsFileWithEdges() throws Exception {
+        Path file = tempDir.resolve("graph.json");
+        Files.writeString(file, "{\"directed\": true, \"n\": 2, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 2.5}]}");
+        
+        GraphData data = GraphData.loadFromFile(file.toString(), new AlgorithmMetrics());
+        assertEquals(2, data.getN());
+        assertEquals(1, data.getEdges().size());
+        assertEquals(2.5, data.getEdges().get(0).getW(), 0.001);
+    }
+    
+    @Test
+    public void testLoadsFileWithoutEdges() throws Exception {
+        Path file = tempDir.resolve("graph.json");
+        Files.writeString(file, "{\"directed\": true, \"n\": 3}");
+        
+        AlgorithmMetrics metrics = new AlgorithmMetrics();
+        GraphData data = GraphData.loadFromFile(file.toString(), metrics);
+        assertEquals(3, data.getN());
+        assertTrue(data.getEdges().isEmpty());
+        assertTrue(metrics.getTimeNanos() > 0);
+    }
+}
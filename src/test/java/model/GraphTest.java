@@ -65,5 +65,30 @@ public class GraphTest {
         assertEquals(2, graph.getN());
         assertEquals(1, graph.getEdgeCount());
     }
+    
+    @Test
+    public void testNodeWeightModelFromGraphData() {
+        GraphData data = new GraphData();
+        data.setN(3);
+        data.setDirected(true);
+        data.setEdges(java.util.Arrays.asList(new GraphData.EdgeData(0, 1, 0.0)));
+        data.setWeightModel("node");
+        data.setDurations(new double[]{2.0, 3.0, 4.0});
+        
+        Graph graph = new Graph(data);
+        assertTrue(graph.isNodeWeighted());
+        assertEquals(3.0, graph.getNodeWeight(1));
+        assertArrayEquals(new double[]{2.0, 3.0, 4.0}, graph.getNodeWeights());
+        assertEquals(4.0, graph.reverse().getNodeWeight(2));
+        
+        Graph edgeModel = new Graph(2);
+        assertFalse(edgeModel.isNodeWeighted());
+        assertEquals(0.0, edgeModel.getNodeWeight(1));
+        // The edge model stores no weight array
+        assertNull(edgeModel.getNodeWeights());
+        assertNull(CompactGraph.of(edgeModel).getNodeWeights());
+        assertEquals(0.0, CompactGraph.of(edgeModel).getNodeWeight(1));
+        assertEquals(3.0, CompactGraph.reverseOf(graph).getNodeWeight(1));
+        assertThrows(IllegalArgumentException.class, () -> edgeModel.setNodeWeights(new double[3]));
+    }
 }
-
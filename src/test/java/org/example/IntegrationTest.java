@@ -8,8 +8,11 @@ import graph.topo.TopologicalSort;
 import model.Graph;
 import model.GraphData;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -102,5 +105,16 @@ public class IntegrationTest {
         List<Integer> order = topo.kahnTopologicalSort();
         assertNotNull(order);
     }
+    
+    @Test
+    public void testMainExportsMetrics(@TempDir Path tempDir) throws IOException {
+        Path out = tempDir.resolve("metrics.csv");
+        Main.main(new String[] {"data/tasks.json", "--metrics-format=csv", "--metrics-out=" + out});
+        
+        List<String> lines = Files.readAllLines(out);
+        assertTrue(lines.get(0).startsWith("timestamp,vertices,edges,sccs,"));
+        assertTrue(lines.stream().anyMatch(line -> line.contains(",SCC,")));
+        assertTrue(lines.stream().anyMatch(line -> line.contains(",LONGEST,")));
+        assertTrue(lines.stream().anyMatch(line -> line.contains(",LOAD,")));
+    }
 }
-
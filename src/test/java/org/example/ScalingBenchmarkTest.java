@@ -0,0 +1,123 @@
+package org.example;
+
+import model.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.GraphFamilies;
+import util.Phase;
+import util.StreamingGraphGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for ScalingBenchmark.
+ */
+public class ScalingBenchmarkTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private static ScalingBenchmark.Result result(int n, long medianNanos) {
+        return new ScalingBenchmark.Result("dag", 4, n, Phase.SCC, n, 4L * n, 1, medianNanos, medianNanos, 0, 0);
+    }
+    
+    @Test
+    public void testRunCoversEverySizeAndPhase() throws IOException {
+        ScalingBenchmark benchmark = new ScalingBenchmark("bow-tie", 4, new int[] {500, 2000}, 1, 2, 3);
+        List<ScalingBenchmark.Result> results = benchmark.run(null);
+        
+        assertEquals(2 * Phase.values().length, results.size());
+        for (ScalingBenchmark.Result result : results) {
+            assertTrue(result.getMedianNanos() > 0, result.toString());
+            assertTrue(result.getPeakHeapBytes() > 0, result.toString());
+        }
+        ScalingBenchmark.Result scc = results.stream()
+                .filter(r -> r.getN() == 2000 && r.getPhase() == Phase.SCC).findFirst().orElseThrow();
+        Graph graph = new StreamingGraphGenerator(GraphFamilies.bowTie(2000, 4), 3).toGraph();
+        assertEquals(graph.getEdgeCount(), scc.getEdges());
+        
+        ScalingBenchmark.assess(results, List.of(), ScalingBenchmark.DEFAULT_TOLERANCE);
+        Path file = tempDir.resolve("scaling.csv");
+        ScalingBenchmark.writeCsv(results, file);
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(ScalingBenchmark.CSV_HEADER, lines.get(0));
+        assertEquals(results.size() + 1, lines.size());
+        
+        List<ScalingBenchmark.Result> read = ScalingBenchmark.readCsv(file);
+        assertEquals(results.size(), read.size());
+        assertEquals(results.get(7).getMedianNanos(), read.get(7).getMedianNanos());
+        assertEquals(results.get(7).getPhase(), read.get(7).getPhase());
+    }
+    
+    @Test
+    public void testSuperLinearGrowthIsFlagged() {
+        // 10x input: 10x time is linear, 100x time is quadratic
+        List<ScalingBenchmark.Result> linear = List.of(result(1000, 2_000_000), result(10_000, 21_000_000));
+        assertEquals(0, ScalingBenchmark.assess(linear, List.of(), 0.25));
+        assertEquals(1.0, linear.get(1).getGrowthExponent(), 0.05);
+        assertTrue(Double.isNaN(linear.get(0).getGrowthExponent()));
+        
+        List<ScalingBenchmark.Result> quadratic = List.of(result(1000, 2_000_000), result(10_000, 200_000_000));
+        assertEquals(1, ScalingBenchmark.assess(quadratic, List.of(), 0.25));
+        assertTrue(quadratic.get(1).isSuperLinear());
+        assertEquals(2.0, quadratic.get(1).getGrowthExponent(), 1e-9);
+    }
+    
+    @Test
+    public void testBaselineRaisesTheAllowedExponent() {
+        List<ScalingBenchmark.Result> baseline = List.of(result(1000, 1_000_000), result(10_000, 30_000_000));
+        List<ScalingBenchmark.Result> same = List.of(result(1000, 2_000_000), result(10_000, 60_000_000));
+        assertEquals(0, ScalingBenchmark.assess(same, baseline, 0.1));
+        
+        List<ScalingBenchmark.Result> worse = List.of(result(1000, 2_000_000), result(10_000, 200_000_000));
+        assertEquals(1, ScalingBenchmark.assess(worse, baseline, 0.1));
+    }
+    
+    @Test
+    public void testFastPhasesAreNotFlagged() {
+        List<ScalingBenchmark.Result> tiny = new ArrayList<>(List.of(result(10, 1_000), result(100, 100_000)));
+        assertEquals(0, ScalingBenchmark.assess(tiny, List.of(), 0.25));
+        assertEquals(2.0, tiny.get(1).getGrowthExponent(), 1e-9);
+    }
+    
+    @Test
+    public void testGeometricSizesAndValidation() {
+        assertArrayEquals(new int[] {1000, 10_000, 100_000}, ScalingBenchmark.geometricSizes(1000, 100_000, 10));
+        assertArrayEquals(new int[] {1, 2, 4, 8}, ScalingBenchmark.geometricSizes(1, 10, 2));
+        assertThrows(IllegalArgumentException.class, () -> ScalingBenchmark.geometricSizes(10, 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ScalingBenchmark("dag", 2, new int[] {10, 5}, 0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ScalingBenchmark("tree", 2, new int[] {10}, 0, 1, 0));
+    }
+    
+    @Test
+    public void testCommandLineExitStatus() throws IOException {
+        assertEquals(2, ScalingBenchmark.execute(new String[] {"--bogus"}));
+        assertEquals(2, ScalingBenchmark.execute(new String[] {"--min=lots"}));
+        assertEquals(2, ScalingBenchmark.execute(new String[] {"--family=tree"}));
+        assertEquals(2, ScalingBenchmark.execute(new String[] {"--baseline=" + tempDir.resolve("missing.csv")}));
+        
+        // A failure inside the worker thread (here: the output directory does not exist)
+        String[] unwritable = {"--family=dag", "--degree=2", "--min=100", "--max=100", "--warmup=0",
+                "--repetitions=1", "--out=" + tempDir.resolve("missing").resolve("out.csv")};
+        assertEquals(2, ScalingBenchmark.execute(unwritable));
+        
+        Path out = tempDir.resolve("out.csv");
+        String[] valid = {"--family=dag", "--degree=2", "--min=100", "--max=100", "--warmup=0",
+                "--repetitions=1", "--out=" + out};
+        assertEquals(0, ScalingBenchmark.execute(valid));
+        assertTrue(Files.exists(out));
+    }
+    
+    @Test
+    public void testReadCsvRejectsForeignFiles() throws IOException {
+        Path file = tempDir.resolve("other.csv");
+        Files.writeString(file, "a,b,c\n1,2,3\n");
+        assertThrows(IOException.class, () -> ScalingBenchmark.readCsv(file));
+    }
+}
@@ -0,0 +1,116 @@
+package util;
+
+import graph.dagsp.AllPairsDAGPaths;
+import graph.dagsp.PathObjective;
+import graph.topo.TopologicalSort;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for ConcurrentMetrics.
+ */
+public class ConcurrentMetricsTest {
+    
+    @Test
+    public void testParallelStreamCountsAreExact() {
+        ConcurrentMetrics metrics = new ConcurrentMetrics();
+        int tasks = 1_000_000;
+        IntStream.range(0, tasks).parallel().forEach(i -> {
+            metrics.incrementDfsVisits();
+            metrics.incrementEdgeTraversals();
+            metrics.incrementQueueOperations();
+            metrics.incrementRelaxations();
+            metrics.addRelaxations(2);
+        });
+        
+        assertEquals(tasks, metrics.getDfsVisits());
+        assertEquals(tasks, metrics.getEdgeTraversals());
+        assertEquals(tasks, metrics.getQueueOperations());
+        assertEquals(3L * tasks, metrics.getRelaxations());
+    }
+    
+    @Test
+    public void testForkJoinCountsAreExact() {
+        ConcurrentMetrics metrics = new ConcurrentMetrics();
+        int size = 1 << 20;
+        ForkJoinPool.commonPool().invoke(new CountingTask(metrics, 0, size));
+        
+        assertEquals(size, metrics.getEdgeTraversals());
+        assertEquals(size / 2, metrics.getQueueOperations());
+    }
+    
+    @Test
+    public void testResetAndToString() {
+        ConcurrentMetrics metrics = new ConcurrentMetrics();
+        metrics.startTiming();
+        metrics.addEdgeTraversals(7);
+        metrics.stopTiming();
+        assertTrue(metrics.getTimeNanos() >= 0);
+        assertTrue(metrics.toString().contains("Edge Traversals: 7"));
+        
+        metrics.reset();
+        assertEquals(0, metrics.getEdgeTraversals());
+        assertEquals(0, metrics.getTimeNanos());
+    }
+    
+    @Test
+    public void testParallelEnginesMatchSequentialCounts() {
+        Random random = new Random(3);
+        int n = 5000;
+        Graph dag = new Graph(n);
+        for (int v = 1; v < n; v++) {
+            for (int k = 0; k < 3; k++) {
+                dag.addEdge(random.nextInt(v), v, random.nextInt(10));
+            }
+        }
+        
+        AlgorithmMetrics sequential = new AlgorithmMetrics();
+        new TopologicalSort(dag, sequential).kahnTopologicalSort();
+        ConcurrentMetrics concurrent = new ConcurrentMetrics();
+        assertNotNull(new TopologicalSort(dag, concurrent).parallelKahnTopologicalSort());
+        assertEquals(sequential.getEdgeTraversals(), concurrent.getEdgeTraversals());
+        
+        ConcurrentMetrics allPairs = new ConcurrentMetrics();
+        assertTrue(new AllPairsDAGPaths(dag, PathObjective.SHORTEST, 8, allPairs).compute((first, count, rows) -> { }));
+        assertTrue(allPairs.getEdgeTraversals() > 0);
+    }
+    
+    /**
+     * Splits a range into leaves of at most 64 elements; every element counts one edge, every second one a queue op.
+     */
+    private static final class CountingTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        
+        private final Metrics metrics;
+        private final int from;
+        private final int to;
+        
+        CountingTask(Metrics metrics, int from, int to) {
+            this.metrics = metrics;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= 64) {
+                for (int i = from; i < to; i++) {
+                    metrics.incrementEdgeTraversals();
+                    if ((i & 1) == 0) {
+                        metrics.incrementQueueOperations();
+                    }
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new CountingTask(metrics, from, mid), new CountingTask(metrics, mid, to));
+        }
+    }
+}
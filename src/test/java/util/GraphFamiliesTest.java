@@ -0,0 +1,192 @@
+package util;
+
+import graph.dagsp.DAGShortestPath;
+import graph.scc.CondensationGraph;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import model.Edge;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the streaming graph families.
+ */
+public class GraphFamiliesTest {
+    
+    private static Graph build(GraphFamily family) {
+        return new StreamingGraphGenerator(family, 11, 7).toGraph();
+    }
+    
+    /**
+     * Checks that no (u, v) pair and no self-loop occurs.
+     */
+    static void assertSimple(Graph graph) {
+        LongHashSet seen = new LongHashSet(graph.getEdgeCount());
+        for (Edge edge : graph.getAllEdges()) {
+            assertNotEquals(edge.getU(), edge.getV(), "self-loop");
+            assertTrue(seen.add(LongHashSet.edgeKey(edge.getU(), edge.getV())), "duplicate edge " + edge.getU() + "->" + edge.getV());
+            assertTrue(edge.getWeight() >= 1 && edge.getWeight() < 11);
+        }
+    }
+    
+    @Test
+    public void testDagIsAcyclicAndSimple() {
+        Graph graph = build(GraphFamilies.dag(2000, 6));
+        assertSimple(graph);
+        assertNotNull(new TopologicalSort(graph).kahnTopologicalSort());
+        // Every vertex has 6 out-edges except near the end, where fewer targets exist
+        assertTrue(graph.getEdgeCount() > 6 * 1990);
+    }
+    
+    @Test
+    public void testCyclicIsOneSCC() {
+        Graph graph = build(GraphFamilies.cyclic(1500, 5));
+        assertSimple(graph);
+        assertEquals(5 * 1500, graph.getEdgeCount());
+        assertEquals(1, new TarjanSCC(graph).findSCCs().size());
+    }
+    
+    @Test
+    public void testMultiSCCHasOneComponentPerBlock() {
+        Graph graph = build(GraphFamilies.multiSCC(1003, 3));
+        assertSimple(graph);
+        assertEquals(1003 / GraphFamilies.SCC_SIZE, new TarjanSCC(graph).findSCCs().size());
+    }
+    
+    @Test
+    public void testSampleDistinctIsSortedAndUnique() {
+        SplittableRandom random = new SplittableRandom(3);
+        int[] out = new int[50];
+        for (int range : new int[] {0, 1, 10, 60, 1000, 1_000_000}) {
+            int count = GraphFamilies.sampleDistinct(random, range, 50, out);
+            assertEquals(Math.min(50, range), count);
+            for (int i = 0; i < count; i++) {
+                assertTrue(out[i] >= 0 && out[i] < range);
+                if (i > 0) {
+                    assertTrue(out[i] > out[i - 1]);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testRMatIsSkewed() {
+        int n = 1 << 14;
+        Graph graph = build(GraphFamilies.rmat(n, 8));
+        assertSimple(graph);
+        // Duplicates are dropped, so a little under n * degree edges remain
+        assertTrue(graph.getEdgeCount() > n * 8 * 0.6, "edges: " + graph.getEdgeCount());
+        assertTrue(graph.getEdgeCount() <= n * 8 * 1.05, "edges: " + graph.getEdgeCount());
+        
+        int maxOut = 0;
+        for (int u = 0; u < n; u++) {
+            maxOut = Math.max(maxOut, graph.getNeighbors(u).size());
+        }
+        assertTrue(maxOut > 20 * 8, "max out-degree: " + maxOut);
+        
+        // Sizes that are not a power of two keep every endpoint in range
+        assertSimple(build(GraphFamilies.rmat(1000, 4)));
+    }
+    
+    @Test
+    public void testLayeredDAGHasExactDepth() {
+        for (int layers : new int[] {1, 7, 40}) {
+            Graph graph = build(GraphFamilies.layeredDAG(1000, layers, 3));
+            assertSimple(graph);
+            TopologicalSort topo = new TopologicalSort(graph);
+            assertNotNull(topo.parallelKahnTopologicalSort());
+            assertEquals(layers - 1, Arrays.stream(topo.getLevels()).max().orElse(0));
+            for (Edge edge : graph.getAllEdges()) {
+                assertEquals(GraphFamilies.layerOf(edge.getU(), layers, 1000) + 1, GraphFamilies.layerOf(edge.getV(), layers, 1000));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> GraphFamilies.layeredDAG(10, 11, 2));
+    }
+    
+    @Test
+    public void testLayerOfInvertsRangeStart() {
+        for (int ranges : new int[] {1, 3, 64, 999}) {
+            for (int r = 0; r < ranges; r++) {
+                for (int u = GraphFamilies.rangeStart(r, ranges, 999); u < GraphFamilies.rangeStart(r + 1, ranges, 999); u++) {
+                    assertEquals(r, GraphFamilies.layerOf(u, ranges, 999));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testDeepChainHasUniqueOrder() {
+        Graph graph = build(GraphFamilies.deepChain(3000, 4));
+        assertSimple(graph);
+        TopologicalSort topo = new TopologicalSort(graph);
+        assertNotNull(topo.parallelKahnTopologicalSort());
+        int[] levels = topo.getLevels();
+        for (int v = 0; v < 3000; v++) {
+            assertEquals(v, levels[v]);
+        }
+        for (Edge edge : graph.getAllEdges()) {
+            assertTrue(edge.getV() - edge.getU() <= 1 + 2 * 4);
+        }
+    }
+    
+    @Test
+    public void testBowTieHasOneGiantSCC() {
+        for (int n : new int[] {1, 3, 4, 1001}) {
+            Graph graph = build(GraphFamilies.bowTie(n, 4));
+            assertSimple(graph);
+            List<List<Integer>> sccs = new TarjanSCC(graph).findSCCs();
+            int tails = 2 * (n / 4);
+            assertEquals(tails + 1, sccs.size());
+            assertEquals(n - tails, sccs.stream().mapToInt(List::size).max().orElse(0));
+        }
+        
+        // Vertex 0 starts IN, so every component is reachable from its component through the core
+        Graph graph = build(GraphFamilies.bowTie(1001, 4));
+        TarjanSCC tarjan = new TarjanSCC(graph);
+        List<List<Integer>> sccs = tarjan.findSCCs();
+        int[] vertexToSCC = tarjan.getVertexToSCCMapping();
+        Graph condensation = new CondensationGraph(graph, sccs, vertexToSCC).build();
+        for (double distance : new DAGShortestPath(condensation, vertexToSCC[0]).computeShortestPaths()) {
+            assertTrue(distance < Double.POSITIVE_INFINITY);
+        }
+    }
+    
+    @Test
+    public void testTinySCCsArePairs() {
+        Graph graph = build(GraphFamilies.tinySCCs(1001, 5));
+        assertSimple(graph);
+        TarjanSCC tarjan = new TarjanSCC(graph);
+        List<List<Integer>> sccs = tarjan.findSCCs();
+        assertEquals(501, sccs.size());
+        int[] vertexToSCC = tarjan.getVertexToSCCMapping();
+        for (int v = 0; v + 1 < 1001; v += 2) {
+            assertEquals(vertexToSCC[v], vertexToSCC[v + 1]);
+        }
+        Graph condensation = new CondensationGraph(graph, sccs, vertexToSCC).build();
+        assertTrue(condensation.getEdgeCount() < graph.getEdgeCount() - 1000, "parallel edges must collapse");
+    }
+    
+    @Test
+    public void testNewFamiliesByName() {
+        for (String name : new String[] {"rmat", "layered", "deep-chain", "bow-tie", "tiny-sccs"}) {
+            GraphFamily family = GraphFamilies.byName(name, 500, 3);
+            assertEquals(500, family.getVertexCount());
+            Graph first = new StreamingGraphGenerator(family, 4, 5).toGraph();
+            Graph second = new StreamingGraphGenerator(family, 4, 5).toGraph();
+            assertEquals(first.getEdgeCount(), second.getEdgeCount(), name);
+            assertTrue(first.getEdgeCount() > 0, name);
+        }
+    }
+    
+    @Test
+    public void testUnknownFamily() {
+        assertThrows(IllegalArgumentException.class, () -> GraphFamilies.byName("tree", 10, 2));
+        assertThrows(IllegalArgumentException.class, () -> GraphFamilies.dag(0, 2));
+    }
+}
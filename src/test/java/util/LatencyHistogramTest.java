@@ -0,0 +1,104 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for LatencyHistogram.
+ */
+public class LatencyHistogramTest {
+    
+    @Test
+    public void testPercentilesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 100_000; v++) {
+            histogram.record(v * 1000);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(1000, snapshot.getMin());
+        assertEquals(100_000_000, snapshot.getMax());
+        assertEquals(50_000_500.0, snapshot.getMean(), 1e-6);
+        assertWithin(50_000_000, snapshot.getValueAtPercentile(50));
+        assertWithin(99_000_000, snapshot.getValueAtPercentile(99));
+        assertWithin(99_900_000, snapshot.getValueAtPercentile(99.9));
+        assertEquals(100_000_000, snapshot.getValueAtPercentile(100));
+    }
+    
+    @Test
+    public void testSmallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(7);
+        histogram.record(-5);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        
+        assertEquals(0, snapshot.getValueAtPercentile(0));
+        assertEquals(3, snapshot.getValueAtPercentile(50));
+        assertEquals(7, snapshot.getValueAtPercentile(100));
+        assertEquals(LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(Long.MAX_VALUE)), Long.MAX_VALUE);
+    }
+    
+    @Test
+    public void testSnapshotAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500);
+        histogram.record(700);
+        LatencyHistogram.Snapshot first = histogram.snapshotAndReset();
+        histogram.record(9000);
+        LatencyHistogram.Snapshot second = histogram.snapshotAndReset();
+        
+        assertEquals(2, first.getCount());
+        assertEquals(700, first.getMax());
+        assertEquals(1, second.getCount());
+        assertEquals(9000, second.getMin());
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getValueAtPercentile(99));
+    }
+    
+    @Test
+    public void testMergedSnapshotsEqualCombinedHistogram() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        LatencyHistogram both = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            long value = (long) i * i;
+            (i % 3 == 0 ? a : b).record(value);
+            both.record(value);
+        }
+        LatencyHistogram.Snapshot merged = a.snapshot().merge(b.snapshot());
+        LatencyHistogram.Snapshot expected = both.snapshot();
+        
+        assertEquals(expected.getCount(), merged.getCount());
+        assertEquals(expected.getSum(), merged.getSum());
+        assertEquals(expected.getMin(), merged.getMin());
+        assertEquals(expected.getMax(), merged.getMax());
+        for (double p : new double[] {10, 50, 90, 99, 99.9}) {
+            assertEquals(expected.getValueAtPercentile(p), merged.getValueAtPercentile(p));
+        }
+    }
+    
+    @Test
+    public void testConcurrentRecording() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        IntStream.range(0, 200_000).parallel().forEach(i -> histogram.record(i % 1000));
+        
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(200_000, snapshot.getCount());
+        assertEquals(200L * (999 * 1000 / 2), snapshot.getSum());
+        assertEquals(999, snapshot.getMax());
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(101));
+    }
+    
+    /**
+     * Reported values may exceed the true value by one sub-bucket (1/32), never undershoot it.
+     */
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 32,
+                "expected ~" + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,50 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for LongHashSet.
+ */
+public class LongHashSetTest {
+    
+    @Test
+    public void testMatchesHashSetAcrossGrowth() {
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long key = LongHashSet.edgeKey(random.nextInt(500), random.nextInt(500));
+            assertEquals(expected.add(key), set.add(key));
+        }
+        assertEquals(expected.size(), set.size());
+        for (int u = 0; u < 500; u += 7) {
+            for (int v = 0; v < 500; v += 11) {
+                long key = LongHashSet.edgeKey(u, v);
+                assertEquals(expected.contains(key), set.contains(key));
+            }
+        }
+    }
+    
+    @Test
+    public void testSentinelKey() {
+        LongHashSet set = new LongHashSet(16);
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertFalse(set.add(Long.MIN_VALUE));
+        assertTrue(set.contains(Long.MIN_VALUE));
+        assertTrue(set.add(0));
+        assertEquals(2, set.size());
+        assertFalse(set.contains(Long.MAX_VALUE));
+    }
+    
+    @Test
+    public void testEdgeKeysAreDistinct() {
+        assertNotEquals(LongHashSet.edgeKey(1, 2), LongHashSet.edgeKey(2, 1));
+        assertNotEquals(LongHashSet.edgeKey(0, -1), LongHashSet.edgeKey(-1, 0));
+    }
+}
@@ -0,0 +1,102 @@
+package util;
+
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * JUnit tests for MemoryFootprint and the memory figures of the metrics.
+ */
+public class MemoryFootprintTest {
+    
+    @Test
+    public void testArrayAndListEstimates() {
+        assertEquals(16, MemoryFootprint.ofIntArray(0));
+        assertEquals(16 + 4000, MemoryFootprint.ofIntArray(1000));
+        assertEquals(16 + 8000, MemoryFootprint.ofDoubleArray(1000));
+        assertTrue(MemoryFootprint.ofIntegerList(1000) > 16 * 1000);
+        assertTrue(MemoryFootprint.ofIntegerLists(List.of(List.of(1, 2, 3))) > MemoryFootprint.ofIntegerList(3));
+    }
+    
+    @Test
+    public void testGraphEstimateGrowsWithEdgesAndNodeWeights() {
+        Graph graph = new Graph(100);
+        long empty = MemoryFootprint.ofGraph(graph);
+        for (int v = 1; v < 100; v++) {
+            graph.addEdge(v - 1, v, 1);
+        }
+        long withEdges = MemoryFootprint.ofGraph(graph);
+        assertTrue(withEdges - empty >= 99 * 24L);
+        
+        graph.setNodeWeights(new double[100]);
+        assertEquals(withEdges + MemoryFootprint.ofDoubleArray(100), MemoryFootprint.ofGraph(graph));
+    }
+    
+    @Test
+    public void testFormat() {
+        assertEquals("n/a", MemoryFootprint.format(-1));
+        assertEquals("512 B", MemoryFootprint.format(512));
+        assertEquals("1.5 KB", MemoryFootprint.format(1536));
+        assertEquals("2.0 MB", MemoryFootprint.format(2L << 20));
+    }
+    
+    @Test
+    public void testAllocatedBytesCoverTimedSection() {
+        assumeTrue(MemoryFootprint.currentThreadAllocatedBytes() >= 0);
+        Metrics metrics = new AlgorithmMetrics();
+        metrics.startTiming();
+        long[] block = new long[1 << 20];
+        metrics.stopTiming();
+        
+        assertEquals(0, block[block.length - 1]);
+        assertTrue(metrics.getAllocatedBytes() >= 8L << 20);
+        assertTrue(metrics.toString().contains("Allocated: "));
+        metrics.reset();
+        assertEquals(0, metrics.getAllocatedBytes());
+    }
+    
+    @Test
+    public void testForkedPhasesReportAllocationsAsUnavailable() {
+        assumeTrue(MemoryFootprint.currentThreadAllocatedBytes() >= 0);
+        Graph dag = new Graph(3);
+        dag.addEdge(0, 1, 1);
+        dag.addEdge(1, 2, 1);
+        AlgorithmMetrics metrics = new AlgorithmMetrics();
+        new TopologicalSort(dag, metrics).parallelKahnTopologicalSort();
+        assertEquals(-1, metrics.getAllocatedBytes());
+        assertTrue(metrics.toString().contains("Allocated: n/a"));
+        
+        new TopologicalSort(dag, metrics).kahnTopologicalSort();
+        assertTrue(metrics.getAllocatedBytes() >= 0);
+    }
+    
+    @Test
+    public void testPeakHeapCoversLiveAllocation() {
+        MemoryFootprint.resetPeakHeap();
+        long[] block = new long[8 << 20];
+        long peak = MemoryFootprint.peakHeapBytes();
+        
+        assertEquals(0, block[block.length - 1]);
+        assertTrue(peak >= 64L << 20, "peak: " + peak);
+    }
+    
+    @Test
+    public void testAlgorithmsRecordRetainedSize() {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(1, 2, 1);
+        TarjanSCC tarjan = new TarjanSCC(graph, new AlgorithmMetrics());
+        List<List<Integer>> sccs = tarjan.findSCCs();
+        
+        assertEquals(MemoryFootprint.ofIntegerLists(sccs), tarjan.getMetrics().getRetainedBytes());
+        assertEquals(0, NoOpMetrics.INSTANCE.getRetainedBytes());
+    }
+
+}
@@ -0,0 +1,112 @@
+package util;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for MetricsExporter.
+ */
+public class MetricsExporterTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private static MetricsExporter sample() {
+        AlgorithmMetrics scc = new AlgorithmMetrics();
+        scc.incrementDfsVisits();
+        scc.incrementDfsVisits();
+        scc.addEdgeTraversals(5);
+        scc.setRetainedBytes(128);
+        AlgorithmMetrics longest = new AlgorithmMetrics();
+        longest.addRelaxations(3);
+        return new MetricsExporter()
+                .addStatistic("vertices", 4)
+                .addStatistic("critical_path_length", 7.5)
+                .addPhase(Phase.SCC, scc)
+                .addPhase(Phase.LONGEST, longest);
+    }
+    
+    private static String render(MetricsExporter exporter, MetricsExporter.Format format) {
+        StringWriter writer = new StringWriter();
+        exporter.write(format, writer);
+        return writer.toString();
+    }
+    
+    @Test
+    public void testJson() {
+        JsonObject root = JsonParser.parseString(render(sample(), MetricsExporter.Format.JSON)).getAsJsonObject();
+        
+        assertEquals(4, root.getAsJsonObject("graph").get("vertices").getAsInt());
+        assertEquals(7.5, root.getAsJsonObject("graph").get("critical_path_length").getAsDouble());
+        JsonObject scc = root.getAsJsonArray("phases").get(0).getAsJsonObject();
+        assertEquals("SCC", scc.get("phase").getAsString());
+        assertEquals(2, scc.get("dfsVisits").getAsLong());
+        assertEquals(5, scc.get("edgeTraversals").getAsLong());
+        assertEquals(128, scc.get("retainedBytes").getAsLong());
+        assertEquals(2, root.getAsJsonArray("phases").size());
+    }
+    
+    @Test
+    public void testCsv() {
+        List<String> lines = render(sample(), MetricsExporter.Format.CSV).lines().toList();
+        
+        assertEquals(3, lines.size());
+        assertEquals("timestamp,vertices,critical_path_length,phase,time_ns,dfs_visits,edge_traversals,"
+                + "queue_operations,relaxations,allocated_bytes,retained_bytes", lines.get(0));
+        assertTrue(lines.get(1).matches("\\d+,4,7\\.5,SCC,0,2,5,0,0,0,128"), lines.get(1));
+        assertTrue(lines.get(2).matches("\\d+,4,7\\.5,LONGEST,0,0,0,0,3,0,0"), lines.get(2));
+    }
+    
+    @Test
+    public void testPrometheus() {
+        String text = render(sample(), MetricsExporter.Format.PROMETHEUS);
+        
+        assertTrue(text.contains("# TYPE graph_vertices gauge\ngraph_vertices 4\n"), text);
+        assertTrue(text.contains("graph_critical_path_length 7.5\n"));
+        assertTrue(text.contains("# TYPE graph_phase_edge_traversals gauge\n"));
+        assertTrue(text.contains("graph_phase_edge_traversals{phase=\"scc\"} 5\n"));
+        assertTrue(text.contains("graph_phase_relaxations{phase=\"longest\"} 3\n"));
+        assertTrue(text.contains("graph_phase_time_seconds{phase=\"scc\"} 0\n"));
+    }
+    
+    @Test
+    public void testPrometheusNonFiniteStatistics() {
+        MetricsExporter exporter = new MetricsExporter()
+                .addStatistic("longest_path", Double.NEGATIVE_INFINITY)
+                .addStatistic("shortest_path", Double.POSITIVE_INFINITY)
+                .addStatistic("mean_weight", Double.NaN);
+        String text = render(exporter, MetricsExporter.Format.PROMETHEUS);
+        
+        assertTrue(text.contains("graph_longest_path -Inf\n"), text);
+        assertTrue(text.contains("graph_shortest_path +Inf\n"), text);
+        assertTrue(text.contains("graph_mean_weight NaN\n"), text);
+        assertFalse(text.contains("Infinity"));
+    }
+    
+    @Test
+    public void testWriteToReplacesFile() throws Exception {
+        Path file = tempDir.resolve("graph.prom");
+        Files.writeString(file, "stale");
+        sample().writeTo(MetricsExporter.Format.PROMETHEUS, file);
+        
+        assertTrue(Files.readString(file).startsWith("# HELP graph_vertices"));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+    
+    @Test
+    public void testFormatParsing() {
+        assertEquals(MetricsExporter.Format.PROMETHEUS, MetricsExporter.Format.parse("Prometheus"));
+        assertThrows(IllegalArgumentException.class, () -> MetricsExporter.Format.parse("xml"));
+    }
+}
@@ -0,0 +1,64 @@
+package util;
+
+import graph.dagsp.DAGShortestPath;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the metrics implementations.
+ */
+public class NoOpMetricsTest {
+    
+    @Test
+    public void testNoOpRecordsNothing() {
+        Metrics metrics = NoOpMetrics.INSTANCE;
+        metrics.startTiming();
+        metrics.incrementEdgeTraversals();
+        metrics.addRelaxations(5);
+        metrics.stopTiming();
+        
+        assertEquals(0, metrics.getEdgeTraversals());
+        assertEquals(0, metrics.getRelaxations());
+        assertEquals(0, metrics.getTimeNanos());
+    }
+    
+    @Test
+    public void testAlgorithmsGiveSameResultsWithoutCounting() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 2.0);
+        graph.addEdge(1, 2, 1.0);
+        graph.addEdge(2, 1, 1.0);
+        graph.addEdge(0, 3, 5.0);
+        
+        TarjanSCC counted = new TarjanSCC(graph, new AlgorithmMetrics());
+        TarjanSCC silent = new TarjanSCC(graph, NoOpMetrics.INSTANCE);
+        assertEquals(counted.findSCCs(), silent.findSCCs());
+        assertTrue(counted.getMetrics().getDfsVisits() > 0);
+        assertEquals(0, silent.getMetrics().getDfsVisits());
+        
+        Graph dag = new Graph(3);
+        dag.addEdge(0, 1, 2.0);
+        dag.addEdge(1, 2, 1.0);
+        assertEquals(new TopologicalSort(dag).kahnTopologicalSort(),
+                new TopologicalSort(dag, NoOpMetrics.INSTANCE).kahnTopologicalSort());
+        assertArrayEquals(new DAGShortestPath(dag, 0).computeShortestPaths(),
+                new DAGShortestPath(dag, 0, NoOpMetrics.INSTANCE).computeShortestPaths());
+    }
+    
+    @Test
+    public void testAlgorithmMetricsThroughInterface() {
+        Metrics metrics = new AlgorithmMetrics();
+        metrics.incrementQueueOperations();
+        metrics.addQueueOperations(2);
+        metrics.incrementDfsVisits();
+        
+        assertEquals(3, metrics.getQueueOperations());
+        assertEquals(1, metrics.getDfsVisits());
+        metrics.reset();
+        assertEquals(0, metrics.getQueueOperations());
+    }
+}
@@ -0,0 +1,107 @@
+package util;
+
+import graph.dagsp.DAGLongestPath;
+import graph.scc.CondensationGraph;
+import graph.scc.TarjanSCC;
+import graph.topo.TopologicalSort;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the JFR phase events.
+ */
+public class PhaseEventTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    public void testPhasesEmitEventsWithCounters() throws Exception {
+        Graph graph = new Graph(5);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 0, 1);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(2, 3, 3);
+        graph.addEdge(3, 4, 1);
+        
+        Path file = tempDir.resolve("phases.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PhaseEvent.class).withoutThreshold();
+            recording.start();
+            
+            TarjanSCC tarjan = new TarjanSCC(graph, new AlgorithmMetrics());
+            List<List<Integer>> sccs = tarjan.findSCCs();
+            Graph condGraph = new CondensationGraph(graph, sccs, tarjan.getVertexToSCCMapping(), new AlgorithmMetrics()).build();
+            new DAGLongestPath(condGraph, -1, new AlgorithmMetrics()).computeLongestPath();
+            
+            recording.stop();
+            recording.dump(file);
+        }
+        
+        Map<String, List<RecordedEvent>> byPhase = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("graph.Phase"))
+                .collect(Collectors.groupingBy(e -> e.getString("phase")));
+        
+        RecordedEvent scc = byPhase.get("SCC").get(0);
+        assertEquals("Tarjan", scc.getString("algorithm"));
+        assertEquals(5, scc.getInt("vertices"));
+        assertEquals(5, scc.getLong("edges"));
+        assertEquals(5, scc.getLong("dfsVisits"));
+        assertFalse(scc.getDuration().isNegative());
+        assertTrue(scc.getLong("retainedBytes") > 0);
+        assertTrue(scc.getLong("allocatedBytes") != 0);
+        
+        assertEquals(1, byPhase.get("CONDENSATION").size());
+        RecordedEvent longest = byPhase.get("LONGEST").get(0);
+        assertEquals(4, longest.getInt("vertices"));
+        assertTrue(longest.getLong("edgeTraversals") > 0);
+        // The topological sort inside DAGLongestPath is nested and emits nothing
+        assertFalse(byPhase.containsKey("TOPO"));
+    }
+    
+    @Test
+    public void testRunsWithoutCountersStillEmitEvents() throws Exception {
+        Graph graph = new Graph(3);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        
+        Path file = tempDir.resolve("nocounters.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PhaseEvent.class).withoutThreshold();
+            recording.start();
+            
+            new TopologicalSort(graph, NoOpMetrics.INSTANCE).kahnTopologicalSort();
+            new TopologicalSort(graph, NoOpMetrics.NESTED).kahnTopologicalSort();
+            
+            recording.stop();
+            recording.dump(file);
+        }
+        
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("graph.Phase"))
+                .collect(Collectors.toList());
+        assertEquals(1, events.size());
+        assertEquals("TOPO", events.get(0).getString("phase"));
+        assertEquals(3, events.get(0).getInt("vertices"));
+        assertEquals(0, events.get(0).getLong("edgeTraversals"));
+    }
+    
+    @Test
+    public void testNoEventOutsideRecording() {
+        PhaseEvent first = PhaseEvent.start(new AlgorithmMetrics());
+        PhaseEvent second = PhaseEvent.start(new AlgorithmMetrics());
+        assertSame(first, second);
+        first.finish(Phase.TOPO, "Kahn", 0, 0, new AlgorithmMetrics());
+    }
+}
@@ -0,0 +1,47 @@
+package util;
+
+import graph.dagsp.DAGShortestPath;
+import graph.scc.TarjanSCC;
+import model.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for PhaseLatencyRecorder.
+ */
+public class PhaseLatencyRecorderTest {
+    
+    @Test
+    public void testAlgorithmRunsAccumulatePerPhase() {
+        Graph graph = new Graph(4);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 2);
+        graph.addEdge(2, 3, 3);
+        
+        PhaseLatencyRecorder recorder = new PhaseLatencyRecorder();
+        for (int run = 0; run < 10; run++) {
+            new TarjanSCC(graph, recorder.metrics(Phase.SCC)).findSCCs();
+            new DAGShortestPath(graph, 0, recorder.metrics(Phase.SHORTEST)).computeShortestPaths();
+        }
+        
+        Map<Phase, LatencyHistogram.Snapshot> snapshots = recorder.snapshotAndReset();
+        assertEquals(10, snapshots.get(Phase.SCC).getCount());
+        assertEquals(10, snapshots.get(Phase.SHORTEST).getCount());
+        assertEquals(0, snapshots.get(Phase.LONGEST).getCount());
+        assertTrue(snapshots.get(Phase.SCC).getValueAtPercentile(99) > 0);
+        assertEquals(0, recorder.snapshot().get(Phase.SCC).getCount());
+    }
+    
+    @Test
+    public void testManualRecordingAndReport() {
+        PhaseLatencyRecorder recorder = new PhaseLatencyRecorder();
+        recorder.record(Phase.TOPO, 2_000_000);
+        recorder.record(Phase.TOPO, 4_000_000);
+        
+        assertEquals(2, recorder.getHistogram(Phase.TOPO).snapshot().getCount());
+        assertTrue(recorder.toString().contains("TOPO: Count: 2"));
+    }
+}
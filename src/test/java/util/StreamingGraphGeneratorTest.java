@@ -0,0 +1,113 @@
+package util;
+
+import model.Edge;
+import model.Graph;
+import model.GraphData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for StreamingGraphGenerator and BinaryGraphFile.
+ */
+public class StreamingGraphGeneratorTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private static List<String> edges(Graph graph) {
+        List<String> edges = new ArrayList<>();
+        for (Edge edge : graph.getAllEdges()) {
+            edges.add(edge.getU() + "," + edge.getV() + "," + edge.getWeight());
+        }
+        return edges;
+    }
+    
+    @Test
+    public void testBinaryRoundTripMatchesSequentialGeneration() throws IOException {
+        StreamingGraphGenerator generator = new StreamingGraphGenerator(GraphFamilies.cyclic(3000, 4), 5, 16);
+        Path file = tempDir.resolve("g.bin");
+        long m = generator.writeBinary(file);
+        
+        assertEquals(12_000, m);
+        assertEquals(BinaryGraphFile.HEADER_BYTES + m * BinaryGraphFile.EDGE_BYTES, Files.size(file));
+        assertEquals(3000, BinaryGraphFile.readVertexCount(file));
+        assertEquals(edges(generator.toGraph()), edges(BinaryGraphFile.readGraph(file)));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count(), "chunk files must be removed");
+        }
+    }
+    
+    @Test
+    public void testJsonIsLoadableGraphData() throws IOException {
+        StreamingGraphGenerator generator = new StreamingGraphGenerator(GraphFamilies.dag(500, 3), 9, 8);
+        Path file = tempDir.resolve("g.json");
+        long m = generator.writeJson(file, 17);
+        
+        GraphData data = GraphData.loadFromFile(file.toString());
+        assertEquals(500, data.getN());
+        assertEquals(17, data.getSource());
+        assertEquals(m, data.getEdges().size());
+        assertEquals(edges(generator.toGraph()), edges(new Graph(data)));
+    }
+    
+    @Test
+    public void testOutputDependsOnlyOnSeedAndPartitions() throws IOException {
+        Path first = tempDir.resolve("a.bin");
+        Path second = tempDir.resolve("b.bin");
+        new StreamingGraphGenerator(GraphFamilies.multiSCC(5000, 3), 21, 32).writeBinary(first);
+        new StreamingGraphGenerator(GraphFamilies.multiSCC(5000, 3), 21, 32).writeBinary(second);
+        assertArrayEquals(Files.readAllBytes(first), Files.readAllBytes(second));
+        
+        new StreamingGraphGenerator(GraphFamilies.multiSCC(5000, 3), 22, 32).writeBinary(second);
+        assertFalse(Arrays.equals(Files.readAllBytes(first), Files.readAllBytes(second)));
+    }
+    
+    @Test
+    public void testEmptyPartitionsAndBadFiles() throws IOException {
+        // More partitions than vertices leaves most partitions empty
+        Path file = tempDir.resolve("tiny.json");
+        new StreamingGraphGenerator(GraphFamilies.dag(3, 2), 1, 10).writeJson(file, 0);
+        assertEquals(3, GraphData.loadFromFile(file.toString()).getEdges().size());
+        
+        Path bad = tempDir.resolve("bad.bin");
+        Files.writeString(bad, "not a graph at all");
+        assertThrows(IOException.class, () -> BinaryGraphFile.readGraph(bad));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingGraphGenerator(GraphFamilies.dag(3, 2), 1, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new StreamingGraphGenerator(GraphFamilies.dag(3, 2), 1).writeJson(tempDir.resolve("x.json"), 3));
+    }
+    
+    @Test
+    public void testCommandLineExitStatus() {
+        assertEquals(2, StreamingGraphGenerator.execute(new String[] {"--bogus"}));
+        assertEquals(2, StreamingGraphGenerator.execute(new String[] {"--n=lots", "--out=" + tempDir.resolve("g.bin")}));
+        assertEquals(2, StreamingGraphGenerator.execute(new String[] {"--n=10"}));
+        assertEquals(2, StreamingGraphGenerator.execute(new String[] {"--family=tree", "--out=" + tempDir.resolve("g.bin")}));
+        // Source out of range is only detected while writing
+        assertEquals(2, StreamingGraphGenerator.execute(new String[] {"--n=10", "--degree=2", "--source=10",
+                "--out=" + tempDir.resolve("g.json")}));
+        assertEquals(2, StreamingGraphGenerator.execute(new String[] {"--n=10", "--degree=2",
+                "--out=" + tempDir.resolve("missing").resolve("g.bin")}));
+        
+        Path out = tempDir.resolve("g.json");
+        assertEquals(0, StreamingGraphGenerator.execute(new String[] {"--n=10", "--degree=2", "--out=" + out}));
+        assertTrue(Files.exists(out));
+    }
+    
+    @Test
+    public void testGraphGeneratorScalesPastQuadraticCheck() {
+        // 200k edges; the old linear duplicate scan needed minutes for this
+        GraphData data = GraphGenerator.generateGraph(20_000, 10.0 / 19_999, true, false, 0);
+        assertEquals(200_000, data.getEdges().size());
+        GraphFamiliesTest.assertSimple(new Graph(data));
+    }
+}